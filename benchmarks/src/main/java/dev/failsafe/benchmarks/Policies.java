@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.benchmarks;
+
+import dev.failsafe.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates policies and executors for benchmarks. Policies are configured so that a successful supplier is never
+ * rejected, which keeps the benchmarks focused on the overhead of each policy executor. The {@code
+ * tolerantCircuitBreaker} only opens after 100 consecutive failures, so it also never rejects a supplier that fails at
+ * most once before succeeding, as long as fewer than 100 threads share it.
+ *
+ * @author Jonathan Halterman
+ */
+final class Policies {
+  private Policies() {
+  }
+
+  /**
+   * Returns a FailsafeExecutor for a {@code spec} of policy names separated by {@code +}, outer-most first. {@code
+   * none} returns an executor with no policies.
+   */
+  static <R> FailsafeExecutor<R> executorFor(String spec) {
+    if ("none".equals(spec))
+      return Failsafe.none();
+
+    List<Policy<R>> policies = new ArrayList<>();
+    for (String name : spec.split("\\+"))
+      policies.add(policyFor(name));
+    return Failsafe.with(policies);
+  }
+
+  static <R> Policy<R> policyFor(String name) {
+    switch (name) {
+      case "retry":
+        return RetryPolicy.<R>builder().withMaxRetries(3).build();
+      case "circuitBreaker":
+        return CircuitBreaker.<R>builder().withFailureThreshold(5, 10).build();
+      case "tolerantCircuitBreaker":
+        return CircuitBreaker.<R>builder().withFailureThreshold(100).build();
+      case "timedCircuitBreaker":
+        return CircuitBreaker.<R>builder().withFailureRateThreshold(50, 10, Duration.ofSeconds(10)).build();
+      case "rateLimiter":
+        return RateLimiter.<R>smoothBuilder(Duration.ofNanos(1)).build();
+      case "burstyRateLimiter":
+        return RateLimiter.<R>burstyBuilder(Integer.MAX_VALUE, Duration.ofSeconds(1)).build();
+      case "bulkhead":
+        return Bulkhead.<R>builder(1024).build();
+      case "timeout":
+        return Timeout.of(Duration.ofSeconds(10));
+      case "fallback":
+        return Fallback.of((R) null);
+      default:
+        throw new IllegalArgumentException("Unknown policy " + name);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.benchmarks;
+
+import dev.failsafe.FailsafeExecutor;
+import dev.failsafe.function.CheckedSupplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call overhead of {@link FailsafeExecutor#get(CheckedSupplier) get}, {@link
+ * FailsafeExecutor#getAsync(CheckedSupplier) getAsync} and {@link FailsafeExecutor#getStageAsync(CheckedSupplier)
+ * getStageAsync} for each policy and for common compositions, using a supplier that always succeeds. Executors are
+ * shared by all benchmark threads, the same as long-lived executors are in production.
+ * <p>
+ * Run with {@code -t <threads>} to measure contention and with {@code -prof gc} to report allocation rates.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PolicyBenchmark {
+  private static final Object RESULT = new Object();
+  private static final CompletableFuture<Object> RESULT_STAGE = CompletableFuture.completedFuture(RESULT);
+
+  @Param({ "none", "retry", "circuitBreaker", "timedCircuitBreaker", "rateLimiter", "burstyRateLimiter", "bulkhead",
+    "timeout", "fallback", "retry+circuitBreaker", "fallback+retry+circuitBreaker+timeout" })
+  public String policies;
+
+  private final CheckedSupplier<Object> supplier = () -> RESULT;
+  private final CheckedSupplier<CompletionStage<Object>> stageSupplier = () -> RESULT_STAGE;
+  private FailsafeExecutor<Object> failsafe;
+
+  @Setup
+  public void setup() {
+    failsafe = Policies.executorFor(policies);
+  }
+
+  @Benchmark
+  public Object get() {
+    return failsafe.get(supplier);
+  }
+
+  @Benchmark
+  public Object getAsync() {
+    return failsafe.getAsync(supplier).join();
+  }
+
+  @Benchmark
+  public Object getStageAsync() {
+    return failsafe.getStageAsync(stageSupplier).join();
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.benchmarks;
+
+import dev.failsafe.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures contention on a single shared {@link RateLimiter} when acquiring permits from many threads. Limiters are
+ * configured with a high enough rate that most acquisitions succeed, so the benchmark measures the cost of updating
+ * the limiter's state rather than waiting. Runs with all available processors by default; use {@code -t <threads>} to
+ * compare thread counts.
+ *
+ * @author Jonathan Halterman
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+  @Param({ "rateLimiter", "burstyRateLimiter" })
+  public String limiter;
+
+  private RateLimiter<Object> rateLimiter;
+
+  @Setup
+  public void setup() {
+    rateLimiter = (RateLimiter<Object>) Policies.policyFor(limiter);
+  }
+
+  @Benchmark
+  public boolean tryAcquirePermit() {
+    return rateLimiter.tryAcquirePermit();
+  }
+
+  @Benchmark
+  public boolean tryAcquirePermitWithMaxWait() {
+    return rateLimiter.tryAcquirePermit(Duration.ofNanos(100));
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.benchmarks;
+
+import dev.failsafe.FailsafeExecutor;
+import dev.failsafe.function.ContextualSupplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of an execution whose first attempt fails and whose second attempt succeeds, without any retry
+ * delay. This exercises failure handling and retry scheduling in each policy executor, including {@code
+ * PolicyExecutor.postExecuteAsync} for async executions. Circuit breakers use the {@code tolerantCircuitBreaker}
+ * configuration, since a breaker that opens would measure rejections rather than retries. Each benchmark verifies its
+ * result so that a configuration which rejects or falls back fails the run instead of skewing it.
+ *
+ * @author Jonathan Halterman
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RetryBenchmark {
+  private static final Object RESULT = new Object();
+  private static final CompletableFuture<Object> RESULT_STAGE = CompletableFuture.completedFuture(RESULT);
+  private static final IllegalStateException FAILURE = new IllegalStateException("failed");
+
+  @Param({ "retry", "retry+tolerantCircuitBreaker", "fallback+retry+tolerantCircuitBreaker+timeout" })
+  public String policies;
+
+  private final ContextualSupplier<Object, Object> supplier = ctx -> {
+    if (ctx.isFirstAttempt())
+      throw FAILURE;
+    return RESULT;
+  };
+  private final ContextualSupplier<Object, CompletionStage<Object>> stageSupplier = ctx -> {
+    if (ctx.isFirstAttempt())
+      throw FAILURE;
+    return RESULT_STAGE;
+  };
+  private FailsafeExecutor<Object> failsafe;
+
+  @Setup
+  public void setup() {
+    failsafe = Policies.executorFor(policies);
+  }
+
+  @Benchmark
+  public Object get() {
+    return verify(failsafe.get(supplier));
+  }
+
+  @Benchmark
+  public Object getAsync() {
+    return verify(failsafe.getAsync(supplier).join());
+  }
+
+  @Benchmark
+  public Object getStageAsync() {
+    return verify(failsafe.getStageAsync(stageSupplier).join());
+  }
+
+  private static Object verify(Object result) {
+    if (result != RESULT)
+      throw new IllegalStateException("Expected the retried result but got " + result);
+    return result;
+  }
+}
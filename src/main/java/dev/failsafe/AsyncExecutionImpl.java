@@ -34,8 +34,12 @@ final class AsyncExecutionImpl<R> extends ExecutionImpl<R> implements AsyncExecu
 
   private final FailsafeFuture<R> future;
   private final boolean asyncExecution;
+  // Guards post execution of results across attempts
+  private final Object postExecuteLock;
   // The outer-most function that executions begin with
   private Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> outerFn;
+  // Tracks the dependencies of this attempt and its copies, if set by a policy that performs concurrent attempts
+  private volatile FailsafeFuture<R> attemptFuture;
 
   // -- Per-attempt state --
 
@@ -46,9 +50,19 @@ final class AsyncExecutionImpl<R> extends ExecutionImpl<R> implements AsyncExecu
 
   AsyncExecutionImpl(List<Policy<R>> policies, Scheduler scheduler, FailsafeFuture<R> future, boolean asyncExecution,
     Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn) {
-    super(policies);
+    this(future, createPolicyExecutors(policies), scheduler, asyncExecution, innerFn);
+  }
+
+  /**
+   * Create an async execution for the {@code future} and {@code policyExecutors}, which may be shared with other
+   * executions.
+   */
+  AsyncExecutionImpl(FailsafeFuture<R> future, List<PolicyExecutor<R>> policyExecutors, Scheduler scheduler,
+    boolean asyncExecution, Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn) {
+    super(policyExecutors);
     this.future = future;
     this.asyncExecution = asyncExecution;
+    postExecuteLock = new Object();
 
     outerFn = asyncExecution ? Functions.toExecutionAware(innerFn) : innerFn;
     outerFn = Functions.toAsync(outerFn, scheduler, future);
@@ -65,6 +79,8 @@ final class AsyncExecutionImpl<R> extends ExecutionImpl<R> implements AsyncExecu
     outerFn = execution.outerFn;
     future = execution.future;
     asyncExecution = execution.asyncExecution;
+    postExecuteLock = execution.postExecuteLock;
+    attemptFuture = execution.attemptFuture;
   }
 
   @Override
@@ -72,11 +88,12 @@ final class AsyncExecutionImpl<R> extends ExecutionImpl<R> implements AsyncExecu
     Assert.state(!recorded, "The most recent execution has already been recorded or completed");
     recorded = true;
 
-    // Guard against race with a timeout expiring
-    synchronized (future) {
-      ExecutionResult<R> result = this.result != null ? this.result : ExecutionResult.none();
-      complete(postExecute(result), null);
+    // Post-execute whichever result was recorded first, which may be a timeout's, then complete without holding a lock
+    ExecutionResult<R> result;
+    synchronized (this) {
+      result = postExecute(this.result != null ? this.result : ExecutionResult.none());
     }
+    complete(result, null);
   }
 
   @Override
@@ -89,16 +106,14 @@ final class AsyncExecutionImpl<R> extends ExecutionImpl<R> implements AsyncExecu
     Assert.state(!recorded, "The most recent execution has already been recorded or completed");
     recorded = true;
 
-    // Guard against race with a timeout expiring
-    synchronized (future) {
-      if (!attemptRecorded) {
-        Assert.state(!completed, "Execution has already been completed");
-        record(new ExecutionResult<>(result, failure));
-      }
-
-      // Proceed with handling the recorded result
-      executeAsync();
+    // Recording is atomic, so a result that races with a timeout expiring is ignored if the timeout recorded first
+    if (!attemptRecorded) {
+      Assert.state(!completed, "Execution has already been completed");
+      record(new ExecutionResult<>(result, failure));
     }
+
+    // Proceed with handling the recorded result, which completes the future without holding a lock
+    executeAsync();
   }
 
   @Override
@@ -131,6 +146,21 @@ final class AsyncExecutionImpl<R> extends ExecutionImpl<R> implements AsyncExecu
     return policyPostExecuted[policyIndex];
   }
 
+  @Override
+  public Object getPostExecuteLock() {
+    return postExecuteLock;
+  }
+
+  @Override
+  public FailsafeFuture<R> getAttemptFuture() {
+    return attemptFuture;
+  }
+
+  @Override
+  public void setAttemptFuture(FailsafeFuture<R> attemptFuture) {
+    this.attemptFuture = attemptFuture;
+  }
+
   @Override
   public AsyncExecutionInternal<R> copy() {
     return new AsyncExecutionImpl<>(this);
@@ -32,6 +32,35 @@ import java.time.Duration;
  * @see BulkheadFullException
  */
 public interface Bulkhead<R> extends Policy<R> {
+  /**
+   * Algorithms that an adaptive Bulkhead can use to adjust its concurrency limit from the latency and drops of
+   * executions. An execution is considered dropped when it fails with a {@link TimeoutExceededException} or {@link
+   * java.util.concurrent.TimeoutException}, or is rejected with a {@link BulkheadFullException} or {@link
+   * RateLimitExceededException}. Other failures are measured like successes, since they don't indicate overload.
+   *
+   * @see BulkheadBuilder#withAdaptiveLimit(LimitAlgorithm, int, int)
+   */
+  enum LimitAlgorithm {
+    /**
+     * Additive increase, multiplicative decrease. The limit is increased by one after a success while the bulkhead is
+     * at least half utilized, and is decreased by 10% after a drop.
+     */
+    AIMD,
+
+    /**
+     * Estimates the number of executions queued at the downstream from the difference between the minimum and the
+     * current latency. The limit is increased while the estimated queue is small, and decreased when it grows large or
+     * an execution is dropped.
+     */
+    VEGAS,
+
+    /**
+     * Scales the limit by the gradient between a long term average latency and the current latency, so that the limit
+     * shrinks as latency rises above its baseline and grows back as latency recovers.
+     */
+    GRADIENT
+  }
+
   /**
    * Returns a Bulkhead for the {@code maxConcurrency} that has {@link BulkheadBuilder#withMaxWaitTime(Duration) zero
    * wait} and is {@link BulkheadBuilder#withFairness() not fair} by default.
@@ -69,6 +98,15 @@ public interface Bulkhead<R> extends Policy<R> {
   @Override
   BulkheadConfig<R> getConfig();
 
+  /**
+   * Returns the max concurrent executions that are currently permitted within the bulkhead. This is the configured
+   * {@link BulkheadConfig#getMaxConcurrency() maxConcurrency} unless the bulkhead has an {@link
+   * BulkheadBuilder#withAdaptiveLimit(LimitAlgorithm, int, int) adaptive limit}.
+   */
+  default int getConcurrencyLimit() {
+    return getConfig().getMaxConcurrency();
+  }
+
   /**
    * Attempts to acquire a permit to perform an execution against within the bulkhead, waiting until one is available or
    * the thread is interrupted. After execution is complete, the permit should be {@link #releasePermit() released} back
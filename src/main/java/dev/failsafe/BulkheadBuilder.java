@@ -15,6 +15,7 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.Bulkhead.LimitAlgorithm;
 import dev.failsafe.internal.BulkheadImpl;
 import dev.failsafe.internal.util.Assert;
 
@@ -65,4 +66,25 @@ public class BulkheadBuilder<R> extends PolicyBuilder<BulkheadBuilder<R>, Bulkhe
     config.fair = true;
     return this;
   }
+
+  /**
+   * Configures the bulkhead to continuously adjust its concurrency limit, between the {@code minLimit} and {@code
+   * maxLimit}, using the {@code algorithm}. The limit is adjusted from the latency and {@link LimitAlgorithm drops} of
+   * executions performed through the bulkhead, starting from the bulkhead's {@code maxConcurrency}. Permits that are
+   * acquired and released directly, outside of a Failsafe execution, are not measured.
+   *
+   * @throws NullPointerException if {@code algorithm} is null
+   * @throws IllegalArgumentException if {@code minLimit} is < 1, or the bulkhead's {@code maxConcurrency} is not
+   * between the {@code minLimit} and {@code maxLimit}
+   */
+  public BulkheadBuilder<R> withAdaptiveLimit(LimitAlgorithm algorithm, int minLimit, int maxLimit) {
+    Assert.notNull(algorithm, "algorithm");
+    Assert.isTrue(minLimit >= 1, "minLimit must be >= 1");
+    Assert.isTrue(minLimit <= config.maxConcurrency && config.maxConcurrency <= maxLimit,
+      "maxConcurrency must be between minLimit and maxLimit");
+    config.limitAlgorithm = algorithm;
+    config.minLimit = minLimit;
+    config.maxLimit = maxLimit;
+    return this;
+  }
 }
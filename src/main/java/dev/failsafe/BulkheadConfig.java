@@ -15,6 +15,8 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.Bulkhead.LimitAlgorithm;
+
 import java.time.Duration;
 
 /**
@@ -27,6 +29,9 @@ public class BulkheadConfig<R> extends PolicyConfig<R> {
   int maxConcurrency;
   Duration maxWaitTime;
   boolean fair;
+  LimitAlgorithm limitAlgorithm;
+  int minLimit;
+  int maxLimit;
 
   BulkheadConfig(int maxConcurrency) {
     this.maxConcurrency = maxConcurrency;
@@ -38,6 +43,9 @@ public class BulkheadConfig<R> extends PolicyConfig<R> {
     maxConcurrency = config.maxConcurrency;
     maxWaitTime = config.maxWaitTime;
     fair = config.fair;
+    limitAlgorithm = config.limitAlgorithm;
+    minLimit = config.minLimit;
+    maxLimit = config.maxLimit;
   }
 
   /**
@@ -67,4 +75,32 @@ public class BulkheadConfig<R> extends PolicyConfig<R> {
   public boolean isFair() {
     return fair;
   }
+
+  /**
+   * Returns the algorithm used to adapt the bulkhead's concurrency limit, else {@code null} if the limit is fixed at
+   * the {@link #getMaxConcurrency() maxConcurrency}.
+   *
+   * @see BulkheadBuilder#withAdaptiveLimit(LimitAlgorithm, int, int)
+   */
+  public LimitAlgorithm getLimitAlgorithm() {
+    return limitAlgorithm;
+  }
+
+  /**
+   * Returns the min concurrency limit that an adaptive bulkhead can adjust to.
+   *
+   * @see BulkheadBuilder#withAdaptiveLimit(LimitAlgorithm, int, int)
+   */
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  /**
+   * Returns the max concurrency limit that an adaptive bulkhead can adjust to.
+   *
+   * @see BulkheadBuilder#withAdaptiveLimit(LimitAlgorithm, int, int)
+   */
+  public int getMaxLimit() {
+    return maxLimit;
+  }
 }
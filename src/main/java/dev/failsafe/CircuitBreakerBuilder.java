@@ -21,6 +21,7 @@ import dev.failsafe.internal.CircuitBreakerImpl;
 import dev.failsafe.internal.util.Assert;
 import dev.failsafe.internal.util.Durations;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
@@ -105,6 +106,30 @@ public class CircuitBreakerBuilder<R>
     return this;
   }
 
+  /**
+   * Shares the circuit breaker's state with other circuit breakers, including those in other processes on the same
+   * host, through a memory-mapped file at the {@code path}, which is created if it does not exist. The circuit's state,
+   * the time it was opened, and the results used for count based thresholding are shared, so that a failure threshold
+   * is reached by failures recorded in any process, and an open circuit rejects executions in all processes.
+   * <p>
+   * Circuit breakers that share state should be configured with the same thresholds and delay. Results used for
+   * {@link #withFailureThreshold(int, Duration) time based thresholding} are not shared, and half-open circuits permit
+   * trial executions in each process.
+   * </p>
+   * <p>
+   * Note: Since Java 8 does not support atomic operations on memory-mapped files, the file is updated while holding an
+   * exclusive file lock. Recording each execution result locks and unlocks the file, which adds two system calls to
+   * every execution, and executions in processes that share the file contend on the lock. Reading the circuit's state
+   * does not lock the file unless it was changed elsewhere.
+   * </p>
+   *
+   * @throws NullPointerException if {@code path} is null
+   */
+  public CircuitBreakerBuilder<R> withSharedState(Path path) {
+    config.sharedStatePath = Assert.notNull(path, "path");
+    return this;
+  }
+
   /**
    * Sets the {@code delay} to wait in OPEN state before transitioning to half-open.
    *
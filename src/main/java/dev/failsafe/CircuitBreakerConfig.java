@@ -18,6 +18,7 @@ package dev.failsafe;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.event.CircuitBreakerStateChangedEvent;
 
+import java.nio.file.Path;
 import java.time.Duration;
 
 /**
@@ -42,6 +43,9 @@ public class CircuitBreakerConfig<R> extends DelayablePolicyConfig<R> {
   int successThreshold;
   int successThresholdingCapacity;
 
+  // Shared state config
+  Path sharedStatePath;
+
   // Listeners
   EventListener<CircuitBreakerStateChangedEvent> openListener;
   EventListener<CircuitBreakerStateChangedEvent> halfOpenListener;
@@ -59,6 +63,7 @@ public class CircuitBreakerConfig<R> extends DelayablePolicyConfig<R> {
     failureThresholdingPeriod = config.failureThresholdingPeriod;
     successThreshold = config.successThreshold;
     successThresholdingCapacity = config.successThresholdingCapacity;
+    sharedStatePath = config.sharedStatePath;
     openListener = config.openListener;
     halfOpenListener = config.halfOpenListener;
     closeListener = config.closeListener;
@@ -158,6 +163,16 @@ public class CircuitBreakerConfig<R> extends DelayablePolicyConfig<R> {
     return successThresholdingCapacity;
   }
 
+  /**
+   * Returns the path of the file that the circuit breaker's state is shared through, else {@code null} if the state is
+   * not shared.
+   *
+   * @see CircuitBreakerBuilder#withSharedState(Path)
+   */
+  public Path getSharedStatePath() {
+    return sharedStatePath;
+  }
+
   /**
    * Returns the open event listener.
    *
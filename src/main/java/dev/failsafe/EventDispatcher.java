@@ -0,0 +1,373 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe;
+
+import dev.failsafe.internal.util.Assert;
+import dev.failsafe.spi.ExecutionInternal;
+import dev.failsafe.spi.ExecutionResult;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * Dispatches execution events to listeners asynchronously, so that slow listeners don't add latency to executions.
+ * Events are published to a bounded, lock-free ring buffer and delivered in batches, in the order they were published,
+ * on a dedicated consumer thread. When the buffer is full, events are handled according to the {@link OverflowPolicy}.
+ * An EventDispatcher can be shared by multiple {@link FailsafeExecutor FailsafeExecutors} via {@link
+ * FailsafeExecutor#withEventDispatcher(EventDispatcher)}.
+ * <p>
+ * Event properties that are read from the execution, such as {@link dev.failsafe.event.ExecutionEvent#getAttemptCount()
+ * attempt counts} and {@link dev.failsafe.event.ExecutionEvent#getElapsedTime() elapsed times}, are captured when the
+ * event is published, so they reflect the execution at that time rather than when the event is delivered.
+ * </p>
+ * <p>
+ * This class is threadsafe.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ * @see FailsafeExecutor#withEventDispatcher(EventDispatcher)
+ */
+public final class EventDispatcher implements AutoCloseable {
+  static final int MAX_BATCH_SIZE = 256;
+  static final int SAMPLE_RATE = 10;
+  private static final long BLOCK_PARK_NANOS = 10_000;
+
+  /**
+   * Determines how events are handled when the ring buffer is full.
+   */
+  public enum OverflowPolicy {
+    /** Drops events that are published while the buffer is full. */
+    DROP,
+    /**
+     * Publishes 1 of every 10 events, at random, while the buffer is more than half full, and drops the rest, so that
+     * some events are still delivered under sustained load. Events that are published while the buffer is full are
+     * dropped.
+     */
+    SAMPLE,
+    /** Blocks publishing threads until there's room in the buffer. */
+    BLOCK
+  }
+
+  private final OverflowPolicy overflowPolicy;
+  private final int capacity;
+  private final int mask;
+  // The position that each slot is ready to be published to, or + 1 when it's ready to be consumed
+  private final AtomicLongArray sequences;
+  private final Slot[] slots;
+  private final AtomicLong tail = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private final Thread consumer;
+
+  // Mutable state
+  private volatile long head;
+  private volatile boolean waiting;
+  private volatile boolean closed;
+
+  private EventDispatcher(int capacity, OverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+    this.capacity = capacity;
+    mask = capacity - 1;
+    sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++)
+      sequences.set(i, i);
+    slots = new Slot[capacity];
+    for (int i = 0; i < capacity; i++)
+      slots[i] = new Slot();
+    consumer = new Thread(this::consume, "failsafe-event-dispatcher");
+    consumer.setDaemon(true);
+  }
+
+  /**
+   * A ring buffer slot that holds an event along with the properties of its execution at the time it was published.
+   */
+  private static final class Slot {
+    BiConsumer<ExecutionResult<?>, ExecutionContext<?>> event;
+    ExecutionResult<?> result;
+    long startTimeNanos;
+    long elapsedNanos;
+    long elapsedAttemptNanos;
+    long remainingNanos;
+    int attemptCount;
+    int executionCount;
+    Object lastResult;
+    Throwable lastFailure;
+    boolean cancelled;
+    boolean firstAttempt;
+    boolean retry;
+  }
+
+  /**
+   * An execution context with the properties of an execution at the time an event was published.
+   */
+  private static final class PublishedContext<R> implements ExecutionContext<R> {
+    private final long startTimeNanos;
+    private final long elapsedNanos;
+    private final long elapsedAttemptNanos;
+    private final long remainingNanos;
+    private final int attemptCount;
+    private final int executionCount;
+    private final R lastResult;
+    private final Throwable lastFailure;
+    private final boolean cancelled;
+    private final boolean firstAttempt;
+    private final boolean retry;
+
+    @SuppressWarnings("unchecked")
+    PublishedContext(Slot slot) {
+      startTimeNanos = slot.startTimeNanos;
+      elapsedNanos = slot.elapsedNanos;
+      elapsedAttemptNanos = slot.elapsedAttemptNanos;
+      remainingNanos = slot.remainingNanos;
+      attemptCount = slot.attemptCount;
+      executionCount = slot.executionCount;
+      lastResult = (R) slot.lastResult;
+      lastFailure = slot.lastFailure;
+      cancelled = slot.cancelled;
+      firstAttempt = slot.firstAttempt;
+      retry = slot.retry;
+    }
+
+    @Override
+    public Duration getElapsedTime() {
+      return Duration.ofNanos(elapsedNanos);
+    }
+
+    @Override
+    public Duration getElapsedAttemptTime() {
+      return Duration.ofNanos(elapsedAttemptNanos);
+    }
+
+    @Override
+    public int getAttemptCount() {
+      return attemptCount;
+    }
+
+    @Override
+    public int getExecutionCount() {
+      return executionCount;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Throwable> T getLastFailure() {
+      return (T) lastFailure;
+    }
+
+    @Override
+    public R getLastResult() {
+      return lastResult;
+    }
+
+    @Override
+    public R getLastResult(R defaultValue) {
+      return lastResult != null || lastFailure != null ? lastResult : defaultValue;
+    }
+
+    @Override
+    public Duration getStartTime() {
+      return Duration.ofNanos(startTimeNanos);
+    }
+
+    @Override
+    public Duration getRemainingTime() {
+      return remainingNanos == Long.MAX_VALUE ? null : Duration.ofNanos(Math.max(0, remainingNanos));
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    @Override
+    public boolean isFirstAttempt() {
+      return firstAttempt;
+    }
+
+    @Override
+    public boolean isRetry() {
+      return retry;
+    }
+  }
+
+  /**
+   * Returns an EventDispatcher whose ring buffer holds at least {@code capacity} events, rounded up to a power of two,
+   * and that handles overflowing events according to the {@code overflowPolicy}. The dispatcher starts a daemon thread
+   * to deliver events, which runs until the dispatcher is {@link #close() closed}.
+   *
+   * @throws NullPointerException if {@code overflowPolicy} is null
+   * @throws IllegalArgumentException if {@code capacity} is < 1 or > 2^30
+   */
+  public static EventDispatcher of(int capacity, OverflowPolicy overflowPolicy) {
+    Assert.notNull(overflowPolicy, "overflowPolicy");
+    Assert.isTrue(capacity >= 1 && capacity <= 1 << 30, "capacity must be between 1 and 2^30");
+    int powerOfTwoCapacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    EventDispatcher dispatcher = new EventDispatcher(powerOfTwoCapacity, overflowPolicy);
+    dispatcher.consumer.start();
+    return dispatcher;
+  }
+
+  /**
+   * Returns the capacity of the ring buffer.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns the overflow policy.
+   */
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Returns the number of events that were dropped because the buffer was full, or were not sampled.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Returns whether the dispatcher has been closed.
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Closes the dispatcher, waiting for events that were already published to be delivered. Events that are published
+   * after the dispatcher is closed are delivered on the publishing thread, and events that are published concurrently
+   * with closing may not be delivered.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(consumer);
+    if (Thread.currentThread() != consumer) {
+      try {
+        consumer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Publishes the {@code event} to be delivered with the {@code result} and the properties of the {@code execution} as
+   * of now. Returns {@code false} if the dispatcher is closed and the event should be delivered by the caller instead.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  <R> boolean publish(BiConsumer<ExecutionResult<R>, ExecutionContext<R>> event, ExecutionResult<R> result,
+    ExecutionInternal<R> execution) {
+    if (closed)
+      return false;
+    if (overflowPolicy == OverflowPolicy.SAMPLE && tail.get() - head > capacity / 2
+      && ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+      dropped.increment();
+      return true;
+    }
+
+    // Claim a slot
+    long position;
+    int index;
+    while (true) {
+      position = tail.get();
+      index = (int) position & mask;
+      long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1))
+          break;
+      } else if (available < 0) {
+        // The buffer is full
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+          dropped.increment();
+          return true;
+        }
+        if (closed)
+          return false;
+        LockSupport.unpark(consumer);
+        LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+      }
+    }
+
+    Slot slot = slots[index];
+    slot.event = (BiConsumer) event;
+    slot.result = result;
+    slot.startTimeNanos = execution.getStartTime().toNanos();
+    slot.elapsedNanos = execution.getElapsedNanos();
+    slot.elapsedAttemptNanos = execution.getElapsedAttemptNanos();
+    slot.remainingNanos = execution.getRemainingNanos();
+    slot.attemptCount = execution.getAttemptCount();
+    slot.executionCount = execution.getExecutionCount();
+    slot.lastResult = execution.getLastResult();
+    slot.lastFailure = execution.getLastFailure();
+    slot.cancelled = execution.isCancelled();
+    slot.firstAttempt = execution.isFirstAttempt();
+    slot.retry = execution.isRetry();
+    sequences.set(index, position + 1);
+    if (waiting)
+      LockSupport.unpark(consumer);
+    return true;
+  }
+
+  /**
+   * Delivers published events in batches until the dispatcher is closed and no claimed events remain.
+   */
+  private void consume() {
+    long position = head;
+    while (true) {
+      int delivered = 0;
+      for (; delivered < MAX_BATCH_SIZE; delivered++) {
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1)
+          break;
+
+        Slot slot = slots[index];
+        BiConsumer<ExecutionResult<?>, ExecutionContext<?>> event = slot.event;
+        ExecutionResult<?> result = slot.result;
+        ExecutionContext<?> context = new PublishedContext<>(slot);
+        slot.event = null;
+        slot.result = null;
+        slot.lastResult = null;
+        slot.lastFailure = null;
+        sequences.set(index, position + capacity);
+        position++;
+
+        try {
+          event.accept(result, context);
+        } catch (Throwable ignore) {
+        }
+      }
+      head = position;
+
+      if (delivered == 0) {
+        if (closed && tail.get() == position)
+          return;
+
+        // Park until an event is published, rechecking after waiting is visible to publishers
+        waiting = true;
+        if (!closed && sequences.get((int) position & mask) != position + 1)
+          LockSupport.park(this);
+        waiting = false;
+      }
+    }
+  }
+}
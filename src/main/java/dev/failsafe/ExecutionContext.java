@@ -67,6 +67,17 @@ public interface ExecutionContext<R> {
    */
   Duration getStartTime();
 
+  /**
+   * Returns the time remaining before the execution's deadline, else {@code null} if the execution has no deadline. Once
+   * the deadline has passed, {@link Duration#ZERO} is returned.
+   *
+   * @see FailsafeExecutor#withDeadline(Duration)
+   * @see FailsafeExecutor#withDeadline(ExecutionContext)
+   */
+  default Duration getRemainingTime() {
+    return null;
+  }
+
   /**
    * Returns whether the execution has been cancelled. In this case the implementor should attempt to stop execution.
    */
@@ -16,6 +16,7 @@
 package dev.failsafe;
 
 import dev.failsafe.internal.util.Assert;
+import dev.failsafe.metrics.ExecutionMetrics;
 import dev.failsafe.spi.ExecutionInternal;
 import dev.failsafe.spi.ExecutionResult;
 import dev.failsafe.spi.PolicyExecutor;
@@ -24,24 +25,47 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BiConsumer;
 
 /**
  * Execution and ExecutionInternal implementation.
+ * <p>
+ * Cross-attempt state is stored in primitive fields on the root execution, which is shared by any copies that are made
+ * for new attempts, so that creating an execution requires no allocations beyond the execution itself.
+ * </p>
  *
  * @param <R> result type
  * @author Jonathan Halterman
  */
 class ExecutionImpl<R> implements ExecutionInternal<R> {
+  @SuppressWarnings("rawtypes")
+  private static final AtomicIntegerFieldUpdater<ExecutionImpl> ATTEMPTS = AtomicIntegerFieldUpdater.newUpdater(
+    ExecutionImpl.class, "attempts");
+  @SuppressWarnings("rawtypes")
+  private static final AtomicIntegerFieldUpdater<ExecutionImpl> EXECUTIONS = AtomicIntegerFieldUpdater.newUpdater(
+    ExecutionImpl.class, "executions");
+
   // -- Cross-attempt state --
 
   final List<PolicyExecutor<R>> policyExecutors;
-  // When the first execution attempt was started
-  private volatile Duration startTime;
-  // Number of execution attempts
-  private AtomicInteger attempts;
-  // Number of completed executions
-  private AtomicInteger executions;
+  // The execution that holds cross-attempt state, which is this for the initial execution
+  private final ExecutionImpl<R> root;
+  // When the first execution attempt was started, in nanoseconds. Only used on the root.
+  private volatile long startTimeNanos;
+  // Number of execution attempts. Only used on the root.
+  private volatile int attempts;
+  // Number of completed executions. Only used on the root.
+  private volatile int executions;
+  // Per-execution state for policy executors, indexed by policy index. Only used on the root, and lazily created.
+  private volatile Object[] policyStates;
+  // The deadline for the execution, in nanoseconds, if hasDeadline. Only used on the root, and set before it starts.
+  private long deadlineNanos;
+  private boolean hasDeadline;
+  // The metrics of the FailsafeExecutor, if any. Only used on the root, and set before it starts.
+  private ExecutionMetrics metrics;
+  // The event dispatcher of the FailsafeExecutor, if any. Only used on the root, and set before it starts.
+  private EventDispatcher eventDispatcher;
 
   // -- Per-attempt state --
 
@@ -49,8 +73,8 @@ class ExecutionImpl<R> implements ExecutionInternal<R> {
   private final ExecutionResult<R> previousResult;
   // The result of the current execution attempt;
   volatile ExecutionResult<R> result;
-  // When the most recent execution attempt was started
-  volatile Duration attemptStartTime;
+  // When the most recent execution attempt was started, in nanoseconds
+  volatile long attemptStartTimeNanos;
   // The index of a PolicyExecutor that cancelled the execution. Integer.MIN_VALUE represents non-cancelled.
   volatile int cancelledIndex = Integer.MIN_VALUE;
   // Whether the execution has pre-executed indicating it has started
@@ -61,23 +85,13 @@ class ExecutionImpl<R> implements ExecutionInternal<R> {
   volatile boolean completed;
 
   /**
-   * Creates a new execution for the {@code policies}.
+   * Creates a new execution for the {@code policyExecutors}, which are inner-most first. Policy executors may be shared
+   * with other executions, and store any per-execution state via {@link #setPolicyState(int, Object)}.
    */
-  ExecutionImpl(List<? extends Policy<R>> policies) {
-    policyExecutors = new ArrayList<>(policies.size());
-    startTime = Duration.ZERO;
-    attemptStartTime = Duration.ZERO;
-    attempts = new AtomicInteger();
-    executions = new AtomicInteger();
+  ExecutionImpl(List<PolicyExecutor<R>> policyExecutors) {
+    this.policyExecutors = policyExecutors;
+    root = this;
     previousResult = null;
-
-    // Create policy executors
-    ListIterator<? extends Policy<R>> policyIterator = policies.listIterator(policies.size());
-    for (int i = 0; policyIterator.hasPrevious(); i++) {
-      Policy<R> policy = Assert.notNull(policyIterator.previous(), "policies");
-      PolicyExecutor<R> policyExecutor = policy.toExecutor(i);
-      policyExecutors.add(policyExecutor);
-    }
   }
 
   /**
@@ -85,18 +99,31 @@ class ExecutionImpl<R> implements ExecutionInternal<R> {
    */
   ExecutionImpl(ExecutionImpl<R> execution) {
     policyExecutors = execution.policyExecutors;
-    startTime = execution.startTime;
-    attempts = execution.attempts;
-    executions = execution.executions;
+    root = execution.root;
     previousResult = execution.result;
   }
 
   /** Used for testing purposes only */
   ExecutionImpl(ExecutionResult<R> previousResult) {
     policyExecutors = null;
+    root = this;
     this.previousResult = previousResult;
   }
 
+  /**
+   * Returns policy executors for the {@code policies}, inner-most first.
+   */
+  static <R> List<PolicyExecutor<R>> createPolicyExecutors(List<? extends Policy<R>> policies) {
+    List<PolicyExecutor<R>> policyExecutors = new ArrayList<>(policies.size());
+    ListIterator<? extends Policy<R>> policyIterator = policies.listIterator(policies.size());
+    for (int i = 0; policyIterator.hasPrevious(); i++) {
+      Policy<R> policy = Assert.notNull(policyIterator.previous(), "policies");
+      PolicyExecutor<R> policyExecutor = policy.toExecutor(i);
+      policyExecutors.add(policyExecutor);
+    }
+    return policyExecutors;
+  }
+
   @Override
   public ExecutionResult<R> getResult() {
     return result;
@@ -105,9 +132,9 @@ class ExecutionImpl<R> implements ExecutionInternal<R> {
   @Override
   public synchronized void preExecute() {
     if (!preExecuted) {
-      attemptStartTime = Duration.ofNanos(System.nanoTime());
-      if (startTime == Duration.ZERO)
-        startTime = attemptStartTime;
+      attemptStartTimeNanos = System.nanoTime();
+      if (root.startTimeNanos == 0)
+        root.startTimeNanos = attemptStartTimeNanos;
       preExecuted = true;
     }
   }
@@ -120,7 +147,7 @@ class ExecutionImpl<R> implements ExecutionInternal<R> {
   @Override
   public synchronized void recordAttempt() {
     if (!attemptRecorded) {
-      attempts.incrementAndGet();
+      ATTEMPTS.incrementAndGet(root);
       attemptRecorded = true;
     }
   }
@@ -129,8 +156,10 @@ class ExecutionImpl<R> implements ExecutionInternal<R> {
   public synchronized void record(ExecutionResult<R> result) {
     if (preExecuted && !attemptRecorded) {
       recordAttempt();
-      executions.incrementAndGet();
+      EXECUTIONS.incrementAndGet(root);
       this.result = result;
+      if (root.metrics != null)
+        root.metrics.recordAttempt(getElapsedAttemptNanos());
     }
   }
 
@@ -173,24 +202,103 @@ class ExecutionImpl<R> implements ExecutionInternal<R> {
     return cancelledIndex > policyExecutor.getPolicyIndex();
   }
 
+  @Override
+  public Object getPolicyState(int policyIndex) {
+    Object[] states = root.policyStates;
+    return states == null || policyIndex >= states.length ? null : states[policyIndex];
+  }
+
+  @Override
+  public void setPolicyState(int policyIndex, Object state) {
+    synchronized (root) {
+      Object[] states = root.policyStates;
+      if (states == null || policyIndex >= states.length) {
+        int size = Math.max(policyIndex + 1, policyExecutors == null ? 0 : policyExecutors.size());
+        Object[] newStates = new Object[size];
+        if (states != null)
+          System.arraycopy(states, 0, newStates, 0, states.length);
+        states = newStates;
+      }
+      states[policyIndex] = state;
+      root.policyStates = states;
+    }
+  }
+
+  /**
+   * Restricts the execution's deadline to be no later than {@code timeoutNanos} from now. Must be called before the
+   * execution starts.
+   */
+  void restrictDeadline(long timeoutNanos) {
+    long deadline = System.nanoTime() + timeoutNanos;
+    if (!root.hasDeadline || deadline - root.deadlineNanos < 0) {
+      root.deadlineNanos = deadline;
+      root.hasDeadline = true;
+    }
+  }
+
+  /**
+   * Sets the {@code metrics} that attempts are recorded to. Must be called before the execution starts.
+   */
+  void setMetrics(ExecutionMetrics metrics) {
+    root.metrics = metrics;
+  }
+
+  @Override
+  public ExecutionMetrics getMetrics() {
+    return root.metrics;
+  }
+
+  /**
+   * Sets the {@code eventDispatcher} that events are published to. Must be called before the execution starts.
+   */
+  void setEventDispatcher(EventDispatcher eventDispatcher) {
+    root.eventDispatcher = eventDispatcher;
+  }
+
+  @Override
+  public boolean dispatch(BiConsumer<ExecutionResult<R>, ExecutionContext<R>> event, ExecutionResult<R> result) {
+    EventDispatcher dispatcher = root.eventDispatcher;
+    return dispatcher != null && dispatcher.publish(event, result, this);
+  }
+
+  @Override
+  public long getRemainingNanos() {
+    return root.hasDeadline ? root.deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+  }
+
+  @Override
+  public Duration getRemainingTime() {
+    return root.hasDeadline ? Duration.ofNanos(Math.max(0, getRemainingNanos())) : null;
+  }
+
   @Override
   public Duration getElapsedTime() {
-    return Duration.ofNanos(System.nanoTime() - startTime.toNanos());
+    return Duration.ofNanos(getElapsedNanos());
+  }
+
+  @Override
+  public long getElapsedNanos() {
+    return System.nanoTime() - root.startTimeNanos;
   }
 
   @Override
   public Duration getElapsedAttemptTime() {
-    return Duration.ofNanos(System.nanoTime() - attemptStartTime.toNanos());
+    return Duration.ofNanos(getElapsedAttemptNanos());
+  }
+
+  @Override
+  public long getElapsedAttemptNanos() {
+    return System.nanoTime() - attemptStartTimeNanos;
   }
 
   @Override
   public int getAttemptCount() {
-    return attempts.get();
+    return root.attempts;
   }
 
   @Override
   public int getExecutionCount() {
-    return executions.get();
+    return root.executions;
   }
 
   @Override
@@ -214,22 +322,22 @@ class ExecutionImpl<R> implements ExecutionInternal<R> {
 
   @Override
   public Duration getStartTime() {
-    return startTime;
+    return Duration.ofNanos(root.startTimeNanos);
   }
 
   @Override
   public boolean isFirstAttempt() {
-    return attempts.get() == (!attemptRecorded ? 0 : 1);
+    return root.attempts == (!attemptRecorded ? 0 : 1);
   }
 
   @Override
   public boolean isRetry() {
-    return attempts.get() > (!attemptRecorded ? 0 : 1);
+    return root.attempts > (!attemptRecorded ? 0 : 1);
   }
 
   @Override
   public String toString() {
-    return "[" + "attempts=" + attempts + ", executions=" + executions + ", lastResult=" + getLastResult()
+    return "[" + "attempts=" + root.attempts + ", executions=" + root.executions + ", lastResult=" + getLastResult()
       + ", lastFailure=" + getLastFailure() + ']';
   }
 }
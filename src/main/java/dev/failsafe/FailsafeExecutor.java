@@ -15,16 +15,24 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.event.CompletionListener;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.event.ExecutionCompletedEvent;
 import dev.failsafe.function.*;
 import dev.failsafe.internal.EventHandler;
 import dev.failsafe.internal.util.Assert;
+import dev.failsafe.internal.util.Durations;
+import dev.failsafe.metrics.ExecutionMetrics;
 import dev.failsafe.spi.AsyncExecutionInternal;
+import dev.failsafe.spi.ExecutionInternal;
 import dev.failsafe.spi.ExecutionResult;
 import dev.failsafe.spi.FailsafeFuture;
+import dev.failsafe.spi.PolicyExecutor;
 import dev.failsafe.spi.Scheduler;
+import dev.failsafe.spi.SyncExecutionInternal;
+import dev.failsafe.spi.VirtualThreadScheduler;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
@@ -55,6 +63,14 @@ public class FailsafeExecutor<R> {
   private EventHandler<R> completeHandler;
   private volatile EventHandler<R> failureHandler;
   private volatile EventHandler<R> successHandler;
+  // A cached pipeline, which is reset when the scheduler or executor are changed
+  private volatile Pipeline<R> pipeline;
+  // Deadline configuration for call scoped copies, which is applied to each execution when it's called
+  private long deadlineTimeoutNanos = -1;
+  private boolean hasInheritedDeadline;
+  private long inheritedDeadlineNanos;
+  private volatile ExecutionMetrics metrics;
+  private volatile EventDispatcher eventDispatcher;
 
   /**
    * @throws IllegalArgumentException if {@code policies} is empty
@@ -63,6 +79,24 @@ public class FailsafeExecutor<R> {
     this.policies = policies;
   }
 
+  /**
+   * Creates a copy of the {@code failsafe} executor's configuration.
+   */
+  private FailsafeExecutor(FailsafeExecutor<R> failsafe) {
+    policies = failsafe.policies;
+    scheduler = failsafe.scheduler;
+    executor = failsafe.executor;
+    completeHandler = failsafe.completeHandler;
+    failureHandler = failsafe.failureHandler;
+    successHandler = failsafe.successHandler;
+    pipeline = failsafe.pipeline;
+    deadlineTimeoutNanos = failsafe.deadlineTimeoutNanos;
+    hasInheritedDeadline = failsafe.hasInheritedDeadline;
+    inheritedDeadlineNanos = failsafe.inheritedDeadlineNanos;
+    metrics = failsafe.metrics;
+    eventDispatcher = failsafe.eventDispatcher;
+  }
+
   /**
    * Returns the currently configured policies.
    *
@@ -335,6 +369,16 @@ public class FailsafeExecutor<R> {
     return this;
   }
 
+  /**
+   * Registers the {@code listener} to be called when an execution is complete, without creating an event for each
+   * call. Replaces any listener registered via {@link #onComplete(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   */
+  public FailsafeExecutor<R> onComplete(CompletionListener<R> listener) {
+    completeHandler = EventHandler.ofCompletion(Assert.notNull(listener, "listener"));
+    return this;
+  }
+
   /**
    * Registers the {@code listener} to be called when an execution fails. This occurs when the execution fails according
    * to some policy, and all policies have been exceeded.
@@ -346,6 +390,16 @@ public class FailsafeExecutor<R> {
     return this;
   }
 
+  /**
+   * Registers the {@code listener} to be called when an execution fails, without creating an event for each call.
+   * Replaces any listener registered via {@link #onFailure(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   */
+  public FailsafeExecutor<R> onFailure(CompletionListener<R> listener) {
+    failureHandler = EventHandler.ofCompletion(Assert.notNull(listener, "listener"));
+    return this;
+  }
+
   /**
    * Registers the {@code listener} to be called when an execution is successful. If multiple policies, are configured,
    * this handler is called when execution is complete and <i>all</i> policies succeed. If <i>all</i> policies do not
@@ -357,6 +411,16 @@ public class FailsafeExecutor<R> {
     return this;
   }
 
+  /**
+   * Registers the {@code listener} to be called when an execution is successful, without creating an event for each
+   * call. Replaces any listener registered via {@link #onSuccess(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   */
+  public FailsafeExecutor<R> onSuccess(CompletionListener<R> listener) {
+    successHandler = EventHandler.ofCompletion(Assert.notNull(listener, "listener"));
+    return this;
+  }
+
   /**
    * Configures the {@code scheduledExecutorService} to use for performing asynchronous executions and listener
    * callbacks.
@@ -370,6 +434,7 @@ public class FailsafeExecutor<R> {
    */
   public FailsafeExecutor<R> with(ScheduledExecutorService scheduledExecutorService) {
     this.scheduler = Scheduler.of(Assert.notNull(scheduledExecutorService, "scheduledExecutorService"));
+    pipeline = null;
     return this;
   }
 
@@ -386,6 +451,7 @@ public class FailsafeExecutor<R> {
    */
   public FailsafeExecutor<R> with(ExecutorService executorService) {
     this.scheduler = Scheduler.of(Assert.notNull(executorService, "executorService"));
+    pipeline = null;
     return this;
   }
 
@@ -406,10 +472,12 @@ public class FailsafeExecutor<R> {
    */
   public FailsafeExecutor<R> with(Executor executor) {
     Assert.notNull(executor, "executor");
-    if (executor instanceof ExecutorService)
+    if (executor instanceof ExecutorService) {
       with((ExecutorService) executor);
-    else
+    } else {
       this.executor = executor;
+      pipeline = null;
+    }
     return this;
   }
 
@@ -420,6 +488,88 @@ public class FailsafeExecutor<R> {
    */
   public FailsafeExecutor<R> with(Scheduler scheduler) {
     this.scheduler = Assert.notNull(scheduler, "scheduler");
+    pipeline = null;
+    return this;
+  }
+
+  /**
+   * Returns a copy of this executor whose executions have a deadline that's the {@code timeout} after each execution
+   * is called, leaving this executor unchanged. Policies observe the deadline across all attempts of an execution: a
+   * {@link RetryPolicy} will not perform retries whose delay would exceed the deadline, and a {@link Timeout} will
+   * shorten attempts to end at the deadline. The remaining time is available via {@link
+   * ExecutionContext#getRemainingTime()}.
+   *
+   * @throws NullPointerException if {@code timeout} is null
+   * @throws IllegalArgumentException if {@code timeout} is negative
+   * @see #withDeadline(ExecutionContext)
+   */
+  public FailsafeExecutor<R> withDeadline(Duration timeout) {
+    Assert.notNull(timeout, "timeout");
+    Assert.isTrue(!timeout.isNegative(), "timeout must be >= 0");
+    FailsafeExecutor<R> copy = new FailsafeExecutor<>(this);
+    copy.deadlineTimeoutNanos = Durations.ofSafeNanos(timeout).toNanos();
+    return copy;
+  }
+
+  /**
+   * Returns a copy of this executor whose executions inherit the current deadline of the {@code context}, if any, so
+   * that executions which are performed within another execution don't outlive it, leaving this executor unchanged.
+   * The deadline is captured when this method is called, so the returned executor is intended to be used for calls
+   * within the {@code context}'s execution. When combined with {@link #withDeadline(Duration)}, the earlier deadline
+   * is used.
+   *
+   * @throws NullPointerException if {@code context} is null
+   * @see #withDeadline(Duration)
+   */
+  public FailsafeExecutor<R> withDeadline(ExecutionContext<?> context) {
+    Assert.notNull(context, "context");
+    FailsafeExecutor<R> copy = new FailsafeExecutor<>(this);
+    Duration remaining = context.getRemainingTime();
+    if (remaining != null) {
+      long deadline = System.nanoTime() + remaining.toNanos();
+      if (!copy.hasInheritedDeadline || deadline - copy.inheritedDeadlineNanos < 0) {
+        copy.inheritedDeadlineNanos = deadline;
+        copy.hasInheritedDeadline = true;
+      }
+    }
+    return copy;
+  }
+
+  /**
+   * Records attempts, completed executions, and events such as retries, rejections, timeouts, and fallbacks from any of
+   * the configured policies, for all executions of this executor to the {@code metrics}.
+   *
+   * @throws NullPointerException if {@code metrics} is null
+   * @see PolicyBuilder#withMetrics(ExecutionMetrics)
+   */
+  public FailsafeExecutor<R> withMetrics(ExecutionMetrics metrics) {
+    this.metrics = Assert.notNull(metrics, "metrics");
+    return this;
+  }
+
+  /**
+   * Configures listeners of this executor and of its policies to be called asynchronously via the {@code
+   * eventDispatcher} for executions of this executor, rather than on the execution's thread. Listeners that aren't
+   * associated with an execution, such as CircuitBreaker state change listeners, are still called synchronously.
+   *
+   * @throws NullPointerException if {@code eventDispatcher} is null
+   */
+  public FailsafeExecutor<R> withEventDispatcher(EventDispatcher eventDispatcher) {
+    this.eventDispatcher = Assert.notNull(eventDispatcher, "eventDispatcher");
+    return this;
+  }
+
+  /**
+   * Configures asynchronous executions and listener callbacks to be performed on virtual threads, via the {@link
+   * VirtualThreadScheduler}. This allows blocking code to be executed asynchronously without tying up a thread pool.
+   *
+   * @throws UnsupportedOperationException if virtual threads are not supported by the current JVM, which requires JDK
+   * 21 or later
+   * @see VirtualThreadScheduler#isSupported()
+   */
+  public FailsafeExecutor<R> withVirtualThreads() {
+    this.scheduler = VirtualThreadScheduler.instance();
+    pipeline = null;
     return this;
   }
 
@@ -434,7 +584,10 @@ public class FailsafeExecutor<R> {
    */
   @SuppressWarnings({ "unchecked", "rawtypes" })
   private <T> T call(ContextualSupplier<T, T> innerSupplier) {
-    SyncExecutionImpl<T> execution = new SyncExecutionImpl(this, scheduler, Functions.get(innerSupplier, executor));
+    Pipeline<T> pipeline = (Pipeline<T>) pipeline();
+    SyncExecutionImpl<T> execution = new SyncExecutionImpl(this, pipeline.policyExecutors, pipeline.outerFn,
+      innerSupplier);
+    configure(execution);
     ExecutionResult<T> result = execution.executeSync();
     Throwable failure = result.getFailure();
     if (failure != null) {
@@ -447,6 +600,56 @@ public class FailsafeExecutor<R> {
     return result.getResult();
   }
 
+  /**
+   * Applies the configured deadline, metrics, and event dispatcher, if any, to the {@code execution} before it starts.
+   */
+  private void configure(ExecutionImpl<?> execution) {
+    execution.setMetrics(metrics);
+    execution.setEventDispatcher(eventDispatcher);
+    if (deadlineTimeoutNanos >= 0)
+      execution.restrictDeadline(deadlineTimeoutNanos);
+    if (hasInheritedDeadline)
+      execution.restrictDeadline(Math.max(0, inheritedDeadlineNanos - System.nanoTime()));
+  }
+
+  /**
+   * Returns the pipeline for the configured policies, creating and caching it if needed. Pipelines are only cached
+   * when each of their policy executors is {@link PolicyExecutor#isShareable() shareable} across executions.
+   */
+  private Pipeline<R> pipeline() {
+    Pipeline<R> pipeline = this.pipeline;
+    if (pipeline == null) {
+      List<PolicyExecutor<R>> policyExecutors = ExecutionImpl.createPolicyExecutors(policies);
+      pipeline = new Pipeline<>(policyExecutors,
+        SyncExecutionImpl.compose(policyExecutors, scheduler, Functions.get(executor)));
+      if (pipeline.isShareable())
+        this.pipeline = pipeline;
+    }
+    return pipeline;
+  }
+
+  /**
+   * Policy executors, which sync and async executions begin with, and the sync function composed from them. Async
+   * functions are still composed per execution since they're bound to the execution's FailsafeFuture.
+   */
+  private static final class Pipeline<R> {
+    final List<PolicyExecutor<R>> policyExecutors;
+    final Function<SyncExecutionInternal<R>, ExecutionResult<R>> outerFn;
+
+    Pipeline(List<PolicyExecutor<R>> policyExecutors,
+      Function<SyncExecutionInternal<R>, ExecutionResult<R>> outerFn) {
+      this.policyExecutors = policyExecutors;
+      this.outerFn = outerFn;
+    }
+
+    boolean isShareable() {
+      for (PolicyExecutor<R> policyExecutor : policyExecutors)
+        if (!policyExecutor.isShareable())
+          return false;
+      return true;
+    }
+  }
+
   /**
    * Calls the asynchronous {@code innerFn} via the configured Scheduler, handling results according to the configured
    * policies.
@@ -468,15 +671,20 @@ public class FailsafeExecutor<R> {
     Function<FailsafeFuture<T>, Function<AsyncExecutionInternal<T>, CompletableFuture<ExecutionResult<T>>>> innerFn,
     boolean asyncExecution) {
 
-    FailsafeFuture<T> future = new FailsafeFuture(completionHandler);
-    AsyncExecutionImpl<T> execution = new AsyncExecutionImpl(policies, scheduler, future, asyncExecution,
-      innerFn.apply(future));
+    Pipeline<R> pipeline = pipeline();
+    FailsafeFuture<T> future = new FailsafeFuture(completionHandler, pipeline.policyExecutors.size());
+    AsyncExecutionImpl<T> execution = new AsyncExecutionImpl(future, pipeline.policyExecutors, scheduler,
+      asyncExecution, innerFn.apply(future));
+    configure(execution);
     future.setExecution(execution);
     execution.executeAsync();
     return future;
   }
 
   final BiConsumer<ExecutionResult<R>, ExecutionContext<R>> completionHandler = (result, context) -> {
+    ExecutionMetrics metrics = this.metrics;
+    if (metrics != null)
+      metrics.recordExecution(((ExecutionInternal<R>) context).getElapsedNanos(), result.getSuccessAll());
     if (successHandler != null && result.getSuccessAll())
       successHandler.handle(result, context);
     else if (failureHandler != null && !result.getSuccessAll())
@@ -15,6 +15,7 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.event.AttemptListener;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.event.ExecutionAttemptedEvent;
 import dev.failsafe.function.CheckedFunction;
@@ -78,6 +79,20 @@ public class FallbackBuilder<R> extends FailurePolicyBuilder<FallbackBuilder<R>,
    */
   public FallbackBuilder<R> onFailedAttempt(EventListener<ExecutionAttemptedEvent<R>> listener) {
     config.failedAttemptListener = Assert.notNull(listener, "listener");
+    config.failedAttemptAttemptListener = null;
+    return this;
+  }
+
+  /**
+   * Registers the {@code listener} to be called when the last execution attempt prior to the fallback failed, without
+   * creating an event for each call. Replaces any listener registered via {@link #onFailedAttempt(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   *
+   * @throws NullPointerException if {@code listener} is null
+   */
+  public FallbackBuilder<R> onFailedAttempt(AttemptListener<R> listener) {
+    config.failedAttemptAttemptListener = Assert.notNull(listener, "listener");
+    config.failedAttemptListener = null;
     return this;
   }
 
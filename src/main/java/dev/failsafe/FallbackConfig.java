@@ -15,6 +15,7 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.event.AttemptListener;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.event.ExecutionAttemptedEvent;
 import dev.failsafe.function.CheckedConsumer;
@@ -41,6 +42,7 @@ public class FallbackConfig<R> extends FailurePolicyConfig<R> {
 
   // Listeners
   EventListener<ExecutionAttemptedEvent<R>> failedAttemptListener;
+  AttemptListener<R> failedAttemptAttemptListener;
 
   FallbackConfig() {
   }
@@ -51,6 +53,7 @@ public class FallbackConfig<R> extends FailurePolicyConfig<R> {
     fallbackStage = config.fallbackStage;
     async = config.async;
     failedAttemptListener = config.failedAttemptListener;
+    failedAttemptAttemptListener = config.failedAttemptAttemptListener;
   }
 
   FallbackConfig(CheckedFunction<ExecutionAttemptedEvent<R>, R> fallback,
@@ -108,4 +111,13 @@ public class FallbackConfig<R> extends FailurePolicyConfig<R> {
   public EventListener<ExecutionAttemptedEvent<R>> getFailedAttemptListener() {
     return failedAttemptListener;
   }
+
+  /**
+   * Returns the failed attempt listener that is called without creating an event.
+   *
+   * @see FallbackBuilder#onFailedAttempt(AttemptListener)
+   */
+  public AttemptListener<R> getFailedAttemptAttemptListener() {
+    return failedAttemptAttemptListener;
+  }
 }
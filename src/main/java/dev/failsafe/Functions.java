@@ -30,15 +30,16 @@ import java.util.function.Function;
  */
 final class Functions {
   /**
-   * Returns a Supplier that for synchronous executions, that pre-executes the {@code execution}, applies the {@code
-   * supplier}, records the result and returns the result. This implementation also handles Thread interrupts.
+   * Returns a Function for synchronous executions that pre-executes the {@code execution}, applies the execution's
+   * supplier, records the result and returns the result. This implementation also handles Thread interrupts. Since the
+   * supplier is read from each {@link SyncExecutionImpl} rather than captured, the Function, and the policy functions
+   * composed around it, can be reused across executions.
    *
    * @param <R> result type
    */
-  static <R> Function<SyncExecutionInternal<R>, ExecutionResult<R>> get(ContextualSupplier<R, R> supplier,
-    Executor executor) {
-
+  static <R> Function<SyncExecutionInternal<R>, ExecutionResult<R>> get(Executor executor) {
     return execution -> {
+      ContextualSupplier<R, R> supplier = ((SyncExecutionImpl<R>) execution).supplier;
       ExecutionResult<R> result;
       Throwable throwable = null;
       try {
@@ -139,10 +140,22 @@ final class Functions {
           ExecutionResult<R> r = ExecutionResult.success(null);
           execution.record(r);
           promise.complete(r);
+        } else if (stage instanceof CompletableFuture && ((CompletableFuture<?>) stage).isDone()) {
+          // Record an already completed stage directly rather than through a dependent stage
+          ExecutionResult<R> r;
+          try {
+            r = ExecutionResult.success(((CompletableFuture<? extends R>) stage).join());
+          } catch (CompletionException e) {
+            r = ExecutionResult.failure(e.getCause());
+          } catch (CancellationException e) {
+            r = ExecutionResult.failure(e);
+          }
+          execution.record(r);
+          promise.complete(r);
         } else {
           // Propagate outer cancellations to the stage
           if (stage instanceof Future)
-            future.propagateCancellation((Future<R>) stage);
+            future.forAttempt(execution).propagateCancellation((Future<R>) stage);
 
           stage.whenComplete((result, failure) -> {
             if (failure instanceof CompletionException)
@@ -207,7 +220,7 @@ final class Functions {
           Future<?> scheduledFuture = scheduler.schedule(callable, 0, TimeUnit.NANOSECONDS);
 
           // Propagate outer cancellations to the scheduled innerFn and its promise
-          future.setCancelFn(-1, (mayInterrupt, cancelResult) -> {
+          future.forAttempt(execution).setCancelFn(-1, (mayInterrupt, cancelResult) -> {
             scheduledFuture.cancel(mayInterrupt);
 
             // Cancel a pending promise if the execution attempt has not started
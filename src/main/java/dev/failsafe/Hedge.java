@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe;
+
+import dev.failsafe.function.AsyncRunnable;
+import dev.failsafe.internal.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * A policy that launches speculative, hedged attempts of an execution if earlier attempts have not completed after a
+ * delay. The first successful result from any attempt is used, and the remaining attempts are cancelled. This is useful
+ * for reducing tail latencies against replicated resources, where a slow attempt is unlikely to be slow again.
+ * <p>
+ * The hedge delay can be fixed, or can be based on a {@link HedgeBuilder#withDelayPercentile(double) percentile} of
+ * recently observed attempt latencies. Up to {@link HedgeBuilder#withMaxHedges(int) maxHedges} hedged attempts are
+ * performed, each after another delay. If an attempt fails while no others are pending, the next hedge is launched
+ * immediately. If every attempt fails, the last failure is the result.
+ * </p>
+ * <p>
+ * Hedged attempts are performed on the configured scheduler and are only performed for async executions, since a
+ * synchronous execution cannot return the result of another thread's attempt while its own attempt is still running.
+ * Synchronous executions, and {@link FailsafeExecutor#getAsyncExecution(AsyncRunnable) async executions} that are
+ * completed externally, pass through a Hedge without hedging. Losing attempts are cancelled via their {@link
+ * java.util.concurrent.Future#cancel(boolean) futures}, and can internally cooperate with cancellation by checking
+ * {@link ExecutionContext#isCancelled()}.
+ * </p>
+ * <p>
+ * This class is threadsafe.
+ * </p>
+ *
+ * @param <R> result type
+ * @author Jonathan Halterman
+ * @see HedgeConfig
+ * @see HedgeBuilder
+ */
+public interface Hedge<R> extends Policy<R> {
+  /**
+   * Returns a {@link HedgeBuilder} that builds {@link Hedge} instances that launch a hedged attempt after the {@code
+   * delay}.
+   *
+   * @throws NullPointerException If {@code delay} is null
+   * @throws IllegalArgumentException If {@code delay} is < 0
+   */
+  static <R> HedgeBuilder<R> builder(Duration delay) {
+    Assert.notNull(delay, "delay");
+    Assert.isTrue(!delay.isNegative(), "delay must be >= 0");
+    return new HedgeBuilder<>(delay);
+  }
+
+  /**
+   * Creates a new HedgeBuilder that will be based on the {@code config}.
+   */
+  static <R> HedgeBuilder<R> builder(HedgeConfig<R> config) {
+    return new HedgeBuilder<>(config);
+  }
+
+  /**
+   * Returns a {@link Hedge} that launches a single hedged attempt if an execution has not completed after the {@code
+   * delay}. Alias for {@code Hedge.builder(delay).build()}. To configure additional options on a Hedge, use {@link
+   * #builder(Duration)} instead.
+   *
+   * @param <R> result type
+   * @throws NullPointerException If {@code delay} is null
+   * @throws IllegalArgumentException If {@code delay} is < 0
+   * @see #builder(Duration)
+   */
+  static <R> Hedge<R> of(Duration delay) {
+    return Hedge.<R>builder(delay).build();
+  }
+
+  /**
+   * Returns the {@link HedgeConfig} that the Hedge was built with.
+   */
+  @Override
+  HedgeConfig<R> getConfig();
+
+  /**
+   * Returns the delay to wait before launching a hedged attempt, based on the configured delay or observed latencies.
+   */
+  Duration getDelay();
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe;
+
+import dev.failsafe.internal.HedgeImpl;
+import dev.failsafe.internal.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * Builds {@link Hedge} instances.
+ * <p>
+ * This class is <i>not</i> threadsafe.
+ * </p>
+ *
+ * @param <R> result type
+ * @author Jonathan Halterman
+ * @see HedgeConfig
+ */
+public class HedgeBuilder<R> extends PolicyBuilder<HedgeBuilder<R>, HedgeConfig<R>, R> {
+  HedgeBuilder(Duration delay) {
+    super(new HedgeConfig<>(delay));
+  }
+
+  HedgeBuilder(HedgeConfig<R> config) {
+    super(new HedgeConfig<>(config));
+  }
+
+  /**
+   * Builds a new {@link Hedge} using the builder's configuration.
+   */
+  public Hedge<R> build() {
+    return new HedgeImpl<>(new HedgeConfig<>(config));
+  }
+
+  /**
+   * Configures the hedge delay to be the {@code percentile} of recently observed attempt latencies, such as {@code 95}
+   * to hedge attempts that are slower than 95% of recent attempts. The builder's delay is used until enough latencies
+   * have been observed.
+   *
+   * @throws IllegalArgumentException if {@code percentile} is not > 0 and < 100
+   */
+  public HedgeBuilder<R> withDelayPercentile(double percentile) {
+    Assert.isTrue(percentile > 0 && percentile < 100, "percentile must be > 0 and < 100");
+    config.delayPercentile = percentile;
+    return this;
+  }
+
+  /**
+   * Configures the max number of hedged attempts to perform in addition to the initial attempt. Defaults to {@code 1}.
+   *
+   * @throws IllegalArgumentException if {@code maxHedges} is < 1
+   */
+  public HedgeBuilder<R> withMaxHedges(int maxHedges) {
+    Assert.isTrue(maxHedges >= 1, "maxHedges must be >= 1");
+    config.maxHedges = maxHedges;
+    return this;
+  }
+
+  /**
+   * Configures the policy to interrupt attempts, in addition to cancelling them, when they lose to another attempt.
+   * This is done by calling {@link java.util.concurrent.Future#cancel(boolean) Future.cancel(true)}.
+   * <p>
+   * Note: Only configure interrupts if the code being executed is designed to be interrupted.
+   * </p>
+   */
+  public HedgeBuilder<R> withInterrupt() {
+    config.canInterrupt = true;
+    return this;
+  }
+}
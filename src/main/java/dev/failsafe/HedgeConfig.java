@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe;
+
+import java.time.Duration;
+
+/**
+ * Configuration for a {@link Hedge}.
+ * <p>
+ * This class is threadsafe.
+ * </p>
+ *
+ * @param <R> result type
+ * @author Jonathan Halterman
+ * @see HedgeBuilder
+ */
+public class HedgeConfig<R> extends PolicyConfig<R> {
+  Duration delay;
+  double delayPercentile;
+  int maxHedges;
+  boolean canInterrupt;
+
+  HedgeConfig(Duration delay) {
+    this.delay = delay;
+    maxHedges = 1;
+  }
+
+  HedgeConfig(HedgeConfig<R> config) {
+    super(config);
+    delay = config.delay;
+    delayPercentile = config.delayPercentile;
+    maxHedges = config.maxHedges;
+    canInterrupt = config.canInterrupt;
+  }
+
+  /**
+   * Returns the delay to wait before launching a hedged attempt. When a {@link #getDelayPercentile() delay percentile}
+   * is configured, this is the delay that's used until enough attempt latencies have been observed.
+   */
+  public Duration getDelay() {
+    return delay;
+  }
+
+  /**
+   * Returns the percentile of observed attempt latencies to wait before launching a hedged attempt, else {@code 0} if
+   * the {@link #getDelay() delay} is fixed.
+   *
+   * @see HedgeBuilder#withDelayPercentile(double)
+   */
+  public double getDelayPercentile() {
+    return delayPercentile;
+  }
+
+  /**
+   * Returns the max number of hedged attempts to perform in addition to the initial attempt. Defaults to {@code 1}.
+   *
+   * @see HedgeBuilder#withMaxHedges(int)
+   */
+  public int getMaxHedges() {
+    return maxHedges;
+  }
+
+  /**
+   * Returns whether the policy can interrupt attempts that are cancelled after another attempt succeeds.
+   *
+   * @see HedgeBuilder#withInterrupt()
+   */
+  public boolean canInterrupt() {
+    return canInterrupt;
+  }
+}
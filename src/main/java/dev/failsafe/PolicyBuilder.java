@@ -15,9 +15,11 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.event.CompletionListener;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.internal.util.Assert;
 import dev.failsafe.event.ExecutionCompletedEvent;
+import dev.failsafe.metrics.ExecutionMetrics;
 
 /**
  * Builds policies.
@@ -37,12 +39,52 @@ public abstract class PolicyBuilder<S, C extends PolicyConfig<R>, R> implements
 
   public S onFailure(EventListener<ExecutionCompletedEvent<R>> listener) {
     config.failureListener = Assert.notNull(listener, "listener");
+    config.failureCompletionListener = null;
+    return (S) this;
+  }
+
+  /**
+   * Registers the {@code listener} to be called when the policy fails to handle an execution, without creating an event
+   * for each call. Replaces any listener registered via {@link #onFailure(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   *
+   * @throws NullPointerException if {@code listener} is null
+   */
+  public S onFailure(CompletionListener<R> listener) {
+    config.failureCompletionListener = Assert.notNull(listener, "listener");
+    config.failureListener = null;
     return (S) this;
   }
 
   @Override
   public S onSuccess(EventListener<ExecutionCompletedEvent<R>> listener) {
     config.successListener = Assert.notNull(listener, "listener");
+    config.successCompletionListener = null;
+    return (S) this;
+  }
+
+  /**
+   * Registers the {@code listener} to be called when the policy succeeds in handling an execution, without creating an
+   * event for each call. Replaces any listener registered via {@link #onSuccess(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   *
+   * @throws NullPointerException if {@code listener} is null
+   */
+  public S onSuccess(CompletionListener<R> listener) {
+    config.successCompletionListener = Assert.notNull(listener, "listener");
+    config.successListener = null;
+    return (S) this;
+  }
+
+  /**
+   * Records attempts, completed executions, and policy specific events such as retries, rejections, timeouts, and
+   * fallbacks, for executions that the policy handles to the {@code metrics}.
+   *
+   * @throws NullPointerException if {@code metrics} is null
+   * @see FailsafeExecutor#withMetrics(ExecutionMetrics)
+   */
+  public S withMetrics(ExecutionMetrics metrics) {
+    config.metrics = Assert.notNull(metrics, "metrics");
     return (S) this;
   }
 }
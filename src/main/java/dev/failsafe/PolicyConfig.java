@@ -15,8 +15,10 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.event.CompletionListener;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.event.ExecutionCompletedEvent;
+import dev.failsafe.metrics.ExecutionMetrics;
 
 /**
  * Configuration for a {@link Policy}.
@@ -27,6 +29,9 @@ import dev.failsafe.event.ExecutionCompletedEvent;
 public abstract class PolicyConfig<R> {
   volatile EventListener<ExecutionCompletedEvent<R>> successListener;
   volatile EventListener<ExecutionCompletedEvent<R>> failureListener;
+  volatile CompletionListener<R> successCompletionListener;
+  volatile CompletionListener<R> failureCompletionListener;
+  volatile ExecutionMetrics metrics;
 
   protected PolicyConfig() {
   }
@@ -34,6 +39,9 @@ public abstract class PolicyConfig<R> {
   protected PolicyConfig(PolicyConfig<R> config) {
     successListener = config.successListener;
     failureListener = config.failureListener;
+    successCompletionListener = config.successCompletionListener;
+    failureCompletionListener = config.failureCompletionListener;
+    metrics = config.metrics;
   }
 
   /**
@@ -53,4 +61,32 @@ public abstract class PolicyConfig<R> {
   public EventListener<ExecutionCompletedEvent<R>> getFailureListener() {
     return failureListener;
   }
+
+  /**
+   * Returns the success completion listener.
+   *
+   * @see PolicyBuilder#onSuccess(CompletionListener)
+   */
+  public CompletionListener<R> getSuccessCompletionListener() {
+    return successCompletionListener;
+  }
+
+  /**
+   * Returns the failure completion listener.
+   *
+   * @see PolicyBuilder#onFailure(CompletionListener)
+   */
+  public CompletionListener<R> getFailureCompletionListener() {
+    return failureCompletionListener;
+  }
+
+  /**
+   * Returns the metrics that executions handled by the policy are recorded to, else {@code null} if none were
+   * configured.
+   *
+   * @see PolicyBuilder#withMetrics(ExecutionMetrics)
+   */
+  public ExecutionMetrics getMetrics() {
+    return metrics;
+  }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe;
+
+import dev.failsafe.internal.CircuitBreakerImpl;
+import dev.failsafe.internal.RateLimiterImpl;
+import dev.failsafe.internal.util.Assert;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and restores snapshots of the state of {@link CircuitBreaker CircuitBreakers} and {@link RateLimiter
+ * RateLimiters} in a compact binary format, so that policies can resume where they left off when a process is
+ * restarted rather than starting with closed circuits and unused rate limits.
+ * <p>
+ * A CircuitBreaker snapshot includes its state, remaining delay, and the results used for thresholding. A RateLimiter
+ * snapshot includes the permits that have been acquired. When a snapshot is restored, the time that elapsed since it
+ * was written counts towards any remaining delay, thresholding period, and rate limiting period, based on the wall
+ * clock. Policies should be restored with the same configuration they were snapshotted with.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ */
+public final class PolicySnapshots {
+  private static final int MAGIC = 0x46535053;
+  private static final byte VERSION = 1;
+  private static final byte CIRCUIT_BREAKER = 1;
+  private static final byte RATE_LIMITER = 2;
+
+  private PolicySnapshots() {
+  }
+
+  /**
+   * Returns a snapshot of the {@code policy}'s state.
+   *
+   * @throws NullPointerException if {@code policy} is null
+   * @throws IllegalArgumentException if the {@code policy} is not a CircuitBreaker or RateLimiter
+   */
+  public static byte[] snapshot(Policy<?> policy) {
+    Assert.notNull(policy, "policy");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      out.writeLong(System.currentTimeMillis());
+      if (policy instanceof CircuitBreakerImpl) {
+        out.writeByte(CIRCUIT_BREAKER);
+        ((CircuitBreakerImpl<?>) policy).writeSnapshot(out);
+      } else if (policy instanceof RateLimiterImpl) {
+        out.writeByte(RATE_LIMITER);
+        ((RateLimiterImpl<?>) policy).writeSnapshot(out);
+      } else
+        throw new IllegalArgumentException("Snapshots are not supported for " + policy.getClass().getName());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Restores the {@code snapshot} into the {@code policy}, which should not have been used yet.
+   *
+   * @throws NullPointerException if {@code policy} or {@code snapshot} are null
+   * @throws IllegalArgumentException if the {@code snapshot} is invalid or was not taken from the same type of policy
+   */
+  public static void restore(Policy<?> policy, byte[] snapshot) {
+    Assert.notNull(policy, "policy");
+    Assert.notNull(snapshot, "snapshot");
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+      byte version = in.readByte();
+      Assert.isTrue(version == VERSION, "Unsupported snapshot version %s", version);
+      long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(System.currentTimeMillis() - in.readLong(), 0));
+      byte type = in.readByte();
+      if (type == CIRCUIT_BREAKER && policy instanceof CircuitBreakerImpl)
+        ((CircuitBreakerImpl<?>) policy).restoreSnapshot(in, elapsedNanos);
+      else if (type == RATE_LIMITER && policy instanceof RateLimiterImpl)
+        ((RateLimiterImpl<?>) policy).restoreSnapshot(in, elapsedNanos);
+      else
+        throw new IllegalArgumentException("Snapshot cannot be restored into " + policy.getClass().getName());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Invalid snapshot", e);
+    }
+  }
+
+  /**
+   * Writes snapshots of the {@code policies} to the file at the {@code path}, keyed by name. The file is written to a
+   * temporary file first and then moved into place, so that a process that is stopped while writing does not leave a
+   * partial file.
+   *
+   * @throws NullPointerException if {@code path} or {@code policies} are null
+   * @throws IllegalArgumentException if any of the {@code policies} is not a CircuitBreaker or RateLimiter
+   */
+  public static void write(Path path, Map<String, ? extends Policy<?>> policies) throws IOException {
+    Assert.notNull(path, "path");
+    Assert.notNull(policies, "policies");
+    Path tempFile = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(policies.size());
+      for (Map.Entry<String, ? extends Policy<?>> entry : policies.entrySet()) {
+        byte[] snapshot = snapshot(entry.getValue());
+        out.writeUTF(entry.getKey());
+        out.writeInt(snapshot.length);
+        out.write(snapshot);
+      }
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(tempFile);
+      throw e;
+    }
+    Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Restores the {@code policies} from snapshots in the file at the {@code path} with the same names, returning the
+   * number of policies that were restored. Policies that have no snapshot in the file are left as is, and {@code 0} is
+   * returned if the file does not exist.
+   *
+   * @throws NullPointerException if {@code path} or {@code policies} are null
+   * @throws IllegalArgumentException if the file or any of its snapshots are invalid
+   */
+  public static int restore(Path path, Map<String, ? extends Policy<?>> policies) throws IOException {
+    Assert.notNull(path, "path");
+    Assert.notNull(policies, "policies");
+    if (Files.notExists(path))
+      return 0;
+
+    int restored = 0;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      Assert.isTrue(in.readInt() == MAGIC, "%s does not contain policy snapshots", path);
+      for (int i = in.readInt(); i > 0; i--) {
+        String name = in.readUTF();
+        byte[] snapshot = new byte[in.readInt()];
+        in.readFully(snapshot);
+        Policy<?> policy = policies.get(name);
+        if (policy != null) {
+          restore(policy, snapshot);
+          restored++;
+        }
+      }
+    }
+    return restored;
+  }
+}
@@ -27,6 +27,31 @@ package dev.failsafe;
  * @see RetryPolicyBuilder
  */
 public interface RetryPolicy<R> extends Policy<R> {
+  /**
+   * Strategies for randomizing retry delays, which spread out the retries of concurrent executions so they don't occur
+   * in synchronized waves.
+   *
+   * @see RetryPolicyBuilder#withJitter(JitterStrategy)
+   */
+  enum JitterStrategy {
+    /**
+     * Uses a random delay between {@code 0} and the delay.
+     */
+    FULL,
+
+    /**
+     * Uses half of the delay plus a random delay between {@code 0} and the other half of the delay.
+     */
+    EQUAL,
+
+    /**
+     * Uses a random delay between the delay and {@code 3} times the previous randomized delay, bounded by the max
+     * delay. The max delay is the {@link RetryPolicyConfig#getMaxDelay() backoff maxDelay} or {@link
+     * RetryPolicyConfig#getDelayMax() random delayMax} if configured, else {@code 3} times the delay.
+     */
+    DECORRELATED
+  }
+
   /**
    * Creates a RetryPolicyBuilder that by default will build a RetryPolicy that allows 3 execution attempts max with no
    * delay, unless configured otherwise.
@@ -15,6 +15,9 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.RetryPolicy.JitterStrategy;
+import dev.failsafe.event.AttemptListener;
+import dev.failsafe.event.DelayListener;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.event.ExecutionAttemptedEvent;
 import dev.failsafe.event.ExecutionCompletedEvent;
@@ -187,6 +190,20 @@ public class RetryPolicyBuilder<R> extends DelayablePolicyBuilder<RetryPolicyBui
    */
   public RetryPolicyBuilder<R> onFailedAttempt(EventListener<ExecutionAttemptedEvent<R>> listener) {
     config.failedAttemptListener = Assert.notNull(listener, "listener");
+    config.failedAttemptAttemptListener = null;
+    return this;
+  }
+
+  /**
+   * Registers the {@code listener} to be called when an execution attempt fails, without creating an event for each
+   * call. Replaces any listener registered via {@link #onFailedAttempt(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   *
+   * @throws NullPointerException if {@code listener} is null
+   */
+  public RetryPolicyBuilder<R> onFailedAttempt(AttemptListener<R> listener) {
+    config.failedAttemptAttemptListener = Assert.notNull(listener, "listener");
+    config.failedAttemptListener = null;
     return this;
   }
 
@@ -214,6 +231,20 @@ public class RetryPolicyBuilder<R> extends DelayablePolicyBuilder<RetryPolicyBui
    */
   public RetryPolicyBuilder<R> onRetry(EventListener<ExecutionAttemptedEvent<R>> listener) {
     config.retryListener = Assert.notNull(listener, "listener");
+    config.retryAttemptListener = null;
+    return this;
+  }
+
+  /**
+   * Registers the {@code listener} to be called when a retry is about to be attempted, without creating an event for
+   * each call. Replaces any listener registered via {@link #onRetry(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   *
+   * @throws NullPointerException if {@code listener} is null
+   */
+  public RetryPolicyBuilder<R> onRetry(AttemptListener<R> listener) {
+    config.retryAttemptListener = Assert.notNull(listener, "listener");
+    config.retryListener = null;
     return this;
   }
 
@@ -231,6 +262,21 @@ public class RetryPolicyBuilder<R> extends DelayablePolicyBuilder<RetryPolicyBui
    */
   public RetryPolicyBuilder<R> onRetryScheduled(EventListener<ExecutionScheduledEvent<R>> listener) {
     config.retryScheduledListener = Assert.notNull(listener, "listener");
+    config.retryScheduledDelayListener = null;
+    return this;
+  }
+
+  /**
+   * Registers the {@code listener} to be called when a retry for an async call is about to be scheduled, without
+   * creating an event or {@link Duration} for each call. Replaces any listener registered via {@link
+   * #onRetryScheduled(EventListener)}.
+   * <p>Note: Any exceptions that are thrown from within the {@code listener} are ignored.</p>
+   *
+   * @throws NullPointerException if {@code listener} is null
+   */
+  public RetryPolicyBuilder<R> onRetryScheduled(DelayListener<R> listener) {
+    config.retryScheduledDelayListener = Assert.notNull(listener, "listener");
+    config.retryScheduledListener = null;
     return this;
   }
 
@@ -388,7 +434,7 @@ public class RetryPolicyBuilder<R> extends DelayablePolicyBuilder<RetryPolicyBui
    * multiplied by the {@code jitterFactor} will be added or subtracted to the delay. For example: a retry delay of
    * {@code 100} milliseconds and a {@code jitterFactor} of {@code .25} will result in a random retry delay between
    * {@code 75} and {@code 125} milliseconds. Replaces any previously configured {@link #withJitter(Duration) jitter
-   * duration}.
+   * duration} or {@link #withJitter(JitterStrategy) jitter strategy}.
    * <p>
    * Jitter should be combined with {@link #withDelay(Duration) fixed}, {@link #withDelay(long, long, ChronoUnit)
    * random} or {@link #withBackoff(long, long, ChronoUnit) exponential backoff} delays. If no delays are configured,
@@ -400,8 +446,9 @@ public class RetryPolicyBuilder<R> extends DelayablePolicyBuilder<RetryPolicyBui
     Assert.isTrue(jitterFactor >= 0.0 && jitterFactor <= 1.0, "jitterFactor must be >= 0 and <= 1");
     config.jitterFactor = jitterFactor;
 
-    // Clear the jitter duration
+    // Clear the jitter duration and strategy
     config.jitter = null;
+    config.jitterStrategy = null;
     return this;
   }
 
@@ -409,7 +456,7 @@ public class RetryPolicyBuilder<R> extends DelayablePolicyBuilder<RetryPolicyBui
    * Sets the {@code jitter} to randomly vary retry delays by. For each retry delay, a random portion of the {@code
    * jitter} will be added or subtracted to the delay. For example: a {@code jitter} of {@code 100} milliseconds will
    * randomly add between {@code -100} and {@code 100} milliseconds to each retry delay. Replaces any previously
-   * configured {@link #withJitter(double) jitter factor}.
+   * configured {@link #withJitter(double) jitter factor} or {@link #withJitter(JitterStrategy) jitter strategy}.
    * <p>
    * Jitter should be combined with {@link #withDelay(Duration) fixed}, {@link #withDelay(long, long, ChronoUnit)
    * random} or {@link #withBackoff(long, long, ChronoUnit) exponential backoff} delays. If no delays are configured,
@@ -429,11 +476,50 @@ public class RetryPolicyBuilder<R> extends DelayablePolicyBuilder<RetryPolicyBui
     Assert.state(validJitter, "jitter must be < the minimum configured delay");
     config.jitter = jitter;
 
-    // Clear the jitter factor
+    // Clear the jitter factor and strategy
+    config.jitterFactor = 0;
+    config.jitterStrategy = null;
+    return this;
+  }
+
+  /**
+   * Sets the {@code jitterStrategy} to randomize retry delays with. For example: a retry delay of {@code 100}
+   * milliseconds with {@link JitterStrategy#FULL full jitter} will result in a random retry delay between {@code 0} and
+   * {@code 100} milliseconds. Replaces any previously configured {@link #withJitter(Duration) jitter duration} or {@link
+   * #withJitter(double) jitter factor}.
+   * <p>
+   * Jitter should be combined with {@link #withDelay(Duration) fixed}, {@link #withDelay(long, long, ChronoUnit)
+   * random} or {@link #withBackoff(long, long, ChronoUnit) exponential backoff} delays. If no delays are configured,
+   * this setting is ignored.
+   *
+   * @throws NullPointerException if {@code jitterStrategy} is null
+   */
+  public RetryPolicyBuilder<R> withJitter(JitterStrategy jitterStrategy) {
+    config.jitterStrategy = Assert.notNull(jitterStrategy, "jitterStrategy");
+
+    // Clear the jitter duration and factor
+    config.jitter = null;
     config.jitterFactor = 0;
     return this;
   }
 
+  /**
+   * Sets the {@code spinThreshold} for synchronous retry delays. The final {@code spinThreshold} of each delay is spent
+   * spinning rather than parking the thread, which avoids the latency of waking a parked thread, and allows very short
+   * delays, such as several hundred microseconds, to be waited precisely. This uses CPU while spinning, so the {@code
+   * spinThreshold} should be kept small. Async retries are unaffected, and are scheduled with nanosecond precision by the
+   * configured {@link dev.failsafe.spi.Scheduler Scheduler}.
+   *
+   * @throws NullPointerException if {@code spinThreshold} is null
+   * @throws IllegalArgumentException if {@code spinThreshold} is negative
+   */
+  public RetryPolicyBuilder<R> withSpinThreshold(Duration spinThreshold) {
+    Assert.notNull(spinThreshold, "spinThreshold");
+    Assert.isTrue(!spinThreshold.isNegative(), "spinThreshold must be >= 0");
+    config.spinThreshold = Durations.ofSafeNanos(spinThreshold);
+    return this;
+  }
+
   /**
    * Sets the max number of execution attempts to perform. {@code -1} indicates no limit. This method has the same
    * effect as setting 1 more than {@link #withMaxRetries(int)}. For example, 2 retries equal 3 attempts.
@@ -487,4 +573,21 @@ public class RetryPolicyBuilder<R> extends DelayablePolicyBuilder<RetryPolicyBui
     config.maxRetries = maxRetries;
     return this;
   }
+
+  /**
+   * Sets a retry budget that is shared across all executions of the policy, which limits retries to the {@code ratio}
+   * of first attempts, plus {@code minRetriesPerSecond}, over the last 10 seconds. For example: a {@code ratio} of
+   * {@code .1} allows 1 retry for every 10 executions. When the budget is exhausted, failed executions are not retried,
+   * and are handled as if their retries were exceeded. This prevents retries from multiplying the load on a degraded
+   * resource, while {@link #withMaxRetries(int) max retries} continue to limit the retries of each execution.
+   *
+   * @throws IllegalArgumentException if {@code ratio} is <= 0 or {@code minRetriesPerSecond} is < 0
+   */
+  public RetryPolicyBuilder<R> withRetryBudget(double ratio, int minRetriesPerSecond) {
+    Assert.isTrue(ratio > 0, "ratio must be > 0");
+    Assert.isTrue(minRetriesPerSecond >= 0, "minRetriesPerSecond must be >= 0");
+    config.retryBudgetRatio = ratio;
+    config.retryBudgetMinRetriesPerSecond = minRetriesPerSecond;
+    return this;
+  }
 }
@@ -15,6 +15,9 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.RetryPolicy.JitterStrategy;
+import dev.failsafe.event.AttemptListener;
+import dev.failsafe.event.DelayListener;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.event.ExecutionAttemptedEvent;
 import dev.failsafe.event.ExecutionCompletedEvent;
@@ -44,8 +47,12 @@ public class RetryPolicyConfig<R> extends DelayablePolicyConfig<R> {
   Duration maxDelay;
   Duration jitter;
   double jitterFactor;
+  JitterStrategy jitterStrategy;
+  Duration spinThreshold;
   Duration maxDuration;
   int maxRetries;
+  double retryBudgetRatio;
+  int retryBudgetMinRetriesPerSecond;
   List<BiPredicate<R, Throwable>> abortConditions;
 
   // Listeners
@@ -54,6 +61,9 @@ public class RetryPolicyConfig<R> extends DelayablePolicyConfig<R> {
   EventListener<ExecutionCompletedEvent<R>> retriesExceededListener;
   EventListener<ExecutionAttemptedEvent<R>> retryListener;
   EventListener<ExecutionScheduledEvent<R>> retryScheduledListener;
+  AttemptListener<R> failedAttemptAttemptListener;
+  AttemptListener<R> retryAttemptListener;
+  DelayListener<R> retryScheduledDelayListener;
 
   RetryPolicyConfig() {
   }
@@ -66,14 +76,21 @@ public class RetryPolicyConfig<R> extends DelayablePolicyConfig<R> {
     maxDelay = config.maxDelay;
     jitter = config.jitter;
     jitterFactor = config.jitterFactor;
+    jitterStrategy = config.jitterStrategy;
+    spinThreshold = config.spinThreshold;
     maxDuration = config.maxDuration;
     maxRetries = config.maxRetries;
+    retryBudgetRatio = config.retryBudgetRatio;
+    retryBudgetMinRetriesPerSecond = config.retryBudgetMinRetriesPerSecond;
     abortConditions = new ArrayList<>(config.abortConditions);
     abortListener = config.abortListener;
     failedAttemptListener = config.failedAttemptListener;
     retriesExceededListener = config.retriesExceededListener;
     retryListener = config.retryListener;
     retryScheduledListener = config.retryScheduledListener;
+    failedAttemptAttemptListener = config.failedAttemptAttemptListener;
+    retryAttemptListener = config.retryAttemptListener;
+    retryScheduledDelayListener = config.retryScheduledDelayListener;
   }
 
   /**
@@ -164,6 +181,25 @@ public class RetryPolicyConfig<R> extends DelayablePolicyConfig<R> {
     return jitterFactor;
   }
 
+  /**
+   * Returns the jitter strategy, else {@code null} if none has been configured.
+   *
+   * @see RetryPolicyBuilder#withJitter(JitterStrategy)
+   */
+  public JitterStrategy getJitterStrategy() {
+    return jitterStrategy;
+  }
+
+  /**
+   * Returns the portion of synchronous retry delays that is spent spinning rather than parking, else {@code null} if
+   * none has been configured.
+   *
+   * @see RetryPolicyBuilder#withSpinThreshold(Duration)
+   */
+  public Duration getSpinThreshold() {
+    return spinThreshold;
+  }
+
   /**
    * Returns the max number of execution attempts to perform. A value of {@code -1} represents no limit. Defaults to
    * {@code 3}.
@@ -196,6 +232,26 @@ public class RetryPolicyConfig<R> extends DelayablePolicyConfig<R> {
     return maxDuration;
   }
 
+  /**
+   * Returns the ratio of retries to first attempts that are allowed across all executions of the policy, else {@code
+   * 0.0} if no retry budget has been configured.
+   *
+   * @see RetryPolicyBuilder#withRetryBudget(double, int)
+   */
+  public double getRetryBudgetRatio() {
+    return retryBudgetRatio;
+  }
+
+  /**
+   * Returns the min number of retries per second that are allowed by the retry budget regardless of the {@link
+   * #getRetryBudgetRatio() ratio}.
+   *
+   * @see RetryPolicyBuilder#withRetryBudget(double, int)
+   */
+  public int getRetryBudgetMinRetriesPerSecond() {
+    return retryBudgetMinRetriesPerSecond;
+  }
+
   /**
    * Returns the max number of retries to perform when an execution attempt fails. A value of {@code -1} represents no
    * limit. Defaults to {@code 2}.
@@ -251,4 +307,31 @@ public class RetryPolicyConfig<R> extends DelayablePolicyConfig<R> {
   public EventListener<ExecutionScheduledEvent<R>> getRetryScheduledListener() {
     return retryScheduledListener;
   }
+
+  /**
+   * Returns the failed attempt listener that is called without creating an event.
+   *
+   * @see RetryPolicyBuilder#onFailedAttempt(AttemptListener)
+   */
+  public AttemptListener<R> getFailedAttemptAttemptListener() {
+    return failedAttemptAttemptListener;
+  }
+
+  /**
+   * Returns the retry listener that is called without creating an event.
+   *
+   * @see RetryPolicyBuilder#onRetry(AttemptListener)
+   */
+  public AttemptListener<R> getRetryAttemptListener() {
+    return retryAttemptListener;
+  }
+
+  /**
+   * Returns the retry scheduled listener that is called without creating an event.
+   *
+   * @see RetryPolicyBuilder#onRetryScheduled(DelayListener)
+   */
+  public DelayListener<R> getRetryScheduledDelayListener() {
+    return retryScheduledDelayListener;
+  }
 }
@@ -15,6 +15,7 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.function.ContextualSupplier;
 import dev.failsafe.spi.ExecutionResult;
 import dev.failsafe.spi.PolicyExecutor;
 import dev.failsafe.spi.SyncExecutionInternal;
@@ -37,6 +38,8 @@ final class SyncExecutionImpl<R> extends ExecutionImpl<R> implements SyncExecuti
   private final FailsafeExecutor<R> executor;
   // The outer-most function that executions begin with
   private Function<SyncExecutionInternal<R>, ExecutionResult<R>> outerFn;
+  // The user supplier that the inner-most function applies
+  final ContextualSupplier<R, R> supplier;
   // Whether the execution is currently interruptable
   private volatile boolean interruptable;
   // Whether the execution has been internally interrupted
@@ -53,24 +56,35 @@ final class SyncExecutionImpl<R> extends ExecutionImpl<R> implements SyncExecuti
    * Create a standalone sync execution for the {@code policies}.
    */
   SyncExecutionImpl(List<? extends Policy<R>> policies) {
-    super(policies);
+    super(createPolicyExecutors(policies));
     executor = null;
+    supplier = null;
     initial = this;
     preExecute();
   }
 
   /**
-   * Create a sync execution for the {@code executor}.
+   * Create a sync execution for the {@code executor} that begins with the {@code outerFn}, which was composed from the
+   * {@code policyExecutors}, and applies the {@code supplier}.
    */
-  SyncExecutionImpl(FailsafeExecutor<R> executor, Scheduler scheduler,
-    Function<SyncExecutionInternal<R>, ExecutionResult<R>> innerFn) {
-    super(executor.policies);
+  SyncExecutionImpl(FailsafeExecutor<R> executor, List<PolicyExecutor<R>> policyExecutors,
+    Function<SyncExecutionInternal<R>, ExecutionResult<R>> outerFn, ContextualSupplier<R, R> supplier) {
+    super(policyExecutors);
     this.executor = executor;
+    this.outerFn = outerFn;
+    this.supplier = supplier;
     initial = this;
+  }
 
-    outerFn = innerFn;
+  /**
+   * Returns the outer-most function for the {@code policyExecutors}, composed around the {@code innerFn}.
+   */
+  static <R> Function<SyncExecutionInternal<R>, ExecutionResult<R>> compose(List<PolicyExecutor<R>> policyExecutors,
+    Scheduler scheduler, Function<SyncExecutionInternal<R>, ExecutionResult<R>> innerFn) {
+    Function<SyncExecutionInternal<R>, ExecutionResult<R>> outerFn = innerFn;
     for (PolicyExecutor<R> policyExecutor : policyExecutors)
       outerFn = policyExecutor.apply(outerFn, scheduler);
+    return outerFn;
   }
 
   /**
@@ -79,6 +93,7 @@ final class SyncExecutionImpl<R> extends ExecutionImpl<R> implements SyncExecuti
   private SyncExecutionImpl(SyncExecutionImpl<R> execution) {
     super(execution);
     executor = execution.executor;
+    supplier = execution.supplier;
     interruptable = execution.interruptable;
     interrupted = execution.interrupted;
     initial = execution.initial;
@@ -17,6 +17,8 @@ package dev.failsafe;
 
 import dev.failsafe.function.AsyncRunnable;
 import dev.failsafe.internal.TimeoutImpl;
+import dev.failsafe.internal.util.Assert;
+import dev.failsafe.spi.Scheduler;
 
 import java.time.Duration;
 
@@ -64,4 +66,17 @@ public class TimeoutBuilder<R> extends PolicyBuilder<TimeoutBuilder<R>, TimeoutC
     config.canInterrupt = true;
     return this;
   }
+
+  /**
+   * Configures the {@code scheduler} that timeouts are scheduled on. By default, timeouts are scheduled on {@link
+   * Scheduler#DEFAULT} regardless of any scheduler or executor configured on a {@link FailsafeExecutor}, so that a
+   * busy or shut down executor cannot prevent a timeout from firing. A dedicated scheduler, such as a {@link
+   * dev.failsafe.spi.TimingWheelScheduler}, can be used to isolate timeouts from other delayed work.
+   *
+   * @throws NullPointerException if {@code scheduler} is null
+   */
+  public TimeoutBuilder<R> withScheduler(Scheduler scheduler) {
+    config.scheduler = Assert.notNull(scheduler, "scheduler");
+    return this;
+  }
 }
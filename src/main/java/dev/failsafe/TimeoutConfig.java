@@ -15,6 +15,8 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.spi.Scheduler;
+
 import java.time.Duration;
 
 /**
@@ -30,6 +32,7 @@ import java.time.Duration;
 public class TimeoutConfig<R> extends PolicyConfig<R> {
   Duration timeout;
   boolean canInterrupt;
+  Scheduler scheduler;
 
   TimeoutConfig(Duration timeout, boolean canInterrupt) {
     this.timeout = timeout;
@@ -40,6 +43,7 @@ public class TimeoutConfig<R> extends PolicyConfig<R> {
     super(config);
     timeout = config.timeout;
     canInterrupt = config.canInterrupt;
+    scheduler = config.scheduler;
   }
 
   /**
@@ -57,4 +61,14 @@ public class TimeoutConfig<R> extends PolicyConfig<R> {
   public boolean canInterrupt() {
     return canInterrupt;
   }
+
+  /**
+   * Returns the scheduler that timeouts are scheduled on, else {@code null} if timeouts are scheduled on {@link
+   * Scheduler#DEFAULT}.
+   *
+   * @see TimeoutBuilder#withScheduler(Scheduler)
+   */
+  public Scheduler getScheduler() {
+    return scheduler;
+  }
 }
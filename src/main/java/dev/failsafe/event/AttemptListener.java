@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.event;
+
+/**
+ * Listens for execution attempts, receiving the outcome as arguments rather than as an {@link ExecutionAttemptedEvent}.
+ * Since no event is created for each call, this is suited to listeners that are called for every attempt, such as for
+ * recording metrics.
+ *
+ * @param <R> result type
+ * @author Jonathan Halterman
+ * @see ExecutionAttemptedEvent
+ */
+@FunctionalInterface
+public interface AttemptListener<R> {
+  /**
+   * Accepts an execution attempt.
+   *
+   * @param result the result of the attempt, if any
+   * @param failure the failure of the attempt, if any
+   * @param attemptCount the number of execution attempts, including attempts that were blocked before being executed
+   * @param elapsedAttemptNanos the elapsed time since the attempt began, in nanoseconds
+   */
+  void accept(R result, Throwable failure, int attemptCount, long elapsedAttemptNanos) throws Throwable;
+
+  /**
+   * Accepts an execution attempt and ignores any exceptions that result.
+   */
+  default void acceptUnchecked(R result, Throwable failure, int attemptCount, long elapsedAttemptNanos) {
+    try {
+      accept(result, failure, attemptCount, elapsedAttemptNanos);
+    } catch (Throwable ignore) {
+    }
+  }
+}
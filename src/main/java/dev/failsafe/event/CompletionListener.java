@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.event;
+
+/**
+ * Listens for completed executions, receiving the outcome as arguments rather than as an {@link
+ * ExecutionCompletedEvent}. Since no event is created for each call, this is suited to listeners that are called for
+ * every execution, such as for recording metrics.
+ *
+ * @param <R> result type
+ * @author Jonathan Halterman
+ * @see ExecutionCompletedEvent
+ */
+@FunctionalInterface
+public interface CompletionListener<R> {
+  /**
+   * Accepts a completed execution.
+   *
+   * @param result the result of the execution, if any
+   * @param failure the failure of the execution, if any
+   * @param attemptCount the number of execution attempts, including attempts that were blocked before being executed
+   * @param elapsedNanos the elapsed time since the execution began, in nanoseconds
+   */
+  void accept(R result, Throwable failure, int attemptCount, long elapsedNanos) throws Throwable;
+
+  /**
+   * Accepts a completed execution and ignores any exceptions that result.
+   */
+  default void acceptUnchecked(R result, Throwable failure, int attemptCount, long elapsedNanos) {
+    try {
+      accept(result, failure, attemptCount, elapsedNanos);
+    } catch (Throwable ignore) {
+    }
+  }
+}
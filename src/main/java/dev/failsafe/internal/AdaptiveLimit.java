@@ -0,0 +1,166 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.Bulkhead.LimitAlgorithm;
+import dev.failsafe.BulkheadConfig;
+
+/**
+ * Computes a concurrency limit from the latency and failures of executions. Implementations are not threadsafe, and
+ * must be externally synchronized.
+ *
+ * @author Jonathan Halterman
+ */
+abstract class AdaptiveLimit {
+  final int minLimit;
+  final int maxLimit;
+  double limit;
+
+  AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    limit = initialLimit;
+  }
+
+  /**
+   * Returns an AdaptiveLimit for the {@code config}, else {@code null} if the config does not have a limit algorithm.
+   */
+  static AdaptiveLimit of(BulkheadConfig<?> config) {
+    LimitAlgorithm algorithm = config.getLimitAlgorithm();
+    if (algorithm == null)
+      return null;
+
+    int initialLimit = config.getMaxConcurrency();
+    switch (algorithm) {
+      case AIMD:
+        return new AimdLimit(initialLimit, config.getMinLimit(), config.getMaxLimit());
+      case VEGAS:
+        return new VegasLimit(initialLimit, config.getMinLimit(), config.getMaxLimit());
+      default:
+        return new GradientLimit(initialLimit, config.getMinLimit(), config.getMaxLimit());
+    }
+  }
+
+  /**
+   * Updates and returns the limit for an execution that took {@code rttNanos} while {@code inFlight} executions were
+   * permitted, and which was {@code dropped} if it failed.
+   */
+  int update(long rttNanos, int inFlight, boolean dropped) {
+    double newLimit = computeLimit(rttNanos, inFlight, dropped);
+    limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    return getLimit();
+  }
+
+  /**
+   * Returns the current limit, rounded to a whole number of permits.
+   */
+  int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Returns a new, unbounded limit for the execution.
+   */
+  abstract double computeLimit(long rttNanos, int inFlight, boolean dropped);
+
+  /**
+   * Returns whether the {@code inFlight} executions are too few for the limit to be the constraint on throughput, in
+   * which case the limit should not be increased.
+   */
+  boolean isAppLimited(int inFlight) {
+    return inFlight * 2 < limit;
+  }
+
+  /**
+   * Increases the limit by one after a success, and decreases it by a factor after a failure.
+   */
+  static final class AimdLimit extends AdaptiveLimit {
+    static final double BACKOFF_RATIO = 0.9;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit) {
+      super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    double computeLimit(long rttNanos, int inFlight, boolean dropped) {
+      if (dropped)
+        return Math.floor(limit * BACKOFF_RATIO);
+      return isAppLimited(inFlight) ? limit : limit + 1;
+    }
+  }
+
+  /**
+   * Estimates the downstream queue as {@code limit * (1 - minRtt / rtt)} and keeps it between alpha and beta thresholds
+   * that grow logarithmically with the limit.
+   */
+  static final class VegasLimit extends AdaptiveLimit {
+    private long minRttNanos;
+
+    VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+      super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    double computeLimit(long rttNanos, int inFlight, boolean dropped) {
+      if (minRttNanos == 0 || rttNanos < minRttNanos) {
+        minRttNanos = Math.max(1, rttNanos);
+        return limit;
+      }
+
+      double log = Math.max(1, Math.log10(limit));
+      if (dropped)
+        return limit - log;
+      if (isAppLimited(inFlight))
+        return limit;
+
+      double queue = Math.ceil(limit * (1 - (double) minRttNanos / rttNanos));
+      if (queue <= log)
+        return limit + 6 * log;
+      else if (queue < 3 * log)
+        return limit + log;
+      else if (queue > 6 * log)
+        return limit - log;
+      return limit;
+    }
+  }
+
+  /**
+   * Scales the limit by the gradient between a long term average rtt and the current rtt, plus an allowance for
+   * queueing of {@code sqrt(limit)}, and smooths the result.
+   */
+  static final class GradientLimit extends AdaptiveLimit {
+    static final double TOLERANCE = 1.5;
+    static final double SMOOTHING = 0.2;
+    static final double LONG_WINDOW = 100;
+    private double longRttNanos;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+      super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    double computeLimit(long rttNanos, int inFlight, boolean dropped) {
+      rttNanos = Math.max(1, rttNanos);
+      longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+      if (!dropped && isAppLimited(inFlight))
+        return limit;
+
+      double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+      double newLimit = limit * gradient + Math.sqrt(limit);
+      return limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    }
+  }
+}
@@ -19,13 +19,24 @@ import dev.failsafe.Bulkhead;
 import dev.failsafe.BulkheadFullException;
 import dev.failsafe.ExecutionContext;
 import dev.failsafe.RateLimitExceededException;
+import dev.failsafe.TimeoutExceededException;
+import dev.failsafe.spi.ExecutionInternal;
+import dev.failsafe.spi.AsyncExecutionInternal;
 import dev.failsafe.spi.ExecutionResult;
+import dev.failsafe.spi.FailsafeFuture;
 import dev.failsafe.spi.PolicyExecutor;
+import dev.failsafe.spi.Scheduler;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
- * A PolicyExecutor that handles failures according to a {@link Bulkhead}.
+ * A PolicyExecutor that handles failures according to a {@link Bulkhead}. Async executions that must wait for a permit
+ * do so without blocking a thread, and are resumed via the Scheduler when a permit is released to them. For adaptive
+ * bulkheads, the attempt time and outcome of each execution are recorded before its permit is released.
  *
  * @param <R> result type
  * @author Jonathan Halterman
@@ -33,11 +44,18 @@ import java.time.Duration;
 public class BulkheadExecutor<R> extends PolicyExecutor<R> {
   private final BulkheadImpl<R> bulkhead;
   private final Duration maxWaitTime;
+  private final boolean adaptive;
 
   public BulkheadExecutor(BulkheadImpl<R> bulkhead, int policyIndex) {
     super(bulkhead, policyIndex);
     this.bulkhead = bulkhead;
     maxWaitTime = bulkhead.getConfig().getMaxWaitTime();
+    adaptive = bulkhead.isAdaptive();
+  }
+
+  @Override
+  public boolean isShareable() {
+    return true;
   }
 
   @Override
@@ -54,13 +72,88 @@ public class BulkheadExecutor<R> extends PolicyExecutor<R> {
   }
 
   @Override
-  public void onSuccess(ExecutionResult<R> result) {
+  public Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> applyAsync(
+    Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn, Scheduler scheduler,
+    FailsafeFuture<R> future) {
+
+    return execution -> {
+      if (execution.isRecorded())
+        return executeAsync(execution, innerFn, scheduler, future);
+
+      CompletableFuture<Boolean> permit = bulkhead.acquirePermitAsync(maxWaitTime, scheduler);
+      if (permit.isDone())
+        return handlePermit(permit, execution, innerFn, scheduler, future);
+
+      // Abandon the wait if the execution is cancelled
+      future.forAttempt(execution, this).setCancelFn(this, (mayInterrupt, cancelResult) -> permit.complete(false));
+
+      // Resume via the scheduler rather than on the thread that released the permit
+      CompletableFuture<ExecutionResult<R>> promise = new CompletableFuture<>();
+      permit.whenComplete((acquired, error) -> {
+        try {
+          scheduler.schedule(() -> handlePermit(permit, execution, innerFn, scheduler, future).whenComplete(
+            (result, resultError) -> {
+              if (resultError != null)
+                promise.completeExceptionally(resultError);
+              else
+                promise.complete(result);
+            }), 0, TimeUnit.NANOSECONDS);
+        } catch (Throwable t) {
+          // Hard scheduling failure
+          if (Boolean.TRUE.equals(acquired))
+            bulkhead.releasePermit();
+          promise.completeExceptionally(t);
+        }
+      });
+      return promise;
+    };
+  }
+
+  /**
+   * Performs the execution if the {@code permit} was acquired, else returns a {@link BulkheadFullException} result.
+   */
+  private CompletableFuture<ExecutionResult<R>> handlePermit(CompletableFuture<Boolean> permit,
+    AsyncExecutionInternal<R> execution,
+    Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn, Scheduler scheduler,
+    FailsafeFuture<R> future) {
+
+    ExecutionResult<R> result;
+    try {
+      result = permit.join() ? null : ExecutionResult.failure(new BulkheadFullException(bulkhead));
+    } catch (Throwable t) {
+      result = ExecutionResult.failure(t.getCause() != null ? t.getCause() : t);
+    }
+
+    if (result != null) {
+      // Still need to preExecute when returning an alternative result before making it to the terminal Supplier
+      execution.preExecute();
+      recordRejection(execution, result);
+      return CompletableFuture.completedFuture(result);
+    }
+    return executeAsync(execution, innerFn, scheduler, future);
+  }
+
+  @Override
+  protected void onSuccess(ExecutionContext<R> context, ExecutionResult<R> result) {
+    if (adaptive)
+      bulkhead.recordResult(((ExecutionInternal<R>) context).getElapsedAttemptNanos(), false);
     bulkhead.releasePermit();
   }
 
   @Override
   protected ExecutionResult<R> onFailure(ExecutionContext<R> context, ExecutionResult<R> result) {
+    if (adaptive)
+      bulkhead.recordResult(((ExecutionInternal<R>) context).getElapsedAttemptNanos(), isDropped(result.getFailure()));
     bulkhead.releasePermit();
     return result;
   }
+
+  /**
+   * Returns whether the {@code failure} indicates that the execution was dropped due to overload, rather than failing
+   * on its own.
+   */
+  private static boolean isDropped(Throwable failure) {
+    return failure instanceof TimeoutExceededException || failure instanceof TimeoutException
+      || failure instanceof BulkheadFullException || failure instanceof RateLimitExceededException;
+  }
 }
@@ -19,24 +19,58 @@ import dev.failsafe.Bulkhead;
 import dev.failsafe.BulkheadConfig;
 import dev.failsafe.internal.util.Durations;
 import dev.failsafe.spi.PolicyExecutor;
+import dev.failsafe.spi.Scheduler;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
- * A Bulkhead implementation.
+ * A Bulkhead implementation. Sync callers wait for permits on a {@link Semaphore}, while async callers wait in a queue
+ * without blocking a thread, and are handed permits as they're released. When an adaptive limit is configured, permits
+ * are added to or removed from the semaphore as the limit changes, and updates to the limit are serialized.
  *
  * @param <R> result type
  * @author Jonathan Halterman
  */
 public class BulkheadImpl<R> implements Bulkhead<R> {
   private final BulkheadConfig<R> config;
-  private final Semaphore semaphore;
+  private final AdjustableSemaphore semaphore;
+  private final AdaptiveLimit adaptiveLimit;
+  private volatile int limit;
+  // Async callers waiting for a permit
+  private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
 
   public BulkheadImpl(BulkheadConfig<R> config) {
     this.config = config;
-    semaphore = new Semaphore(config.getMaxConcurrency(), config.isFair());
+    limit = config.getMaxConcurrency();
+    semaphore = new AdjustableSemaphore(limit, config.isFair());
+    adaptiveLimit = AdaptiveLimit.of(config);
+  }
+
+  /**
+   * A Semaphore whose permits can be reduced when an adaptive limit decreases.
+   */
+  static final class AdjustableSemaphore extends Semaphore {
+    AdjustableSemaphore(int permits, boolean fair) {
+      super(permits, fair);
+    }
+
+    @Override
+    protected void reducePermits(int reduction) {
+      super.reducePermits(reduction);
+    }
+  }
+
+  /**
+   * A pending async permit request, which is completed with {@code true} when a permit is handed to it, else {@code
+   * false} if the max wait time is exceeded or the request is cancelled.
+   */
+  static final class Waiter extends CompletableFuture<Boolean> {
+    volatile Future<?> timeoutFuture;
   }
 
   @Override
@@ -44,6 +78,43 @@ public class BulkheadImpl<R> implements Bulkhead<R> {
     return config;
   }
 
+  @Override
+  public int getConcurrencyLimit() {
+    return limit;
+  }
+
+  /**
+   * Returns whether the bulkhead's concurrency limit is adaptive.
+   */
+  boolean isAdaptive() {
+    return adaptiveLimit != null;
+  }
+
+  /**
+   * Records the {@code rttNanos} of an execution that holds a permit, and which was {@code dropped} if it failed, then
+   * adjusts the concurrency limit if needed. Should be called before the execution's permit is released.
+   */
+  void recordResult(long rttNanos, boolean dropped) {
+    if (adaptiveLimit == null)
+      return;
+
+    int delta;
+    synchronized (adaptiveLimit) {
+      int inFlight = limit - semaphore.availablePermits();
+      int newLimit = adaptiveLimit.update(rttNanos, inFlight, dropped);
+      delta = newLimit - limit;
+      limit = newLimit;
+      if (delta < 0)
+        semaphore.reducePermits(-delta);
+    }
+
+    if (delta > 0) {
+      semaphore.release(delta);
+      if (!waiters.isEmpty())
+        handOffPermits();
+    }
+  }
+
   @Override
   public void acquirePermit() throws InterruptedException {
     semaphore.acquire();
@@ -59,9 +130,65 @@ public class BulkheadImpl<R> implements Bulkhead<R> {
     return semaphore.tryAcquire(Durations.ofSafeNanos(maxWaitTime).toNanos(), TimeUnit.NANOSECONDS);
   }
 
+  /**
+   * Attempts to acquire a permit without blocking, returning a future that is completed with {@code true} when a permit
+   * is acquired, else {@code false} if the {@code maxWaitTime} is exceeded. The wait is enforced by a timer on the
+   * {@code scheduler}. Pending futures can be completed with {@code false} to abandon the request.
+   * <p>
+   * A permit is only acquired immediately when no other async callers are waiting, else the request is queued behind
+   * them, or rejected if it cannot wait, so that it cannot barge ahead of waiters that are about to be handed a permit.
+   * </p>
+   */
+  CompletableFuture<Boolean> acquirePermitAsync(Duration maxWaitTime, Scheduler scheduler) {
+    boolean queued = !waiters.isEmpty();
+    if (!queued && semaphore.tryAcquire())
+      return CompletableFuture.completedFuture(true);
+    if (maxWaitTime.isZero() || maxWaitTime.isNegative())
+      return CompletableFuture.completedFuture(false);
+
+    Waiter waiter = new Waiter();
+    waiter.whenComplete((acquired, error) -> {
+      Future<?> timeoutFuture = waiter.timeoutFuture;
+      if (timeoutFuture != null)
+        timeoutFuture.cancel(false);
+      if (!Boolean.TRUE.equals(acquired))
+        waiters.remove(waiter);
+    });
+    waiters.add(waiter);
+
+    // Guard against a permit that was released before the waiter was queued
+    handOffPermits();
+    if (!waiter.isDone()) {
+      try {
+        waiter.timeoutFuture = scheduler.schedule(() -> waiter.complete(false),
+          Durations.ofSafeNanos(maxWaitTime).toNanos(), TimeUnit.NANOSECONDS);
+        if (waiter.isDone())
+          waiter.timeoutFuture.cancel(false);
+      } catch (Throwable t) {
+        // Hard scheduling failure
+        waiter.completeExceptionally(t);
+      }
+    }
+    return waiter;
+  }
+
   @Override
   public void releasePermit() {
     semaphore.release();
+    if (!waiters.isEmpty())
+      handOffPermits();
+  }
+
+  /**
+   * Hands available permits to queued waiters, in order. Permits that can't be handed off, because a waiter already
+   * timed out, are returned to the semaphore.
+   */
+  private void handOffPermits() {
+    while (!waiters.isEmpty() && semaphore.tryAcquire()) {
+      Waiter waiter = waiters.poll();
+      if (waiter == null || !waiter.complete(true))
+        semaphore.release();
+    }
   }
 
   @Override
@@ -17,13 +17,26 @@ package dev.failsafe.internal;
 
 import dev.failsafe.RateLimiterConfig;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A rate limiter implementation that allows bursts of executions, up to the max permits per period. This implementation
  * tracks the current period and available permits, which can go into a deficit. A deficit of available permits will
  * cause wait times for callers that can be several periods long, depending on the size of the deficit and the number of
  * requested permits.
+ * <p>
+ * The only mutable state is a single atomic word: the position after the last acquired permit, counting from the first
+ * permit of period 0. The current period is derived from the stopwatch rather than stored. Permits from periods that
+ * have elapsed without being used are skipped by moving the position up to the start of the current period, and the
+ * available permits for a period are whatever lies between the position and the end of that period. This allows
+ * permits to be acquired with a single compare-and-set loop rather than a lock, and the available permits to be read
+ * from one read of the position. The position only overflows after {@code Long.MAX_VALUE} permits have been made
+ * available.
+ * </p>
  */
 class BurstyRateLimiterStats extends RateLimiterStats {
   /* The permits per period */
@@ -31,65 +44,75 @@ class BurstyRateLimiterStats extends RateLimiterStats {
   /* The nanos per period */
   private final long periodNanos;
 
-  /* Available permits. Can be negative during a deficit. */
-  private long availablePermits;
-  private long currentPeriod;
+  /* The position after the last acquired permit, which can be past the current period during a deficit. */
+  private final AtomicLong permitPosition = new AtomicLong();
 
   BurstyRateLimiterStats(RateLimiterConfig<?> config, Stopwatch stopwatch) {
     super(stopwatch);
     periodPermits = config.getMaxPermits();
     periodNanos = config.getPeriod().toNanos();
-    availablePermits = periodPermits;
   }
 
   @Override
-  public synchronized long acquirePermits(long requestedPermits, Duration maxWaitTime) {
-    long currentNanos = stopwatch.elapsedNanos();
-    long newCurrentPeriod = currentNanos / periodNanos;
-
-    // Update current period and available permits
-    if (currentPeriod < newCurrentPeriod) {
-      long elapsedPeriods = newCurrentPeriod - currentPeriod;
-      long elapsedPermits = elapsedPeriods * periodPermits;
-      currentPeriod = newCurrentPeriod;
-      availablePermits = availablePermits < 0 ? availablePermits + elapsedPermits : periodPermits;
-    }
+  public long acquirePermits(long requestedPermits, Duration maxWaitTime) {
+    while (true) {
+      long currentNanos = stopwatch.elapsedNanos();
+      long newCurrentPeriod = currentNanos / periodNanos;
+      long position = permitPosition.get();
 
-    long waitNanos = 0;
-    if (requestedPermits > availablePermits) {
-      long nextPeriodNanos = (currentPeriod + 1) * periodNanos;
-      long nanosToNextPeriod = nextPeriodNanos - currentNanos;
-      long permitDeficit = requestedPermits - availablePermits;
-      long additionalPeriods = permitDeficit / periodPermits;
-      long additionalUnits = permitDeficit % periodPermits;
-
-      // Do not wait for an additional period if we're not using any permits from it
-      if (additionalUnits == 0)
-        additionalPeriods -= 1;
-
-      // The nanos to wait until the beginning of the next period that will have free permits
-      waitNanos = nanosToNextPeriod + (additionalPeriods * periodNanos);
+      // Skip any permits from elapsed periods that were not used
+      long newPosition = Math.max(position, newCurrentPeriod * periodPermits) + requestedPermits;
 
+      // The nanos to wait until the beginning of the period that the last requested permit falls into
+      long waitNanos = Math.max(((newPosition - 1) / periodPermits) * periodNanos - currentNanos, 0);
       if (exceedsMaxWaitTime(waitNanos, maxWaitTime))
         return -1;
+
+      if (permitPosition.compareAndSet(position, newPosition))
+        return waitNanos;
     }
+  }
+
+  /**
+   * Returns the available permits for the current period, which can be negative during a deficit.
+   */
+  long getAvailablePermits() {
+    long period = getCurrentPeriod();
+    return (period + 1) * periodPermits - Math.max(permitPosition.get(), period * periodPermits);
+  }
 
-    availablePermits -= requestedPermits;
-    return waitNanos;
+  long getCurrentPeriod() {
+    return stopwatch.elapsedNanos() / periodNanos;
   }
 
-  synchronized long getAvailablePermits() {
-    return availablePermits;
+  /**
+   * Writes the permits acquired from the current period onward, which exceed the period's permits during a deficit,
+   * along with the nanos elapsed in the current period.
+   */
+  @Override
+  void writeSnapshot(DataOutput out) throws IOException {
+    long currentNanos = stopwatch.elapsedNanos();
+    long period = currentNanos / periodNanos;
+    out.writeLong(Math.max(permitPosition.get() - period * periodPermits, 0));
+    out.writeLong(currentNanos - period * periodNanos);
   }
 
-  synchronized long getCurrentPeriod() {
-    return currentPeriod;
+  /**
+   * Restores the acquired permits into the first period, with the stopwatch moved back to where the period was when
+   * the snapshot was written plus the {@code elapsedNanos}, so that any periods that elapsed since then release their
+   * permits.
+   */
+  @Override
+  void restoreSnapshot(DataInput in, long elapsedNanos) throws IOException {
+    long acquiredPermits = in.readLong();
+    long currentNanos = in.readLong() + elapsedNanos;
+    stopwatch.reset(currentNanos);
+    permitPosition.set(acquiredPermits);
   }
 
   @Override
-  synchronized void reset() {
+  void reset() {
     stopwatch.reset();
-    availablePermits = periodPermits;
-    currentPeriod = 0;
+    permitPosition.set(0);
   }
-}
\ No newline at end of file
+}
@@ -35,6 +35,11 @@ public class CircuitBreakerExecutor<R> extends PolicyExecutor<R> {
     this.circuitBreaker = circuitBreaker;
   }
 
+  @Override
+  public boolean isShareable() {
+    return true;
+  }
+
   @Override
   protected ExecutionResult<R> preExecute() {
     return circuitBreaker.tryAcquirePermit() ?
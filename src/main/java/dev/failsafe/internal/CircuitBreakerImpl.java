@@ -18,11 +18,16 @@ package dev.failsafe.internal;
 import dev.failsafe.*;
 import dev.failsafe.event.CircuitBreakerStateChangedEvent;
 import dev.failsafe.event.EventListener;
+import dev.failsafe.internal.util.Assert;
 import dev.failsafe.spi.DelayablePolicy;
 import dev.failsafe.spi.FailurePolicy;
 import dev.failsafe.spi.PolicyExecutor;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -39,9 +44,17 @@ public class CircuitBreakerImpl<R> implements CircuitBreaker<R>, FailurePolicy<R
   /** Writes guarded by "this" */
   protected final AtomicReference<CircuitState<R>> state = new AtomicReference<>();
 
+  /** Shared state, else null if the state is not shared */
+  private final SharedCircuitState sharedState;
+  /** The generation of the shared state that the local state reflects. Guarded by "this" */
+  private volatile long sharedGeneration;
+
   public CircuitBreakerImpl(CircuitBreakerConfig<R> config) {
     this.config = config;
+    sharedState = config.getSharedStatePath() == null ? null : SharedCircuitState.of(config);
     state.set(new ClosedState<>(this));
+    if (sharedState != null)
+      syncSharedState();
   }
 
   @Override
@@ -51,7 +64,7 @@ public class CircuitBreakerImpl<R> implements CircuitBreaker<R>, FailurePolicy<R
 
   @Override
   public boolean tryAcquirePermit() {
-    return state.get().tryAcquirePermit();
+    return currentState().tryAcquirePermit();
   }
 
   @Override
@@ -61,37 +74,37 @@ public class CircuitBreakerImpl<R> implements CircuitBreaker<R>, FailurePolicy<R
 
   @Override
   public State getState() {
-    return state.get().getState();
+    return currentState().getState();
   }
 
   @Override
   public int getExecutionCount() {
-    return state.get().getStats().getExecutionCount();
+    return currentState().getStats().getExecutionCount();
   }
 
   @Override
   public Duration getRemainingDelay() {
-    return state.get().getRemainingDelay();
+    return currentState().getRemainingDelay();
   }
 
   @Override
   public long getFailureCount() {
-    return state.get().getStats().getFailureCount();
+    return currentState().getStats().getFailureCount();
   }
 
   @Override
   public int getFailureRate() {
-    return state.get().getStats().getFailureRate();
+    return currentState().getStats().getFailureRate();
   }
 
   @Override
   public int getSuccessCount() {
-    return state.get().getStats().getSuccessCount();
+    return currentState().getStats().getSuccessCount();
   }
 
   @Override
   public int getSuccessRate() {
-    return state.get().getStats().getSuccessRate();
+    return currentState().getStats().getSuccessRate();
   }
 
   @Override
@@ -136,7 +149,7 @@ public class CircuitBreakerImpl<R> implements CircuitBreaker<R>, FailurePolicy<R
 
   @Override
   public void recordSuccess() {
-    state.get().recordSuccess();
+    currentState().recordSuccess();
   }
 
   @Override
@@ -146,9 +159,18 @@ public class CircuitBreakerImpl<R> implements CircuitBreaker<R>, FailurePolicy<R
 
   protected void recordResult(R result, Throwable failure) {
     if (isFailure(result, failure))
-      state.get().recordFailure(null);
+      currentState().recordFailure(null);
     else
-      state.get().recordSuccess();
+      currentState().recordSuccess();
+  }
+
+  /**
+   * Returns the current state, first syncing it with the shared state if the shared state was changed elsewhere.
+   */
+  private CircuitState<R> currentState() {
+    if (sharedState != null && sharedState.getGeneration() != sharedGeneration)
+      syncSharedState();
+    return state.get();
   }
 
   /**
@@ -157,30 +179,104 @@ public class CircuitBreakerImpl<R> implements CircuitBreaker<R>, FailurePolicy<R
   protected void transitionTo(State newState, EventListener<CircuitBreakerStateChangedEvent> listener,
     ExecutionContext<R> context) {
     boolean transitioned = false;
+    State syncedFromState = null;
+    State syncedState = null;
     State currentState;
 
     synchronized (this) {
-      currentState = getState();
-      if (!getState().equals(newState)) {
-        switch (newState) {
-          case CLOSED:
-            state.set(new ClosedState<>(this));
-            break;
-          case OPEN:
+      if (sharedState != null)
+        sharedState.lock();
+      try {
+        if (sharedState != null) {
+          syncedFromState = state.get().getState();
+          syncedState = adoptSharedState() ? state.get().getState() : null;
+        }
+        currentState = state.get().getState();
+        if (!currentState.equals(newState)) {
+          Duration delay = null;
+          if (newState == State.OPEN) {
             Duration computedDelay = computeDelay(context);
-            state.set(new OpenState<>(this, state.get(), computedDelay != null ? computedDelay : config.getDelay()));
-            break;
-          case HALF_OPEN:
-            state.set(new HalfOpenState<>(this));
-            break;
+            delay = computedDelay != null ? computedDelay : config.getDelay();
+          }
+          if (sharedState != null)
+            sharedGeneration = sharedState.transitionTo(newState, delay);
+          setState(newState, delay);
+          transitioned = true;
         }
-        transitioned = true;
+      } finally {
+        if (sharedState != null)
+          sharedState.unlock();
+      }
+    }
+
+    // Listeners are called after the shared state is unlocked so they can't stall other processes
+    if (syncedState != null && !syncedState.equals(syncedFromState))
+      callListener(listenerFor(syncedState), syncedFromState);
+    if (transitioned)
+      callListener(listener, currentState);
+  }
+
+  /**
+   * Syncs the local state with the shared state, calling any associated event listener if the state changed.
+   */
+  private void syncSharedState() {
+    State currentState;
+    State newState;
+
+    synchronized (this) {
+      sharedState.lock();
+      try {
+        currentState = state.get().getState();
+        if (!adoptSharedState())
+          return;
+        newState = state.get().getState();
+      } finally {
+        sharedState.unlock();
       }
     }
 
-    if (transitioned && listener != null) {
+    if (!newState.equals(currentState))
+      callListener(listenerFor(newState), currentState);
+  }
+
+  /**
+   * Adopts the shared state as the local state if the shared state was changed elsewhere, returning whether it was
+   * adopted. Must be called while holding this and the shared state's lock.
+   */
+  private boolean adoptSharedState() {
+    long generation = sharedState.getGeneration();
+    if (generation == sharedGeneration)
+      return false;
+    sharedGeneration = generation;
+    State newState = sharedState.getState();
+    setState(newState, newState == State.OPEN ? sharedState.getRemainingDelay() : null);
+    return true;
+  }
+
+  private EventListener<CircuitBreakerStateChangedEvent> listenerFor(State state) {
+    return state == State.CLOSED ?
+      config.getCloseListener() :
+      state == State.OPEN ? config.getOpenListener() : config.getHalfOpenListener();
+  }
+
+  private void setState(State newState, Duration delay) {
+    switch (newState) {
+      case CLOSED:
+        state.set(new ClosedState<>(this));
+        break;
+      case OPEN:
+        state.set(new OpenState<>(this, state.get(), delay));
+        break;
+      case HALF_OPEN:
+        state.set(new HalfOpenState<>(this));
+        break;
+    }
+  }
+
+  private void callListener(EventListener<CircuitBreakerStateChangedEvent> listener, State previousState) {
+    if (listener != null) {
       try {
-        listener.accept(new CircuitBreakerStateChangedEvent(currentState));
+        listener.accept(new CircuitBreakerStateChangedEvent(previousState));
       } catch (Throwable ignore) {
       }
     }
@@ -190,7 +286,7 @@ public class CircuitBreakerImpl<R> implements CircuitBreaker<R>, FailurePolicy<R
    * Records an execution failure.
    */
   protected void recordExecutionFailure(ExecutionContext<R> context) {
-    state.get().recordFailure(context);
+    currentState().recordFailure(context);
   }
 
   /**
@@ -201,6 +297,41 @@ public class CircuitBreakerImpl<R> implements CircuitBreaker<R>, FailurePolicy<R
     transitionTo(State.OPEN, config.getOpenListener(), context);
   }
 
+  /**
+   * Writes a snapshot of the circuit's state, remaining delay, and stats to the {@code out}.
+   */
+  public void writeSnapshot(DataOutput out) throws IOException {
+    CircuitState<R> currentState = currentState();
+    out.writeByte(currentState.getState().ordinal());
+    out.writeLong(currentState.getRemainingDelay().toNanos());
+    currentState.getStats().writeSnapshot(out);
+  }
+
+  /**
+   * Restores a snapshot that was written by {@link #writeSnapshot(DataOutput)}, reducing the remaining delay and aging
+   * the stats by the {@code elapsedNanos} since the snapshot was written. State listeners are not called. Circuits with
+   * shared state are not restored, since their state already outlives the process.
+   *
+   * @throws IllegalArgumentException if the snapshot contains an invalid state
+   */
+  public void restoreSnapshot(DataInput in, long elapsedNanos) throws IOException {
+    int ordinal = in.readByte();
+    Assert.isTrue(ordinal >= 0 && ordinal < State.values().length, "Invalid circuit breaker state %s", ordinal);
+    State newState = State.values()[ordinal];
+    Duration delay = Duration.ofNanos(Math.max(in.readLong() - elapsedNanos, 0));
+
+    synchronized (this) {
+      if (sharedState != null)
+        return;
+
+      // Start from a closed state with empty stats, which an open state retains
+      setState(State.CLOSED, null);
+      if (newState != State.CLOSED)
+        setState(newState, delay);
+      state.get().getStats().restoreSnapshot(in, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+  }
+
   @Override
   public PolicyExecutor<R> toExecutor(int policyIndex) {
     return new CircuitBreakerExecutor<>(this, policyIndex);
@@ -49,13 +49,13 @@ abstract class CircuitState<R> {
 
   public abstract State getState();
 
-  public synchronized void recordFailure(ExecutionContext<R> context) {
+  public void recordFailure(ExecutionContext<R> context) {
     stats.recordFailure();
     checkThreshold(context);
     releasePermit();
   }
 
-  public synchronized void recordSuccess() {
+  public void recordSuccess() {
     stats.recordSuccess();
     checkThreshold(null);
     releasePermit();
@@ -16,17 +16,29 @@
 package dev.failsafe.internal;
 
 import dev.failsafe.CircuitBreaker;
-import dev.failsafe.internal.TimedCircuitStats.Clock;
+import dev.failsafe.CircuitBreakerConfig;
+import dev.failsafe.internal.StripedTimedCircuitStats.Clock;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Stats for a circuit breaker.
  */
 interface CircuitStats {
+  /** Snapshot format for results that are ordered from oldest to newest */
+  int RESULTS_SNAPSHOT = 0;
+  /** Snapshot format for buckets of results that are timestamped by their age */
+  int BUCKETS_SNAPSHOT = 1;
+
   static CircuitStats create(CircuitBreaker<?> breaker, int capacity, boolean supportsTimeBased,
     CircuitStats oldStats) {
     if (supportsTimeBased && breaker.getConfig().getFailureThresholdingPeriod() != null)
-      return new TimedCircuitStats(TimedCircuitStats.DEFAULT_BUCKET_COUNT,
+      return new StripedTimedCircuitStats(StripedTimedCircuitStats.DEFAULT_BUCKET_COUNT,
         breaker.getConfig().getFailureThresholdingPeriod(), new Clock(), oldStats);
+    else if (breaker.getConfig().getSharedStatePath() != null)
+      return new SharedCircuitStats(SharedCircuitState.of(breaker.getConfig()), capacity);
     else if (capacity > 1) {
       return new CountingCircuitStats(capacity, oldStats);
     } else {
@@ -41,6 +53,93 @@ interface CircuitStats {
       recordFailure();
   }
 
+  /**
+   * Writes a snapshot of the stats to the {@code out}. By default, successes are written before failures, since only
+   * their counts are known.
+   */
+  default void writeSnapshot(DataOutput out) throws IOException {
+    int successes = getSuccessCount();
+    boolean[] results = new boolean[successes + getFailureCount()];
+    for (int i = 0; i < successes; i++)
+      results[i] = true;
+    writeResults(out, results);
+  }
+
+  /**
+   * Restores a snapshot that was written by {@link #writeSnapshot(DataOutput)} into these stats, which are expected to
+   * be empty, aging any timestamped results by the {@code elapsedMillis} since the snapshot was written.
+   */
+  default void restoreSnapshot(DataInput in, long elapsedMillis) throws IOException {
+    if (in.readByte() == RESULTS_SNAPSHOT)
+      restoreResults(in);
+    else
+      restoreBuckets(in, elapsedMillis);
+  }
+
+  /**
+   * Restores results, ordered from oldest to newest, by recording them.
+   */
+  default void restoreResults(DataInput in) throws IOException {
+    int count = in.readInt();
+    int bits = 0;
+    for (int i = 0; i < count; i++) {
+      if (i % Byte.SIZE == 0)
+        bits = in.readUnsignedByte();
+      if ((bits & (1 << (i % Byte.SIZE))) != 0)
+        recordSuccess();
+      else
+        recordFailure();
+    }
+  }
+
+  /**
+   * Restores buckets of results. By default, results are recorded regardless of their age, since these stats are not
+   * timed.
+   */
+  default void restoreBuckets(DataInput in, long elapsedMillis) throws IOException {
+    for (int i = in.readInt(); i > 0; i--) {
+      in.readLong();
+      for (int successes = in.readInt(); successes > 0; successes--)
+        recordSuccess();
+      for (int failures = in.readInt(); failures > 0; failures--)
+        recordFailure();
+    }
+  }
+
+  /**
+   * Writes the {@code results}, ordered from oldest to newest, packing 8 results into each byte.
+   */
+  static void writeResults(DataOutput out, boolean[] results) throws IOException {
+    out.writeByte(RESULTS_SNAPSHOT);
+    out.writeInt(results.length);
+    int bits = 0;
+    for (int i = 0; i < results.length; i++) {
+      if (results[i])
+        bits |= 1 << (i % Byte.SIZE);
+      if (i % Byte.SIZE == Byte.SIZE - 1 || i == results.length - 1) {
+        out.writeByte(bits);
+        bits = 0;
+      }
+    }
+  }
+
+  /**
+   * Returns whether the stats have reached the {@code config}'s failure execution threshold, along with its failure rate
+   * threshold if one is configured, else its failure threshold. By default the stats are read through their getters,
+   * which implementations can override to read the stats once.
+   */
+  default boolean isFailureThresholdExceeded(CircuitBreakerConfig<?> config) {
+    // Execution threshold can only be set for time based thresholding
+    if (getExecutionCount() < config.getFailureExecutionThreshold())
+      return false;
+
+    // Failure rate threshold can only be set for time based thresholding
+    double failureRateThreshold = config.getFailureRateThreshold();
+    return failureRateThreshold != 0 ?
+      getFailureRate() >= failureRateThreshold :
+      getFailureCount() >= config.getFailureThreshold();
+  }
+
   int getFailureCount();
 
   int getExecutionCount();
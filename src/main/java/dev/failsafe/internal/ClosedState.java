@@ -43,15 +43,9 @@ class ClosedState<R> extends CircuitState<R> {
    * Checks to see if the executions and failure thresholds have been exceeded, opening the circuit if so.
    */
   @Override
-  synchronized void checkThreshold(ExecutionContext<R> context) {
-    // Execution threshold can only be set for time based thresholding
-    if (stats.getExecutionCount() >= config.getFailureExecutionThreshold()) {
-      // Failure rate threshold can only be set for time based thresholding
-      double failureRateThreshold = config.getFailureRateThreshold();
-      if ((failureRateThreshold != 0 && stats.getFailureRate() >= failureRateThreshold) || (failureRateThreshold == 0
-        && stats.getFailureCount() >= config.getFailureThreshold()))
-        breaker.open(context);
-    }
+  void checkThreshold(ExecutionContext<R> context) {
+    if (stats.isFailureThresholdExceeded(config))
+      breaker.open(context);
   }
 
   /**
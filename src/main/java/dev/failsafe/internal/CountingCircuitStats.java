@@ -15,13 +15,31 @@
  */
 package dev.failsafe.internal;
 
-import java.util.BitSet;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
- * A CircuitStats implementation that counts execution results using a BitSet.
+ * A lock-free CircuitStats implementation that counts execution results in a ring of 2-bit entries packed into an
+ * AtomicLongArray. Each entry records whether it is occupied and whether it was a success. Entries are claimed by
+ * CAS-advancing the {@code currentIndex}, written by CAS-updating the containing word, and the counts are adjusted by
+ * the difference between the old and new entry, so they always agree with the entries even under contention.
  */
 class CountingCircuitStats implements CircuitStats {
-  final BitSet bitSet;
+  private static final int ENTRIES_PER_WORD = Long.SIZE / 2;
+  private static final long OCCUPIED = 0b10;
+  private static final long SUCCESS = 0b01;
+  private static final AtomicIntegerFieldUpdater<CountingCircuitStats> CURRENT_INDEX = AtomicIntegerFieldUpdater.newUpdater(
+    CountingCircuitStats.class, "currentIndex");
+  private static final AtomicIntegerFieldUpdater<CountingCircuitStats> OCCUPIED_BITS = AtomicIntegerFieldUpdater.newUpdater(
+    CountingCircuitStats.class, "occupiedBits");
+  private static final AtomicIntegerFieldUpdater<CountingCircuitStats> SUCCESSES = AtomicIntegerFieldUpdater.newUpdater(
+    CountingCircuitStats.class, "successes");
+  private static final AtomicIntegerFieldUpdater<CountingCircuitStats> FAILURES = AtomicIntegerFieldUpdater.newUpdater(
+    CountingCircuitStats.class, "failures");
+
+  private final AtomicLongArray words;
   private final int size;
 
   /** Index to write next entry to */
@@ -31,33 +49,48 @@ class CountingCircuitStats implements CircuitStats {
   private volatile int failures;
 
   public CountingCircuitStats(int size, CircuitStats oldStats) {
-    this.bitSet = new BitSet(size);
+    this.words = new AtomicLongArray((size + ENTRIES_PER_WORD - 1) / ENTRIES_PER_WORD);
     this.size = size;
 
-    if (oldStats != null) {
-      synchronized (oldStats) {
-        copyStats(oldStats);
-      }
-    }
+    if (oldStats != null)
+      copyStats(oldStats);
   }
 
   /**
-   * Copies the most recent stats from the {@code oldStats} into this in order from oldest to newest.
+   * Copies the most recent stats from the {@code oldStats} into this in order from oldest to newest. The {@code
+   * oldStats} are not locked, so the copy is a best effort snapshot: results that are recorded into the {@code oldStats}
+   * concurrently may or may not be copied.
    */
   void copyStats(CircuitStats oldStats) {
     if (oldStats instanceof CountingCircuitStats) {
       CountingCircuitStats old = (CountingCircuitStats) oldStats;
-      int bitsToCopy = Math.min(old.occupiedBits, size);
+      int occupied = old.occupiedBits;
+      int bitsToCopy = Math.min(occupied, size);
       int oldIndex = old.currentIndex - bitsToCopy;
       if (oldIndex < 0)
-        oldIndex += old.occupiedBits;
+        oldIndex += occupied;
       for (int i = 0; i < bitsToCopy; i++, oldIndex = old.indexAfter(oldIndex))
-        setNext(old.bitSet.get(oldIndex));
+        setNext(old.get(oldIndex));
     } else {
       copyExecutions(oldStats);
     }
   }
 
+  /**
+   * Writes the occupied entries in order from oldest to newest.
+   */
+  @Override
+  public void writeSnapshot(DataOutput out) throws IOException {
+    int occupied = occupiedBits;
+    boolean[] results = new boolean[occupied];
+    int index = currentIndex - occupied;
+    if (index < 0)
+      index += occupied;
+    for (int i = 0; i < occupied; i++, index = indexAfter(index))
+      results[i] = get(index);
+    CircuitStats.writeResults(out, results);
+  }
+
   @Override
   public void recordSuccess() {
     setNext(true);
@@ -79,8 +112,9 @@ class CountingCircuitStats implements CircuitStats {
   }
 
   @Override
-  public synchronized int getFailureRate() {
-    return (int) Math.round(occupiedBits == 0 ? 0 : (double) failures / (double) occupiedBits * 100.0);
+  public int getFailureRate() {
+    int executions = occupiedBits;
+    return (int) Math.round(executions == 0 ? 0 : (double) failures / (double) executions * 100.0);
   }
 
   @Override
@@ -89,52 +123,63 @@ class CountingCircuitStats implements CircuitStats {
   }
 
   @Override
-  public synchronized int getSuccessRate() {
-    return (int) Math.round(occupiedBits == 0 ? 0 : (double) successes / (double) occupiedBits * 100.0);
+  public int getSuccessRate() {
+    int executions = occupiedBits;
+    return (int) Math.round(executions == 0 ? 0 : (double) successes / (double) executions * 100.0);
   }
 
+  /**
+   * Clears each word and subtracts whatever was cleared from the counts, so that the counts stay consistent with the
+   * entries if executions are recorded concurrently.
+   */
   @Override
-  public synchronized void reset() {
-    bitSet.clear();
+  public void reset() {
     currentIndex = 0;
-    occupiedBits = 0;
-    successes = 0;
-    failures = 0;
+    for (int i = 0; i < words.length(); i++) {
+      long word = words.getAndSet(i, 0);
+      for (; word != 0; word >>>= 2) {
+        long entry = word & (OCCUPIED | SUCCESS);
+        if (entry != 0)
+          adjustCounts(entry, 0);
+      }
+    }
   }
 
   /**
-   * Sets the value of the next bit in the bitset, returning the previous value, else -1 if no previous value was set
-   * for the bit.
+   * Sets the value of the next entry, returning the previous value, else -1 if no previous value was set for the
+   * entry.
    *
    * @param value true if positive/success, false if negative/failure
    */
-  synchronized int setNext(boolean value) {
-    int previousValue = -1;
-    if (occupiedBits < size)
-      occupiedBits++;
-    else
-      previousValue = bitSet.get(currentIndex) ? 1 : 0;
-
-    bitSet.set(currentIndex, value);
-    currentIndex = indexAfter(currentIndex);
-
-    if (value) {
-      if (previousValue != 1)
-        successes++;
-      if (previousValue == 0)
-        failures--;
-    } else {
-      if (previousValue != 0)
-        failures++;
-      if (previousValue == 1)
-        successes--;
-    }
+  int setNext(boolean value) {
+    int index;
+    do {
+      index = currentIndex;
+    } while (!CURRENT_INDEX.compareAndSet(this, index, indexAfter(index)));
+
+    int wordIndex = index / ENTRIES_PER_WORD;
+    int shift = (index % ENTRIES_PER_WORD) * 2;
+    long newEntry = value ? OCCUPIED | SUCCESS : OCCUPIED;
+    long word;
+    long oldEntry;
+    do {
+      word = words.get(wordIndex);
+      oldEntry = (word >>> shift) & (OCCUPIED | SUCCESS);
+    } while (!words.compareAndSet(wordIndex, word, (word & ~((OCCUPIED | SUCCESS) << shift)) | (newEntry << shift)));
+
+    adjustCounts(oldEntry, newEntry);
+    return oldEntry == 0 ? -1 : (oldEntry & SUCCESS) != 0 ? 1 : 0;
+  }
 
-    return previousValue;
+  /**
+   * Returns the value of the entry at the {@code index}.
+   */
+  boolean get(int index) {
+    return ((words.get(index / ENTRIES_PER_WORD) >>> ((index % ENTRIES_PER_WORD) * 2)) & SUCCESS) != 0;
   }
 
   /**
-   * Returns an array representation of the BitSet entries.
+   * Returns an array representation of the entries.
    */
   @Override
   public String toString() {
@@ -142,15 +187,31 @@ class CountingCircuitStats implements CircuitStats {
     for (int i = 0; i < occupiedBits; i++) {
       if (i > 0)
         sb.append(", ");
-      sb.append(bitSet.get(i));
+      sb.append(get(i));
     }
     return sb.append(']').toString();
   }
 
+  /**
+   * Adjusts the counts for an entry that changed from {@code oldEntry} to {@code newEntry}.
+   */
+  private void adjustCounts(long oldEntry, long newEntry) {
+    if (oldEntry == newEntry)
+      return;
+    if (oldEntry == 0)
+      OCCUPIED_BITS.incrementAndGet(this);
+    else if (newEntry == 0)
+      OCCUPIED_BITS.decrementAndGet(this);
+    if (oldEntry != 0)
+      (oldEntry == (OCCUPIED | SUCCESS) ? SUCCESSES : FAILURES).decrementAndGet(this);
+    if (newEntry != 0)
+      (newEntry == (OCCUPIED | SUCCESS) ? SUCCESSES : FAILURES).incrementAndGet(this);
+  }
+
   /**
    * Returns the index after the {@code index}.
    */
   private int indexAfter(int index) {
     return index == size - 1 ? 0 : index + 1;
   }
-}
\ No newline at end of file
+}
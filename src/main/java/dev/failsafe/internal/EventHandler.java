@@ -15,42 +15,99 @@
  */
 package dev.failsafe.internal;
 
+import dev.failsafe.event.AttemptListener;
+import dev.failsafe.event.CompletionListener;
+import dev.failsafe.event.DelayListener;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.ExecutionContext;
 import dev.failsafe.event.ExecutionAttemptedEvent;
 import dev.failsafe.event.ExecutionCompletedEvent;
 import dev.failsafe.event.ExecutionScheduledEvent;
+import dev.failsafe.spi.ExecutionInternal;
 import dev.failsafe.spi.ExecutionResult;
 
 import java.time.Duration;
+import java.util.function.BiConsumer;
 
 /**
  * Internal handling of events.
  *
  * @param <R> result type
  */
-public interface EventHandler<R> {
+public interface EventHandler<R> extends BiConsumer<ExecutionResult<R>, ExecutionContext<R>> {
   void handle(ExecutionResult<R> result, ExecutionContext<R> context);
 
+  @Override
+  default void accept(ExecutionResult<R> result, ExecutionContext<R> context) {
+    handle(result, context);
+  }
+
+  /**
+   * Returns a handler that publishes events for the {@code handler} to the execution's {@link
+   * dev.failsafe.EventDispatcher EventDispatcher}, if any, else calls the {@code handler} directly.
+   */
+  static <R> EventHandler<R> dispatching(EventHandler<R> handler) {
+    return (result, context) -> {
+      if (!(context instanceof ExecutionInternal) || !((ExecutionInternal<R>) context).dispatch(handler, result))
+        handler.handle(result, context);
+    };
+  }
+
   static <R> EventHandler<R> ofExecutionCompleted(EventListener<ExecutionCompletedEvent<R>> handler) {
     return handler == null ?
       null :
-      (result, context) -> handler.acceptUnchecked(
-        new ExecutionCompletedEvent<>(result.getResult(), result.getFailure(), context));
+      EventHandler.<R>dispatching((result, context) -> handler.acceptUnchecked(
+        new ExecutionCompletedEvent<>(result.getResult(), result.getFailure(), context)));
+  }
+
+  /**
+   * Returns a handler that passes the outcome of an execution to the {@code listener} without creating an event.
+   */
+  static <R> EventHandler<R> ofCompletion(CompletionListener<R> listener) {
+    return listener == null ?
+      null :
+      EventHandler.<R>dispatching((result, context) -> listener.acceptUnchecked(result.getResult(), result.getFailure(),
+        context.getAttemptCount(), context instanceof ExecutionInternal ?
+          ((ExecutionInternal<R>) context).getElapsedNanos() :
+          context.getElapsedTime().toNanos()));
   }
 
   static <R> EventHandler<R> ofExecutionAttempted(EventListener<ExecutionAttemptedEvent<R>> handler) {
     return handler == null ?
       null :
-      (result, context) -> handler.acceptUnchecked(
-        new ExecutionAttemptedEvent<>(result.getResult(), result.getFailure(), context));
+      EventHandler.<R>dispatching((result, context) -> handler.acceptUnchecked(
+        new ExecutionAttemptedEvent<>(result.getResult(), result.getFailure(), context)));
+  }
+
+  /**
+   * Returns a handler that passes the outcome of an execution attempt to the {@code listener} without creating an
+   * event.
+   */
+  static <R> EventHandler<R> ofAttempt(AttemptListener<R> listener) {
+    return listener == null ?
+      null :
+      EventHandler.<R>dispatching((result, context) -> listener.acceptUnchecked(result.getResult(), result.getFailure(),
+        context.getAttemptCount(), context instanceof ExecutionInternal ?
+          ((ExecutionInternal<R>) context).getElapsedAttemptNanos() :
+          context.getElapsedAttemptTime().toNanos()));
+  }
+
+  /**
+   * Returns a handler that passes the outcome and delay of a scheduled execution to the {@code listener} without
+   * creating an event or {@link Duration}.
+   */
+  static <R> EventHandler<R> ofDelay(DelayListener<R> listener) {
+    return listener == null ?
+      null :
+      EventHandler.<R>dispatching((result, context) -> listener.acceptUnchecked(result.getResult(), result.getFailure(),
+        context.getAttemptCount(), result.getDelay()));
   }
 
   static <R> EventHandler<R> ofExecutionScheduled(EventListener<ExecutionScheduledEvent<R>> handler) {
     return handler == null ?
       null :
-      (result, context) -> handler.acceptUnchecked(
+      EventHandler.<R>dispatching((result, context) -> handler.acceptUnchecked(
         new ExecutionScheduledEvent<>(result.getResult(), result.getFailure(), Duration.ofNanos(result.getDelay()),
-          context));
+          context)));
   }
 }
\ No newline at end of file
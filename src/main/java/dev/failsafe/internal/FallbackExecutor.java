@@ -16,6 +16,7 @@
 package dev.failsafe.internal;
 
 import dev.failsafe.Fallback;
+import dev.failsafe.metrics.ExecutionMetrics;
 import dev.failsafe.spi.*;
 import dev.failsafe.FallbackConfig;
 import dev.failsafe.spi.*;
@@ -37,7 +38,14 @@ public class FallbackExecutor<R> extends PolicyExecutor<R> {
     super(fallback, policyIndex);
     this.fallback = fallback;
     this.config = fallback.getConfig();
-    this.failedAttemptHandler = EventHandler.ofExecutionAttempted(config.getFailedAttemptListener());
+    this.failedAttemptHandler = config.getFailedAttemptAttemptListener() != null ?
+      EventHandler.ofAttempt(config.getFailedAttemptAttemptListener()) :
+      EventHandler.ofExecutionAttempted(config.getFailedAttemptListener());
+  }
+
+  @Override
+  public boolean isShareable() {
+    return true;
   }
 
   /**
@@ -56,6 +64,8 @@ public class FallbackExecutor<R> extends PolicyExecutor<R> {
       if (isFailure(result)) {
         if (failedAttemptHandler != null)
           failedAttemptHandler.handle(result, execution);
+        if (fallback != FallbackImpl.NONE)
+          recordMetric(execution, ExecutionMetrics::recordFallback);
 
         try {
           result = fallback == FallbackImpl.NONE ?
@@ -78,7 +88,7 @@ public class FallbackExecutor<R> extends PolicyExecutor<R> {
     Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn, Scheduler scheduler,
     FailsafeFuture<R> future) {
 
-    return execution -> innerFn.apply(execution).thenCompose(result -> {
+    return execution -> compose(innerFn.apply(execution), result -> {
       if (result == null || future.isDone())
         return ExecutionResult.nullFuture();
       if (execution.isCancelled(this))
@@ -88,17 +98,16 @@ public class FallbackExecutor<R> extends PolicyExecutor<R> {
 
       if (failedAttemptHandler != null)
         failedAttemptHandler.handle(result, execution);
+      if (fallback != FallbackImpl.NONE)
+        recordMetric(execution, ExecutionMetrics::recordFallback);
+      if (!config.isAsync())
+        return applyFallback(execution, result, scheduler, future);
 
       CompletableFuture<ExecutionResult<R>> promise = new CompletableFuture<>();
       Callable<R> callable = () -> {
         try {
           CompletableFuture<R> fallbackFuture = fallback.applyStage(result.getResult(), result.getFailure(), execution);
-          fallbackFuture.whenComplete((innerResult, failure) -> {
-            if (failure instanceof CompletionException)
-              failure = failure.getCause();
-            ExecutionResult<R> r = failure == null ? result.withResult(innerResult) : ExecutionResult.failure(failure);
-            promise.complete(r);
-          });
+          fallbackFuture.whenComplete((innerResult, failure) -> promise.complete(toResult(result, innerResult, failure)));
         } catch (Throwable t) {
           promise.complete(ExecutionResult.failure(t));
         }
@@ -106,23 +115,57 @@ public class FallbackExecutor<R> extends PolicyExecutor<R> {
       };
 
       try {
-        if (!config.isAsync())
-          callable.call();
-        else {
-          Future<?> scheduledFallback = scheduler.schedule(callable, 0, TimeUnit.NANOSECONDS);
-
-          // Propagate outer cancellations to the Fallback future and its promise
-          future.setCancelFn(this, (mayInterrupt, cancelResult) -> {
-            scheduledFallback.cancel(mayInterrupt);
-            promise.complete(cancelResult);
-          });
-        }
+        Future<?> scheduledFallback = scheduler.schedule(callable, 0, TimeUnit.NANOSECONDS);
+
+        // Propagate outer cancellations to the Fallback future and its promise
+        future.forAttempt(execution, this).setCancelFn(this, (mayInterrupt, cancelResult) -> {
+          scheduledFallback.cancel(mayInterrupt);
+          promise.complete(cancelResult);
+        });
       } catch (Throwable t) {
         // Hard scheduling failure
         promise.completeExceptionally(t);
       }
 
-      return promise.thenCompose(ss -> postExecuteAsync(execution, ss, scheduler, future));
+      return compose(promise, ss -> postExecuteAsync(execution, ss, scheduler, future));
     });
   }
+
+  /**
+   * Applies the fallback for the failed {@code result} on the current thread, then post-executes its result. Unlike an
+   * async fallback, no promise is created for this policy: a fallback stage that is already complete is post-executed
+   * directly, and a pending stage is continued from, rather than being copied into a promise first.
+   */
+  private CompletableFuture<ExecutionResult<R>> applyFallback(AsyncExecutionInternal<R> execution,
+    ExecutionResult<R> result, Scheduler scheduler, FailsafeFuture<R> future) {
+    CompletableFuture<R> fallbackFuture;
+    try {
+      fallbackFuture = fallback.applyStage(result.getResult(), result.getFailure(), execution);
+    } catch (Throwable t) {
+      return postExecuteAsync(execution, ExecutionResult.failure(t), scheduler, future);
+    }
+
+    if (fallbackFuture.isDone()) {
+      ExecutionResult<R> fallbackResult;
+      try {
+        fallbackResult = result.withResult(fallbackFuture.join());
+      } catch (Throwable t) {
+        fallbackResult = toResult(result, null, t);
+      }
+      return postExecuteAsync(execution, fallbackResult, scheduler, future);
+    }
+
+    return fallbackFuture.handle((innerResult, failure) -> toResult(result, innerResult, failure))
+      .thenCompose(r -> postExecuteAsync(execution, r, scheduler, future));
+  }
+
+  /**
+   * Returns the result of a fallback for the original {@code result}, given the fallback's {@code innerResult} or
+   * {@code failure}.
+   */
+  private static <R> ExecutionResult<R> toResult(ExecutionResult<R> result, R innerResult, Throwable failure) {
+    if (failure instanceof CompletionException)
+      failure = failure.getCause();
+    return failure == null ? result.withResult(innerResult) : ExecutionResult.failure(failure);
+  }
 }
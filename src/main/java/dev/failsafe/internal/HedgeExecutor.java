@@ -0,0 +1,271 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.Hedge;
+import dev.failsafe.HedgeConfig;
+import dev.failsafe.spi.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A PolicyExecutor that handles executions according to a {@link Hedge}.
+ * <p>
+ * Hedged attempts are scheduled on the execution's scheduler, and each is performed by its own scheduled task against a
+ * copy of the execution. Each attempt tracks the cancel functions of its inner policies and supplier with its own
+ * {@link FailsafeFuture#newAttemptFuture(PolicyExecutor) attempt future}. The first attempt to complete successfully
+ * wins, after which pending hedges are cancelled, and losing attempts, their tasks, and their attempt futures are
+ * cancelled.
+ *
+ * @param <R> result type
+ * @author Jonathan Halterman
+ */
+public class HedgeExecutor<R> extends PolicyExecutor<R> {
+  private final HedgeImpl<R> hedge;
+  private final HedgeConfig<R> config;
+
+  public HedgeExecutor(HedgeImpl<R> hedge, int policyIndex) {
+    super(hedge, policyIndex);
+    this.hedge = hedge;
+    config = hedge.getConfig();
+  }
+
+  @Override
+  public boolean isShareable() {
+    return true;
+  }
+
+  @Override
+  public Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> applyAsync(
+    Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn, Scheduler scheduler,
+    FailsafeFuture<R> future) {
+
+    return execution -> {
+      // Async executions are completed externally, so their attempts cannot be hedged
+      if (execution.isAsyncExecution() || execution.isRecorded())
+        return executeAsync(execution, innerFn, scheduler, future);
+      return new Hedging(execution, innerFn, scheduler, future).start();
+    };
+  }
+
+  /**
+   * Coordinates the attempts for a single execution.
+   */
+  private final class Hedging {
+    private final AsyncExecutionInternal<R> execution;
+    private final Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn;
+    private final Scheduler scheduler;
+    private final FailsafeFuture<R> future;
+    // The future that attempt futures are created from and this hedge's cancel function is set on
+    private final FailsafeFuture<R> dependencies;
+    private final CompletableFuture<ExecutionResult<R>> promise = new CompletableFuture<>();
+
+    // Guarded by this
+    private final List<Attempt> attempts = new ArrayList<>(2);
+    private int pending;
+    private boolean done;
+    private ExecutionResult<R> lastResult;
+    private Throwable lastError;
+    private Future<?> hedgeFuture;
+    private int hedgeSeq;
+
+    Hedging(AsyncExecutionInternal<R> execution,
+      Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn, Scheduler scheduler,
+      FailsafeFuture<R> future) {
+      this.execution = execution;
+      this.innerFn = innerFn;
+      this.scheduler = scheduler;
+      this.future = future;
+      dependencies = future.forAttempt(execution, HedgeExecutor.this);
+    }
+
+    CompletableFuture<ExecutionResult<R>> start() {
+      // Propagate outer cancellations to pending hedges, running hedged attempts, and the promise
+      dependencies.setCancelFn(HedgeExecutor.this, (mayInterrupt, cancelResult) -> {
+        List<Attempt> running;
+        synchronized (this) {
+          done = true;
+          cancelHedge();
+          running = new ArrayList<>(attempts);
+        }
+        for (Attempt attempt : running)
+          attempt.cancel(mayInterrupt);
+        promise.complete(cancelResult);
+      });
+
+      launch(null);
+      return compose(promise, r -> {
+        return r == null ? ExecutionResult.nullFuture() : postExecuteAsync(execution, r, scheduler, future);
+      });
+    }
+
+    /**
+     * Launches the initial attempt against the execution, or a hedged attempt against a copy of it from the scheduled
+     * {@code task} that performs it, then schedules the next hedge if any remain.
+     */
+    private void launch(Future<?> task) {
+      Attempt attempt;
+      synchronized (this) {
+        if (done || attempts.size() > config.getMaxHedges())
+          return;
+        AsyncExecutionInternal<R> attemptExecution = attempts.isEmpty() ? execution : execution.copy();
+        attempt = new Attempt(attemptExecution, dependencies.newAttemptFuture(HedgeExecutor.this), task);
+        attempt.execution.setAttemptFuture(attempt.future);
+        attempts.add(attempt);
+        pending++;
+        scheduleHedge(hedge.getDelayNanos());
+      }
+
+      CompletableFuture<ExecutionResult<R>> attemptFuture;
+      try {
+        attemptFuture = innerFn.apply(attempt.execution);
+      } catch (Throwable t) {
+        attemptFuture = new CompletableFuture<>();
+        attemptFuture.completeExceptionally(t);
+      }
+      attemptFuture.whenComplete((result, error) -> onComplete(attempt, result, error));
+    }
+
+    /**
+     * Schedules the next hedge after the {@code delayNanos} if any remain. Each hedge is performed by its own scheduled
+     * task, which is retained by its {@link Attempt} so that the attempt can be cancelled if it loses. Must be called
+     * while synchronized.
+     */
+    private void scheduleHedge(long delayNanos) {
+      cancelHedge();
+      if (attempts.size() <= config.getMaxHedges()) {
+        int seq = ++hedgeSeq;
+        try {
+          hedgeFuture = scheduler.schedule(() -> {
+            Future<?> task;
+            synchronized (this) {
+              // Ignore a superseded hedge that started before it could be cancelled
+              if (seq != hedgeSeq)
+                return null;
+              task = hedgeFuture;
+              hedgeFuture = null;
+            }
+            launch(task);
+            return null;
+          }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (Throwable ignore) {
+          // Hedging is best effort, so the pending attempts are left to complete
+        }
+      }
+    }
+
+    /**
+     * Cancels the pending hedge, if any. Must be called while synchronized.
+     */
+    private void cancelHedge() {
+      hedgeSeq++;
+      if (hedgeFuture != null) {
+        hedgeFuture.cancel(false);
+        hedgeFuture = null;
+      }
+    }
+
+    /**
+     * Handles a completed attempt. The latency of every attempt that completes before the execution is decided is
+     * recorded, along with the elapsed time of any losing attempts when a winner is decided, which is a lower bound on
+     * their latency. This prevents slow attempts that lose from being left out of the observed latencies.
+     */
+    private void onComplete(Attempt attempt, ExecutionResult<R> result, Throwable error) {
+      boolean success = error == null && result != null && !isFailure(result);
+      List<Attempt> losers = null;
+      boolean failed = false;
+
+      synchronized (this) {
+        if (done)
+          return;
+        attempt.completed = true;
+        pending--;
+        if (success) {
+          done = true;
+          cancelHedge();
+          losers = new ArrayList<>(attempts);
+          losers.remove(attempt);
+        } else {
+          if (error != null || result != null) {
+            lastResult = result;
+            lastError = error;
+          }
+
+          if (pending == 0) {
+            // Launch the next hedge immediately rather than waiting for its delay
+            if (attempts.size() <= config.getMaxHedges())
+              scheduleHedge(0);
+            else
+              done = failed = true;
+          }
+        }
+      }
+
+      long now = System.nanoTime();
+      hedge.recordLatency(now - attempt.startTime);
+      if (success) {
+        for (Attempt loser : losers) {
+          if (!loser.completed) {
+            hedge.recordLatency(now - loser.startTime);
+            loser.cancel(config.canInterrupt());
+          }
+        }
+        promise.complete(result);
+      } else if (failed) {
+        // Every attempt failed, and was the last to be recorded since done was set
+        if (lastError != null)
+          promise.completeExceptionally(lastError);
+        else
+          promise.complete(lastResult);
+      }
+    }
+  }
+
+  /**
+   * An attempt, along with the future that tracks its dependencies and the scheduled task that performs it if it's a
+   * hedge.
+   */
+  private final class Attempt {
+    private final AsyncExecutionInternal<R> execution;
+    private final FailsafeFuture<R> future;
+    private final Future<?> task;
+    private final long startTime = System.nanoTime();
+    // Guarded by the Hedging
+    private boolean completed;
+
+    Attempt(AsyncExecutionInternal<R> execution, FailsafeFuture<R> future, Future<?> task) {
+      this.execution = execution;
+      this.future = future;
+      this.task = task;
+    }
+
+    /**
+     * Cancels the attempt and its dependencies, interrupting its task if {@code mayInterrupt}. The initial attempt's
+     * task is cancelled via its attempt future instead.
+     */
+    void cancel(boolean mayInterrupt) {
+      execution.cancel(HedgeExecutor.this);
+      future.cancel(mayInterrupt);
+      if (task != null)
+        task.cancel(mayInterrupt);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.Hedge;
+import dev.failsafe.HedgeBuilder;
+import dev.failsafe.HedgeConfig;
+import dev.failsafe.spi.PolicyExecutor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Hedge implementation. When a delay percentile is configured, the latencies of recent attempts, including the elapsed
+ * time of attempts that lose to a hedge, are recorded into a fixed size window, and the percentile is recomputed from
+ * the window periodically rather than for every execution.
+ *
+ * @param <R> result type
+ * @author Jonathan Halterman
+ * @see HedgeBuilder
+ */
+public class HedgeImpl<R> implements Hedge<R> {
+  static final int WINDOW_SIZE = 128;
+  static final int MIN_SAMPLES = 16;
+  static final int RECOMPUTE_INTERVAL = 16;
+
+  private final HedgeConfig<R> config;
+  private final long configuredDelayNanos;
+
+  // Mutable state
+  private final AtomicLongArray latencies;
+  private final AtomicLong samples;
+  private volatile long delayNanos;
+
+  public HedgeImpl(HedgeConfig<R> config) {
+    this.config = config;
+    configuredDelayNanos = config.getDelay().toNanos();
+    delayNanos = configuredDelayNanos;
+    boolean tracksLatency = config.getDelayPercentile() > 0;
+    latencies = tracksLatency ? new AtomicLongArray(WINDOW_SIZE) : null;
+    samples = tracksLatency ? new AtomicLong() : null;
+  }
+
+  @Override
+  public HedgeConfig<R> getConfig() {
+    return config;
+  }
+
+  @Override
+  public Duration getDelay() {
+    return Duration.ofNanos(delayNanos);
+  }
+
+  /**
+   * Returns the delay in nanoseconds to wait before launching a hedged attempt.
+   */
+  long getDelayNanos() {
+    return delayNanos;
+  }
+
+  /**
+   * Records the {@code latencyNanos} of an attempt, if latencies are being tracked.
+   */
+  void recordLatency(long latencyNanos) {
+    if (latencies == null)
+      return;
+
+    long sample = samples.getAndIncrement();
+    latencies.set((int) (sample % WINDOW_SIZE), latencyNanos);
+    long count = sample + 1;
+    if (count >= MIN_SAMPLES && count % RECOMPUTE_INTERVAL == 0)
+      delayNanos = computePercentile((int) Math.min(count, WINDOW_SIZE));
+  }
+
+  private long computePercentile(int count) {
+    long[] sorted = new long[count];
+    for (int i = 0; i < count; i++)
+      sorted[i] = latencies.get(i);
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(config.getDelayPercentile() / 100.0 * count) - 1;
+    return sorted[Math.max(0, Math.min(index, count - 1))];
+  }
+
+  @Override
+  public PolicyExecutor<R> toExecutor(int policyIndex) {
+    return new HedgeExecutor<>(this, policyIndex);
+  }
+
+  @Override
+  public String toString() {
+    return "Hedge[delay=" + getDelay() + ", maxHedges=" + config.getMaxHedges() + ']';
+  }
+}
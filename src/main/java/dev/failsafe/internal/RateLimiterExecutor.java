@@ -17,13 +17,22 @@ package dev.failsafe.internal;
 
 import dev.failsafe.RateLimitExceededException;
 import dev.failsafe.RateLimiter;
+import dev.failsafe.spi.AsyncExecutionInternal;
 import dev.failsafe.spi.ExecutionResult;
+import dev.failsafe.spi.FailsafeFuture;
 import dev.failsafe.spi.PolicyExecutor;
+import dev.failsafe.spi.Scheduler;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
- * A PolicyExecutor that handles failures according to a {@link RateLimiter}.
+ * A PolicyExecutor that handles failures according to a {@link RateLimiter}. Async executions reserve their permit then
+ * are scheduled to run after the wait, rather than sleeping a thread.
  *
  * @param <R> result type
  * @author Jonathan Halterman
@@ -38,6 +47,11 @@ public class RateLimiterExecutor<R> extends PolicyExecutor<R> {
     maxWaitTime = rateLimiter.getConfig().getMaxWaitTime();
   }
 
+  @Override
+  public boolean isShareable() {
+    return true;
+  }
+
   @Override
   protected ExecutionResult<R> preExecute() {
     try {
@@ -50,4 +64,57 @@ public class RateLimiterExecutor<R> extends PolicyExecutor<R> {
       return ExecutionResult.failure(e);
     }
   }
+
+  @Override
+  public Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> applyAsync(
+    Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn, Scheduler scheduler,
+    FailsafeFuture<R> future) {
+
+    return execution -> {
+      if (execution.isRecorded())
+        return executeAsync(execution, innerFn, scheduler, future);
+
+      long waitNanos = rateLimiter.reservePermits(1, maxWaitTime);
+      if (waitNanos == -1) {
+        // Still need to preExecute when returning an alternative result before making it to the terminal Supplier
+        execution.preExecute();
+        ExecutionResult<R> result = ExecutionResult.failure(new RateLimitExceededException(rateLimiter));
+        recordRejection(execution, result);
+        return CompletableFuture.completedFuture(result);
+      }
+      if (waitNanos == 0)
+        return executeAsync(execution, innerFn, scheduler, future);
+
+      // Schedule the execution to run after the wait. The scheduled task and a cancellation each claim the execution so
+      // that only one of them proceeds.
+      CompletableFuture<ExecutionResult<R>> promise = new CompletableFuture<>();
+      AtomicBoolean claimed = new AtomicBoolean();
+      try {
+        Future<?> scheduledExecution = scheduler.schedule(() -> {
+          if (claimed.compareAndSet(false, true)) {
+            executeAsync(execution, innerFn, scheduler, future).whenComplete((result, error) -> {
+              if (error != null)
+                promise.completeExceptionally(error);
+              else
+                promise.complete(result);
+            });
+          }
+          return null;
+        }, waitNanos, TimeUnit.NANOSECONDS);
+
+        // Propagate outer cancellations to the scheduled execution
+        future.forAttempt(execution, this).setCancelFn(this, (mayInterrupt, cancelResult) -> {
+          scheduledExecution.cancel(mayInterrupt);
+
+          // Cancel a pending promise if the execution attempt has not started
+          if (claimed.compareAndSet(false, true))
+            promise.complete(cancelResult);
+        });
+      } catch (Throwable t) {
+        // Hard scheduling failure
+        promise.completeExceptionally(t);
+      }
+      return promise;
+    };
+  }
 }
@@ -22,6 +22,9 @@ import dev.failsafe.internal.util.Assert;
 import dev.failsafe.internal.util.Durations;
 import dev.failsafe.spi.PolicyExecutor;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
@@ -67,9 +70,7 @@ public class RateLimiterImpl<R> implements RateLimiter<R> {
 
   @Override
   public boolean tryAcquirePermits(int permits, Duration maxWaitTime) throws InterruptedException {
-    Assert.isTrue(permits > 0, "permits must be > 0");
-    Assert.notNull(maxWaitTime, "maxWaitTime");
-    long waitNanos = stats.acquirePermits(permits, Durations.ofSafeNanos(maxWaitTime));
+    long waitNanos = reservePermits(permits, maxWaitTime);
     if (waitNanos == -1)
       return false;
     if (waitNanos > 0)
@@ -77,6 +78,32 @@ public class RateLimiterImpl<R> implements RateLimiter<R> {
     return true;
   }
 
+  /**
+   * Reserves the {@code permits} without waiting for them, returning the nanoseconds that the caller must wait before
+   * the permits can be used, else {@code -1} if the wait would exceed the {@code maxWaitTime}, in which case no permits
+   * are reserved.
+   */
+  long reservePermits(int permits, Duration maxWaitTime) {
+    Assert.isTrue(permits > 0, "permits must be > 0");
+    Assert.notNull(maxWaitTime, "maxWaitTime");
+    return stats.acquirePermits(permits, Durations.ofSafeNanos(maxWaitTime));
+  }
+
+  /**
+   * Writes a snapshot of the permits that have been acquired to the {@code out}.
+   */
+  public void writeSnapshot(DataOutput out) throws IOException {
+    stats.writeSnapshot(out);
+  }
+
+  /**
+   * Restores a snapshot that was written by {@link #writeSnapshot(DataOutput)}, releasing any permits for the {@code
+   * elapsedNanos} since the snapshot was written.
+   */
+  public void restoreSnapshot(DataInput in, long elapsedNanos) throws IOException {
+    stats.restoreSnapshot(in, elapsedNanos);
+  }
+
   @Override
   public PolicyExecutor<R> toExecutor(int policyIndex) {
     return new RateLimiterExecutor<>(this, policyIndex);
@@ -15,6 +15,9 @@
  */
 package dev.failsafe.internal;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.Duration;
 
 abstract class RateLimiterStats {
@@ -25,7 +28,7 @@ abstract class RateLimiterStats {
   }
 
   static class Stopwatch {
-    private long startTime = System.nanoTime();
+    private volatile long startTime = System.nanoTime();
 
     long elapsedNanos() {
       return System.nanoTime() - startTime;
@@ -34,6 +37,13 @@ abstract class RateLimiterStats {
     void reset() {
       startTime = System.nanoTime();
     }
+
+    /**
+     * Resets the stopwatch as if it had been started {@code elapsedNanos} ago.
+     */
+    void reset(long elapsedNanos) {
+      startTime = System.nanoTime() - elapsedNanos;
+    }
   }
 
   /**
@@ -64,4 +74,15 @@ abstract class RateLimiterStats {
    * Resets the rate limiter's internal stats.
    */
   abstract void reset();
+
+  /**
+   * Writes a snapshot of the permits that have been acquired, relative to the current time, to the {@code out}.
+   */
+  abstract void writeSnapshot(DataOutput out) throws IOException;
+
+  /**
+   * Restores a snapshot that was written by {@link #writeSnapshot(DataOutput)}, considering the {@code elapsedNanos}
+   * since the snapshot was written.
+   */
+  abstract void restoreSnapshot(DataInput in, long elapsedNanos) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.RetryPolicyConfig;
+import dev.failsafe.internal.RateLimiterStats.Stopwatch;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks first attempts and retries across all executions of a RetryPolicy over a sliding window, and permits retries
+ * while they're within a ratio of first attempts plus a minimum number of retries per second.
+ * <p>
+ * Counts are kept in one bucket per second, using striped {@link LongAdder counters} so that concurrent executions don't
+ * contend on a single value. Buckets are lazily reset when reused for a new second. Since a retry is checked and counted
+ * without locking, concurrent retries may slightly overshoot the budget.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ */
+final class RetryBudget {
+  static final int WINDOW_SECONDS = 10;
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final double ratio;
+  private final long minRetries;
+  private final Stopwatch stopwatch;
+  private final Bucket[] buckets = new Bucket[WINDOW_SECONDS];
+
+  RetryBudget(RetryPolicyConfig<?> config, Stopwatch stopwatch) {
+    ratio = config.getRetryBudgetRatio();
+    minRetries = (long) config.getRetryBudgetMinRetriesPerSecond() * WINDOW_SECONDS;
+    this.stopwatch = stopwatch;
+    for (int i = 0; i < buckets.length; i++)
+      buckets[i] = new Bucket();
+  }
+
+  static final class Bucket {
+    static final AtomicLongFieldUpdater<Bucket> SECOND_UPDATER = AtomicLongFieldUpdater.newUpdater(Bucket.class,
+      "second");
+    final LongAdder attempts = new LongAdder();
+    final LongAdder retries = new LongAdder();
+    volatile long second;
+  }
+
+  /**
+   * Records the first attempt of an execution.
+   */
+  void recordAttempt() {
+    bucketFor(currentSecond()).attempts.increment();
+  }
+
+  /**
+   * Records and returns {@code true} for a retry if the budget allows it, else returns {@code false}.
+   */
+  boolean tryRetry() {
+    long second = currentSecond();
+    long attempts = 0;
+    long retries = 0;
+    for (Bucket bucket : buckets) {
+      if (second - bucket.second < WINDOW_SECONDS) {
+        attempts += bucket.attempts.sum();
+        retries += bucket.retries.sum();
+      }
+    }
+
+    if (retries >= minRetries + (long) (attempts * ratio))
+      return false;
+    bucketFor(second).retries.increment();
+    return true;
+  }
+
+  private long currentSecond() {
+    return stopwatch.elapsedNanos() / NANOS_PER_SECOND;
+  }
+
+  /**
+   * Returns the bucket for the {@code second}, resetting it if it was last used for an earlier second.
+   */
+  private Bucket bucketFor(long second) {
+    Bucket bucket = buckets[(int) (second % WINDOW_SECONDS)];
+    long bucketSecond = bucket.second;
+    if (bucketSecond < second && Bucket.SECOND_UPDATER.compareAndSet(bucket, bucketSecond, second)) {
+      bucket.attempts.reset();
+      bucket.retries.reset();
+    }
+    return bucket;
+  }
+}
@@ -19,16 +19,22 @@ import dev.failsafe.ExecutionContext;
 import dev.failsafe.FailsafeException;
 import dev.failsafe.RetryPolicy;
 import dev.failsafe.RetryPolicyConfig;
+import dev.failsafe.internal.util.Sleeper;
+import dev.failsafe.metrics.ExecutionMetrics;
 import dev.failsafe.spi.*;
 
 import java.time.Duration;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+import static dev.failsafe.internal.util.RandomDelay.decorrelatedJitterDelay;
+import static dev.failsafe.internal.util.RandomDelay.equalJitterDelay;
+import static dev.failsafe.internal.util.RandomDelay.fullJitterDelay;
 import static dev.failsafe.internal.util.RandomDelay.randomDelay;
 import static dev.failsafe.internal.util.RandomDelay.randomDelayInRange;
 
@@ -41,12 +47,8 @@ import static dev.failsafe.internal.util.RandomDelay.randomDelayInRange;
 public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
   private final RetryPolicyImpl<R> retryPolicy;
   private final RetryPolicyConfig<R> config;
-
-  // Mutable state
-  private volatile int failedAttempts;
-  private volatile boolean retriesExceeded;
-  /** The last fixed, backoff, random or computed delay time in nanoseconds. */
-  private volatile long lastDelayNanos;
+  private final RetryBudget retryBudget;
+  private final long spinThresholdNanos;
 
   // Handlers
   private final EventHandler<R> abortHandler;
@@ -59,11 +61,36 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
     super(retryPolicy, policyIndex);
     this.retryPolicy = retryPolicy;
     this.config = retryPolicy.getConfig();
+    this.retryBudget = retryPolicy.getRetryBudget();
+    this.spinThresholdNanos = config.getSpinThreshold() != null ? config.getSpinThreshold().toNanos() : 0;
     this.abortHandler = EventHandler.ofExecutionCompleted(config.getAbortListener());
-    this.failedAttemptHandler = EventHandler.ofExecutionAttempted(config.getFailedAttemptListener());
+    this.failedAttemptHandler = config.getFailedAttemptAttemptListener() != null ?
+      EventHandler.ofAttempt(config.getFailedAttemptAttemptListener()) :
+      EventHandler.ofExecutionAttempted(config.getFailedAttemptListener());
     this.retriesExceededHandler = EventHandler.ofExecutionCompleted(config.getRetriesExceededListener());
-    this.retryHandler = EventHandler.ofExecutionAttempted(config.getRetryListener());
-    this.retryScheduledHandler = EventHandler.ofExecutionScheduled(config.getRetryScheduledListener());
+    this.retryHandler = config.getRetryAttemptListener() != null ?
+      EventHandler.ofAttempt(config.getRetryAttemptListener()) :
+      EventHandler.ofExecutionAttempted(config.getRetryListener());
+    this.retryScheduledHandler = config.getRetryScheduledDelayListener() != null ?
+      EventHandler.ofDelay(config.getRetryScheduledDelayListener()) :
+      EventHandler.ofExecutionScheduled(config.getRetryScheduledListener());
+  }
+
+  /**
+   * Per-execution retry state, which is stored on the execution so that the executor can be shared.
+   */
+  static final class RetryState {
+    volatile int failedAttempts;
+    volatile boolean retriesExceeded;
+    /** The last fixed, backoff, random or computed delay time in nanoseconds. */
+    volatile long lastDelayNanos;
+    /** The last jittered delay time in nanoseconds, for decorrelated jitter. */
+    volatile long lastJitteredDelayNanos;
+  }
+
+  @Override
+  public boolean isShareable() {
+    return true;
   }
 
   @Override
@@ -74,7 +101,7 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
       while (true) {
         ExecutionResult<R> result = innerFn.apply(execution);
         // Returns if retries exceeded or an outer policy cancelled the execution
-        if (retriesExceeded || execution.isCancelled(this))
+        if (isRetriesExceeded(execution) || execution.isCancelled(this))
           return result;
 
         result = postExecute(execution, result);
@@ -82,12 +109,13 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
           return result;
 
         try {
+          recordMetric(execution, ExecutionMetrics::recordRetry);
           if (retryScheduledHandler != null)
             retryScheduledHandler.handle(result, execution);
 
           // Guard against race with Timeout so that sleep can either be skipped or interrupted
           execution.setInterruptable(true);
-          Thread.sleep(TimeUnit.NANOSECONDS.toMillis(result.getDelay()));
+          Sleeper.sleep(result.getDelay(), spinThresholdNanos);
         } catch (InterruptedException e) {
           // Set interrupt flag if interruption was not performed by Failsafe
           if (!execution.isInterrupted())
@@ -142,7 +170,7 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
     // Propagate execution and handle result
     innerFn.apply(execution).whenComplete((result, error) -> {
       if (isValidResult(result, error, promise)) {
-        if (retriesExceeded || execution.isCancelled(this)) {
+        if (isRetriesExceeded(execution) || execution.isCancelled(this)) {
           promise.complete(result);
         } else {
           postExecuteAsync(execution, result, scheduler, future).whenComplete((postResult, postError) -> {
@@ -150,36 +178,36 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
               if (postResult.isComplete() || execution.isCancelled(this)) {
                 promise.complete(postResult);
               } else {
-                // Guard against race with future.complete or future.cancel
-                synchronized (future) {
-                  if (!future.isDone()) {
-                    try {
-                      if (retryScheduledHandler != null)
-                        retryScheduledHandler.handle(postResult, execution);
-
-                      previousResultRef.set(postResult);
-                      AsyncExecutionInternal<R> retryExecution = execution.copy();
-                      future.setExecution(retryExecution);
-                      Callable<Object> retryFn = () -> handleAsync(retryExecution, innerFn, scheduler, future, promise,
-                        previousResultRef);
-                      Future<?> scheduledRetry = scheduler.schedule(retryFn, postResult.getDelay(),
-                        TimeUnit.NANOSECONDS);
-                      // Cancel prior inner executions, such as pending timeouts
-                      future.cancelDependencies(this, false, null);
-
-                      // Propagate outer cancellations to the thread that the innerFn will run with
-                      future.setCancelFn(-1, (mayInterrupt, cancelResult) -> {
-                        scheduledRetry.cancel(mayInterrupt);
-                      });
-
-                      // Propagate outer cancellations to the retry future and its promise
-                      future.setCancelFn(this, (mayInterrupt, cancelResult) -> {
-                        promise.complete(cancelResult);
-                      });
-                    } catch (Throwable t) {
-                      // Hard scheduling failure
-                      promise.completeExceptionally(t);
-                    }
+                // A cancellation that races with scheduling the retry is applied when its cancel functions are set
+                if (!future.isDone()) {
+                  try {
+                    recordMetric(execution, ExecutionMetrics::recordRetry);
+                    if (retryScheduledHandler != null)
+                      retryScheduledHandler.handle(postResult, execution);
+
+                    previousResultRef.set(postResult);
+                    AsyncExecutionInternal<R> retryExecution = execution.copy();
+                    future.setExecution(retryExecution);
+
+                    // Cancel prior inner executions, such as pending timeouts, before the retry can set new cancel
+                    // functions
+                    future.forAttempt(execution, this).cancelDependencies(this, false, null);
+                    Callable<Object> retryFn = () -> handleAsync(retryExecution, innerFn, scheduler, future, promise,
+                      previousResultRef);
+                    Future<?> scheduledRetry = scheduler.schedule(retryFn, postResult.getDelay(), TimeUnit.NANOSECONDS);
+
+                    // Propagate outer cancellations to the thread that the innerFn will run with
+                    future.forAttempt(execution, this).setCancelFn(-1, (mayInterrupt, cancelResult) -> {
+                      scheduledRetry.cancel(mayInterrupt);
+                    });
+
+                    // Propagate outer cancellations to the retry future and its promise
+                    future.forAttempt(execution, this).setCancelFn(this, (mayInterrupt, cancelResult) -> {
+                      promise.complete(cancelResult);
+                    });
+                  } catch (Throwable t) {
+                    // Hard scheduling failure
+                    promise.completeExceptionally(t);
                   }
                 }
               }
@@ -207,13 +235,26 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
     return true;
   }
 
+  @Override
+  protected void onSuccess(ExecutionContext<R> context, ExecutionResult<R> result) {
+    // Record successful first attempts against the retry budget
+    if (retryBudget != null) {
+      RetryState state = (RetryState) ((ExecutionInternal<R>) context).getPolicyState(getPolicyIndex());
+      if (state == null || state.failedAttempts == 0)
+        retryBudget.recordAttempt();
+    }
+  }
+
   @Override
   public ExecutionResult<R> onFailure(ExecutionContext<R> context, ExecutionResult<R> result) {
     if (failedAttemptHandler != null)
       failedAttemptHandler.handle(result, context);
 
-    failedAttempts++;
-    long delayNanos = lastDelayNanos;
+    RetryState state = stateFor((ExecutionInternal<R>) context);
+    if (retryBudget != null && state.failedAttempts == 0)
+      retryBudget.recordAttempt();
+    int failedAttempts = ++state.failedAttempts;
+    long delayNanos = state.lastDelayNanos;
 
     // Determine the computed delay
     Duration computedDelay = retryPolicy.computeDelay(context);
@@ -223,19 +264,23 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
       // Determine the fixed or random delay
       delayNanos = getFixedOrRandomDelayNanos(delayNanos);
       delayNanos = adjustForBackoff(context, delayNanos);
-      lastDelayNanos = delayNanos;
+      state.lastDelayNanos = delayNanos;
     }
 
     if (delayNanos != 0)
-      delayNanos = adjustForJitter(delayNanos);
+      delayNanos = adjustForJitter(state, delayNanos);
     long elapsedNanos = context.getElapsedTime().toNanos();
     delayNanos = adjustForMaxDuration(delayNanos, elapsedNanos);
 
     // Calculate result
     boolean maxRetriesExceeded = config.getMaxRetries() != -1 && failedAttempts > config.getMaxRetries();
     boolean maxDurationExceeded = config.getMaxDuration() != null && elapsedNanos > config.getMaxDuration().toNanos();
-    retriesExceeded = maxRetriesExceeded || maxDurationExceeded;
+    boolean deadlineExceeded = delayNanos >= ((ExecutionInternal<R>) context).getRemainingNanos();
+    boolean retriesExceeded = maxRetriesExceeded || maxDurationExceeded || deadlineExceeded;
     boolean isAbortable = retryPolicy.isAbortable(result.getResult(), result.getFailure());
+    if (retryBudget != null && !retriesExceeded && !result.isSuccess() && !isAbortable && config.allowsRetries())
+      retriesExceeded = !retryBudget.tryRetry();
+    state.retriesExceeded = retriesExceeded;
     boolean shouldRetry = !result.isSuccess() && !isAbortable && !retriesExceeded && config.allowsRetries();
     boolean completed = isAbortable || !shouldRetry;
     boolean success = completed && result.isSuccess() && !isAbortable;
@@ -259,6 +304,20 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
     return super.onFailureAsync(context, result.withNotComplete(), scheduler, future);
   }
 
+  private boolean isRetriesExceeded(ExecutionInternal<R> execution) {
+    RetryState state = (RetryState) execution.getPolicyState(getPolicyIndex());
+    return state != null && state.retriesExceeded;
+  }
+
+  private RetryState stateFor(ExecutionInternal<R> execution) {
+    RetryState state = (RetryState) execution.getPolicyState(getPolicyIndex());
+    if (state == null) {
+      state = new RetryState();
+      execution.setPolicyState(getPolicyIndex(), state);
+    }
+    return state;
+  }
+
   private long getFixedOrRandomDelayNanos(long delayNanos) {
     Duration delay = config.getDelay();
     Duration delayMin = config.getDelayMin();
@@ -267,7 +326,7 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
     if (delayNanos == 0 && delay != null && !delay.equals(Duration.ZERO))
       delayNanos = delay.toNanos();
     else if (delayMin != null && delayMax != null)
-      delayNanos = randomDelayInRange(delayMin.toNanos(), delayMax.toNanos(), Math.random());
+      delayNanos = randomDelayInRange(delayMin.toNanos(), delayMax.toNanos(), random());
     return delayNanos;
   }
 
@@ -277,14 +336,45 @@ public class RetryPolicyExecutor<R> extends PolicyExecutor<R> {
     return delayNanos;
   }
 
-  private long adjustForJitter(long delayNanos) {
+  private long adjustForJitter(RetryState state, long delayNanos) {
     if (config.getJitter() != null)
-      delayNanos = randomDelay(delayNanos, config.getJitter().toNanos(), Math.random());
+      delayNanos = randomDelay(delayNanos, config.getJitter().toNanos(), random());
     else if (config.getJitterFactor() > 0.0)
-      delayNanos = randomDelay(delayNanos, config.getJitterFactor(), Math.random());
+      delayNanos = randomDelay(delayNanos, config.getJitterFactor(), random());
+    else if (config.getJitterStrategy() != null) {
+      switch (config.getJitterStrategy()) {
+        case FULL:
+          delayNanos = fullJitterDelay(delayNanos, random());
+          break;
+        case EQUAL:
+          delayNanos = equalJitterDelay(delayNanos, random());
+          break;
+        case DECORRELATED:
+          long maxDelayNanos = config.getMaxDelay() != null ?
+            config.getMaxDelay().toNanos() :
+            config.getDelayMax() != null ? config.getDelayMax().toNanos() : saturatedMultiply(delayNanos, 3);
+          long previousNanos = state.lastJitteredDelayNanos == 0 ? delayNanos : state.lastJitteredDelayNanos;
+          delayNanos = decorrelatedJitterDelay(delayNanos, previousNanos, maxDelayNanos, random());
+          state.lastJitteredDelayNanos = delayNanos;
+          break;
+        default:
+          throw new IllegalStateException("Unsupported jitter strategy " + config.getJitterStrategy());
+      }
+    }
     return delayNanos;
   }
 
+  /**
+   * Returns a random value from the current thread's random number generator, avoiding contention between threads.
+   */
+  private static double random() {
+    return ThreadLocalRandom.current().nextDouble();
+  }
+
+  private static long saturatedMultiply(long value, int factor) {
+    return value > Long.MAX_VALUE / factor ? Long.MAX_VALUE : value * factor;
+  }
+
   private long adjustForMaxDuration(long delayNanos, long elapsedNanos) {
     if (config.getMaxDuration() != null) {
       long maxRemainingDelay = config.getMaxDuration().toNanos() - elapsedNanos;
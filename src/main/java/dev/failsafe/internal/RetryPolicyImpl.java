@@ -18,6 +18,7 @@ package dev.failsafe.internal;
 import dev.failsafe.RetryPolicy;
 import dev.failsafe.RetryPolicyBuilder;
 import dev.failsafe.RetryPolicyConfig;
+import dev.failsafe.internal.RateLimiterStats.Stopwatch;
 import dev.failsafe.spi.DelayablePolicy;
 import dev.failsafe.spi.FailurePolicy;
 import dev.failsafe.spi.PolicyExecutor;
@@ -35,9 +36,15 @@ import java.util.function.Predicate;
  */
 public class RetryPolicyImpl<R> implements RetryPolicy<R>, FailurePolicy<R>, DelayablePolicy<R> {
   private final RetryPolicyConfig<R> config;
+  private final RetryBudget retryBudget;
 
   public RetryPolicyImpl(RetryPolicyConfig<R> config) {
+    this(config, new Stopwatch());
+  }
+
+  RetryPolicyImpl(RetryPolicyConfig<R> config, Stopwatch stopwatch) {
     this.config = config;
+    retryBudget = config.getRetryBudgetRatio() > 0 ? new RetryBudget(config, stopwatch) : null;
   }
 
   @Override
@@ -66,6 +73,15 @@ public class RetryPolicyImpl<R> implements RetryPolicy<R>, FailurePolicy<R>, Del
     return false;
   }
 
+  /**
+   * Returns the retry budget that's shared across executions, else {@code null} if none is configured.
+   *
+   * @see RetryPolicyBuilder#withRetryBudget(double, int)
+   */
+  RetryBudget getRetryBudget() {
+    return retryBudget;
+  }
+
   @Override
   public PolicyExecutor<R> toExecutor(int policyIndex) {
     return new RetryPolicyExecutor<>(this, policyIndex);
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.CircuitBreaker.State;
+import dev.failsafe.CircuitBreakerConfig;
+import dev.failsafe.internal.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker state that lives in a memory-mapped file, so that circuit breakers in separate processes on the same
+ * host can share one state. The region holds the circuit {@link State}, the time it was opened, its delay, a generation
+ * that is incremented with each transition, and a ring of execution results used by {@link SharedCircuitStats}.
+ * <p>
+ * Since mapped buffers don't support atomic operations in Java 8, writes are made while holding an exclusive
+ * {@link FileLock} on the region, which is guarded within the JVM by a {@link ReentrantLock} since file locks are held
+ * on behalf of the whole JVM. The generation is read without locking, so that circuit breakers only need to lock the
+ * region when it was changed by another circuit breaker. Open times are stored as wall clock times since
+ * {@link System#nanoTime()} is not comparable across processes.
+ * </p>
+ * <p>
+ * Instances are shared by circuit breakers in the same JVM via weak references, and the file channel of an instance
+ * is closed once it's no longer referenced by any circuit breaker.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ */
+final class SharedCircuitState {
+  private static final Map<Path, StateReference> SHARED_STATES = new ConcurrentHashMap<>();
+  private static final ReferenceQueue<SharedCircuitState> RELEASED_STATES = new ReferenceQueue<>();
+  private static final int MAGIC = 0x46534342;
+
+  // Region layout
+  private static final int MAGIC_OFFSET = 0;
+  private static final int CAPACITY_OFFSET = 4;
+  private static final int STATE_OFFSET = 8;
+  private static final int GENERATION_OFFSET = 16;
+  private static final int OPENED_AT_OFFSET = 24;
+  private static final int DELAY_OFFSET = 32;
+  private static final int INDEX_OFFSET = 40;
+  private static final int OCCUPIED_OFFSET = 44;
+  private static final int SUCCESSES_OFFSET = 48;
+  private static final int FAILURES_OFFSET = 52;
+  private static final int ENTRIES_OFFSET = 56;
+
+  // Entry values
+  private static final byte EMPTY = 0;
+  private static final byte FAILURE = 1;
+  private static final byte SUCCESS = 2;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private final ReentrantLock lock = new ReentrantLock();
+  private FileLock fileLock;
+
+  SharedCircuitState(Path path, int capacity) {
+    try {
+      channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      try (FileLock ignore = channel.lock()) {
+        if (channel.size() >= ENTRIES_OFFSET) {
+          MappedByteBuffer header = channel.map(MapMode.READ_ONLY, 0, ENTRIES_OFFSET);
+          Assert.state(header.getInt(MAGIC_OFFSET) == MAGIC, "%s does not contain circuit breaker state", path);
+          Assert.state(header.getInt(CAPACITY_OFFSET) >= capacity,
+            "%s has a capacity of %s but a capacity of %s is required", path, header.getInt(CAPACITY_OFFSET),
+            capacity);
+          this.capacity = header.getInt(CAPACITY_OFFSET);
+          buffer = channel.map(MapMode.READ_WRITE, 0, ENTRIES_OFFSET + this.capacity);
+        } else {
+          this.capacity = capacity;
+          buffer = channel.map(MapMode.READ_WRITE, 0, ENTRIES_OFFSET + capacity);
+          buffer.putInt(CAPACITY_OFFSET, capacity);
+          buffer.putInt(STATE_OFFSET, State.CLOSED.ordinal());
+          buffer.putInt(MAGIC_OFFSET, MAGIC);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the SharedCircuitState for the {@code config}'s shared state path, mapping it if needed. Circuit breakers
+   * in the same JVM that share a path share the same instance.
+   */
+  static SharedCircuitState of(CircuitBreakerConfig<?> config) {
+    closeReleasedStates();
+    Path path = config.getSharedStatePath().toAbsolutePath().normalize();
+    int capacity = capacityFor(config);
+    SharedCircuitState state;
+    synchronized (SHARED_STATES) {
+      StateReference reference = SHARED_STATES.get(path);
+      state = reference == null ? null : reference.get();
+      if (state == null) {
+        state = new SharedCircuitState(path, capacity);
+        SHARED_STATES.put(path, new StateReference(path, state));
+      }
+    }
+    Assert.state(state.capacity >= capacity, "%s has a capacity of %s but a capacity of %s is required", path,
+      state.capacity, capacity);
+    return state;
+  }
+
+  /**
+   * A weak reference to a SharedCircuitState that retains its channel so it can be closed once the state is released.
+   */
+  private static final class StateReference extends WeakReference<SharedCircuitState> {
+    final Path path;
+    final FileChannel channel;
+
+    StateReference(Path path, SharedCircuitState state) {
+      super(state, RELEASED_STATES);
+      this.path = path;
+      this.channel = state.channel;
+    }
+  }
+
+  /**
+   * Closes the channels of states that are no longer referenced by any circuit breaker.
+   */
+  private static void closeReleasedStates() {
+    for (StateReference reference; (reference = (StateReference) RELEASED_STATES.poll()) != null; ) {
+      SHARED_STATES.remove(reference.path, reference);
+      try {
+        reference.channel.close();
+      } catch (IOException ignore) {
+      }
+    }
+  }
+
+  /**
+   * Returns the number of results that must be stored for any state of a circuit breaker with the {@code config}.
+   */
+  private static int capacityFor(CircuitBreakerConfig<?> config) {
+    return Math.max(1, Math.max(config.getFailureThresholdingCapacity(),
+      Math.max(config.getFailureExecutionThreshold(), config.getSuccessThresholdingCapacity())));
+  }
+
+  /**
+   * Locks the region against writes from other threads and processes. Locking is reentrant.
+   */
+  void lock() {
+    lock.lock();
+    if (lock.getHoldCount() == 1) {
+      try {
+        fileLock = channel.lock(0, ENTRIES_OFFSET + capacity, false);
+      } catch (IOException e) {
+        lock.unlock();
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  void unlock() {
+    try {
+      if (lock.getHoldCount() == 1) {
+        fileLock.release();
+        fileLock = null;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the generation of the state, which changes with every transition.
+   */
+  long getGeneration() {
+    return buffer.getLong(GENERATION_OFFSET);
+  }
+
+  State getState() {
+    return State.values()[buffer.getInt(STATE_OFFSET)];
+  }
+
+  /**
+   * Returns the delay remaining before an open circuit may be half-opened.
+   */
+  Duration getRemainingDelay() {
+    long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - buffer.getLong(OPENED_AT_OFFSET));
+    return Duration.ofNanos(Math.max(buffer.getLong(DELAY_OFFSET) - elapsedNanos, 0));
+  }
+
+  /**
+   * Records a transition to the {@code state}, returning the new generation. Results are cleared unless the circuit is
+   * opened, in which case the stats of the previous state are retained. Must be called while locked.
+   */
+  long transitionTo(State state, Duration delay) {
+    buffer.putInt(STATE_OFFSET, state.ordinal());
+    if (state == State.OPEN) {
+      buffer.putLong(OPENED_AT_OFFSET, System.currentTimeMillis());
+      buffer.putLong(DELAY_OFFSET, delay.toNanos());
+    } else
+      clearResults();
+    long generation = getGeneration() + 1;
+    buffer.putLong(GENERATION_OFFSET, generation);
+    return generation;
+  }
+
+  /**
+   * Records a result in a ring of the {@code windowCapacity} most recent results, replacing the oldest result once the
+   * ring is full.
+   */
+  void recordResult(boolean success, int windowCapacity) {
+    lock();
+    try {
+      int index = buffer.getInt(INDEX_OFFSET);
+      if (index >= windowCapacity)
+        index = 0;
+      byte previous = buffer.get(ENTRIES_OFFSET + index);
+      if (previous == SUCCESS)
+        increment(SUCCESSES_OFFSET, -1);
+      else if (previous == FAILURE)
+        increment(FAILURES_OFFSET, -1);
+      else
+        increment(OCCUPIED_OFFSET, 1);
+
+      buffer.put(ENTRIES_OFFSET + index, success ? SUCCESS : FAILURE);
+      increment(success ? SUCCESSES_OFFSET : FAILURES_OFFSET, 1);
+      buffer.putInt(INDEX_OFFSET, index + 1);
+    } finally {
+      unlock();
+    }
+  }
+
+  int getExecutionCount() {
+    return buffer.getInt(OCCUPIED_OFFSET);
+  }
+
+  int getSuccessCount() {
+    return buffer.getInt(SUCCESSES_OFFSET);
+  }
+
+  int getFailureCount() {
+    return buffer.getInt(FAILURES_OFFSET);
+  }
+
+  void clearResults() {
+    lock();
+    try {
+      for (int i = 0; i < capacity; i++)
+        buffer.put(ENTRIES_OFFSET + i, EMPTY);
+      buffer.putInt(INDEX_OFFSET, 0);
+      buffer.putInt(OCCUPIED_OFFSET, 0);
+      buffer.putInt(SUCCESSES_OFFSET, 0);
+      buffer.putInt(FAILURES_OFFSET, 0);
+    } finally {
+      unlock();
+    }
+  }
+
+  private void increment(int offset, int delta) {
+    buffer.putInt(offset, buffer.getInt(offset) + delta);
+  }
+}
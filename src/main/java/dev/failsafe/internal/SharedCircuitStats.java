@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+/**
+ * A CircuitStats implementation that counts the most recent execution results in a {@link SharedCircuitState}, so that
+ * results recorded by any process sharing the state contribute to thresholding.
+ *
+ * @author Jonathan Halterman
+ */
+class SharedCircuitStats implements CircuitStats {
+  private final SharedCircuitState sharedState;
+  private final int capacity;
+
+  SharedCircuitStats(SharedCircuitState sharedState, int capacity) {
+    this.sharedState = sharedState;
+    this.capacity = Math.max(1, capacity);
+  }
+
+  @Override
+  public int getFailureCount() {
+    return sharedState.getFailureCount();
+  }
+
+  @Override
+  public int getExecutionCount() {
+    return sharedState.getExecutionCount();
+  }
+
+  @Override
+  public int getSuccessCount() {
+    return sharedState.getSuccessCount();
+  }
+
+  @Override
+  public int getFailureRate() {
+    int executions = getExecutionCount();
+    return (int) Math.round(executions == 0 ? 0 : (double) getFailureCount() / (double) executions * 100.0);
+  }
+
+  @Override
+  public int getSuccessRate() {
+    int executions = getExecutionCount();
+    return (int) Math.round(executions == 0 ? 0 : (double) getSuccessCount() / (double) executions * 100.0);
+  }
+
+  @Override
+  public void recordFailure() {
+    sharedState.recordResult(false, capacity);
+  }
+
+  @Override
+  public void recordSuccess() {
+    sharedState.recordResult(true, capacity);
+  }
+
+  @Override
+  public void reset() {
+    sharedState.clearResults();
+  }
+}
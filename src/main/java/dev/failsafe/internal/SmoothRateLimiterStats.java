@@ -18,11 +18,19 @@ package dev.failsafe.internal;
 import dev.failsafe.RateLimiterConfig;
 import dev.failsafe.internal.util.Maths;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A rate limiter implementation that evenly distributes permits over time, based on the max permits per period. This
  * implementation focuses on the interval between permits, and tracks the next interval in which a permit is free.
+ * <p>
+ * Permits are acquired without locking by compare-and-setting the next free permit time, retrying if another thread
+ * acquired permits concurrently.
+ * </p>
  */
 class SmoothRateLimiterStats extends RateLimiterStats {
   /* The nanos per interval between permits */
@@ -30,7 +38,7 @@ class SmoothRateLimiterStats extends RateLimiterStats {
 
   // The amount of time, relative to the start time, that the next permit will be free.
   // Will be a multiple of intervalNanos.
-  private long nextFreePermitNanos;
+  private final AtomicLong nextFreePermitNanos = new AtomicLong();
 
   SmoothRateLimiterStats(RateLimiterConfig<?> config, Stopwatch stopwatch) {
     super(stopwatch);
@@ -38,37 +46,59 @@ class SmoothRateLimiterStats extends RateLimiterStats {
   }
 
   @Override
-  public synchronized long acquirePermits(long requestedPermits, Duration maxWaitTime) {
-    long currentNanos = stopwatch.elapsedNanos();
+  public long acquirePermits(long requestedPermits, Duration maxWaitTime) {
     long requestedPermitNanos = requestedPermits * intervalNanos;
-    long waitNanos;
-    long newNextFreePermitNanos;
 
-    // If a permit is currently available
-    if (currentNanos >= nextFreePermitNanos) {
-      // Nanos at the start of the current interval
-      long currentIntervalNanos = Maths.roundDown(currentNanos, intervalNanos);
-      newNextFreePermitNanos = Maths.add(currentIntervalNanos, requestedPermitNanos);
-    } else {
-      newNextFreePermitNanos = Maths.add(nextFreePermitNanos, requestedPermitNanos);
-    }
+    while (true) {
+      long currentNanos = stopwatch.elapsedNanos();
+      long nextFreePermitNanos = this.nextFreePermitNanos.get();
+      long newNextFreePermitNanos;
+
+      // If a permit is currently available
+      if (currentNanos >= nextFreePermitNanos) {
+        // Nanos at the start of the current interval
+        long currentIntervalNanos = Maths.roundDown(currentNanos, intervalNanos);
+        newNextFreePermitNanos = Maths.add(currentIntervalNanos, requestedPermitNanos);
+      } else {
+        newNextFreePermitNanos = Maths.add(nextFreePermitNanos, requestedPermitNanos);
+      }
+
+      long waitNanos = Math.max(newNextFreePermitNanos - currentNanos - intervalNanos, 0);
 
-    waitNanos = Math.max(newNextFreePermitNanos - currentNanos - intervalNanos, 0);
+      if (exceedsMaxWaitTime(waitNanos, maxWaitTime))
+        return -1;
 
-    if (exceedsMaxWaitTime(waitNanos, maxWaitTime))
-      return -1;
+      if (this.nextFreePermitNanos.compareAndSet(nextFreePermitNanos, newNextFreePermitNanos))
+        return waitNanos;
+    }
+  }
 
-    nextFreePermitNanos = newNextFreePermitNanos;
-    return waitNanos;
+  long getNextFreePermitNanos() {
+    return nextFreePermitNanos.get();
   }
 
-  synchronized long getNextFreePermitNanos() {
-    return nextFreePermitNanos;
+  /**
+   * Writes the nanos until the next free permit.
+   */
+  @Override
+  void writeSnapshot(DataOutput out) throws IOException {
+    out.writeLong(Math.max(nextFreePermitNanos.get() - stopwatch.elapsedNanos(), 0));
+  }
+
+  /**
+   * Restores the nanos until the next free permit, less the {@code elapsedNanos} since the snapshot was written, rounded
+   * up to the next interval so that the next free permit stays a multiple of {@code intervalNanos}.
+   */
+  @Override
+  void restoreSnapshot(DataInput in, long elapsedNanos) throws IOException {
+    long remainingNanos = in.readLong() - elapsedNanos;
+    if (remainingNanos > 0)
+      nextFreePermitNanos.set(Maths.roundUp(Maths.add(stopwatch.elapsedNanos(), remainingNanos), intervalNanos));
   }
 
   @Override
-  synchronized void reset() {
+  void reset() {
     stopwatch.reset();
-    nextFreePermitNanos = 0;
+    nextFreePermitNanos.set(0);
   }
 }
\ No newline at end of file
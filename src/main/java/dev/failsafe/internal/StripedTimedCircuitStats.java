@@ -0,0 +1,273 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.CircuitBreakerConfig;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free CircuitStats implementation that counts execution results within a time period. Results are recorded
+ * into striped counters in the bucket for the current epoch, where an epoch is the number of bucket-sized periods since
+ * the stats were started. When a slot holds a bucket from an earlier epoch, it's rolled by CAS-replacing it with a new
+ * bucket, so recording never blocks. Reads aggregate the buckets whose epochs fall within the window, and threshold
+ * checks aggregate them once for all of the counts they compare.
+ *
+ * @author Jonathan Halterman
+ */
+class StripedTimedCircuitStats implements CircuitStats {
+  static final int DEFAULT_BUCKET_COUNT = 10;
+
+  private final Clock clock;
+  private final long bucketSizeMillis;
+
+  // Mutable state
+  final AtomicReferenceArray<Bucket> buckets;
+  volatile long startTimeMillis;
+
+  public StripedTimedCircuitStats(int bucketCount, Duration thresholdingPeriod, Clock clock, CircuitStats oldStats) {
+    this.clock = clock;
+    this.buckets = new AtomicReferenceArray<>(bucketCount);
+    this.bucketSizeMillis = Math.max(1, thresholdingPeriod.toMillis() / bucketCount);
+    this.startTimeMillis = clock.currentTimeMillis();
+
+    if (oldStats != null)
+      copyStats(oldStats);
+  }
+
+  static class Clock {
+    long currentTimeMillis() {
+      return System.currentTimeMillis();
+    }
+  }
+
+  static final class Bucket {
+    final long epoch;
+    final LongAdder successes = new LongAdder();
+    final LongAdder failures = new LongAdder();
+
+    Bucket(long epoch) {
+      this.epoch = epoch;
+    }
+
+    @Override
+    public String toString() {
+      return "[epoch=" + epoch + ", s=" + successes + ", f=" + failures + ']';
+    }
+  }
+
+  /**
+   * Copies the most recent buckets from the {@code oldStats} into the most recent buckets of this, else copies the
+   * execution counts if the {@code oldStats} are some other type. The start time is moved back a full window so that
+   * the copied buckets have epochs within it.
+   */
+  void copyStats(CircuitStats oldStats) {
+    if (oldStats instanceof StripedTimedCircuitStats) {
+      StripedTimedCircuitStats old = (StripedTimedCircuitStats) oldStats;
+      long currentTime = clock.currentTimeMillis();
+      long bucketOffset = Math.min(Math.max(0, currentTime - old.startTimeMillis) % old.bucketSizeMillis,
+        bucketSizeMillis - 1);
+      startTimeMillis = currentTime - bucketOffset - (buckets.length() - 1) * bucketSizeMillis;
+      long oldEpoch = old.currentEpoch();
+      long epoch = currentEpoch();
+      int bucketsToCopy = (int) Math.min(Math.min(old.buckets.length(), buckets.length()), oldEpoch + 1);
+
+      for (int i = bucketsToCopy - 1; i >= 0; i--) {
+        Bucket oldBucket = old.buckets.get(old.slotFor(oldEpoch - i));
+        if (oldBucket != null && oldBucket.epoch == oldEpoch - i) {
+          Bucket bucket = bucketFor(epoch - i);
+          bucket.successes.add(oldBucket.successes.sum());
+          bucket.failures.add(oldBucket.failures.sum());
+        }
+      }
+    } else {
+      copyExecutions(oldStats);
+    }
+  }
+
+  /**
+   * Writes the buckets within the window along with their age.
+   */
+  @Override
+  public void writeSnapshot(DataOutput out) throws IOException {
+    long epoch = currentEpoch();
+    int bucketCount = 0;
+    Bucket[] windowBuckets = new Bucket[buckets.length()];
+    for (int i = 0; i < buckets.length(); i++) {
+      Bucket bucket = buckets.get(i);
+      if (bucket != null && bucket.epoch <= epoch && epoch - bucket.epoch < buckets.length())
+        windowBuckets[bucketCount++] = bucket;
+    }
+
+    out.writeByte(BUCKETS_SNAPSHOT);
+    out.writeInt(bucketCount);
+    for (int i = 0; i < bucketCount; i++) {
+      out.writeLong((epoch - windowBuckets[i].epoch) * bucketSizeMillis);
+      out.writeInt(windowBuckets[i].successes.intValue());
+      out.writeInt(windowBuckets[i].failures.intValue());
+    }
+  }
+
+  /**
+   * Restores buckets into the epochs for their age, skipping buckets that have aged out of the window. The start time is
+   * moved back a full window so that restored buckets have epochs within it.
+   */
+  @Override
+  public void restoreBuckets(DataInput in, long elapsedMillis) throws IOException {
+    startTimeMillis = clock.currentTimeMillis() - (buckets.length() - 1) * bucketSizeMillis;
+    long epoch = currentEpoch();
+    for (int i = in.readInt(); i > 0; i--) {
+      long age = (in.readLong() + elapsedMillis) / bucketSizeMillis;
+      int successes = in.readInt();
+      int failures = in.readInt();
+      if (age < buckets.length()) {
+        Bucket bucket = bucketFor(epoch - age);
+        bucket.successes.add(successes);
+        bucket.failures.add(failures);
+      }
+    }
+  }
+
+  @Override
+  public void recordSuccess() {
+    bucketFor(currentEpoch()).successes.increment();
+  }
+
+  @Override
+  public void recordFailure() {
+    bucketFor(currentEpoch()).failures.increment();
+  }
+
+  /**
+   * Summarizes the buckets once, then compares the counts from the summary against the {@code config}'s thresholds.
+   */
+  @Override
+  public boolean isFailureThresholdExceeded(CircuitBreakerConfig<?> config) {
+    long summary = summarize();
+    int failures = failures(summary);
+    int executions = successes(summary) + failures;
+    if (executions < config.getFailureExecutionThreshold())
+      return false;
+
+    double failureRateThreshold = config.getFailureRateThreshold();
+    return failureRateThreshold != 0 ?
+      rate(failures, executions) >= failureRateThreshold :
+      failures >= config.getFailureThreshold();
+  }
+
+  @Override
+  public int getExecutionCount() {
+    long summary = summarize();
+    return successes(summary) + failures(summary);
+  }
+
+  @Override
+  public int getFailureCount() {
+    return failures(summarize());
+  }
+
+  @Override
+  public int getFailureRate() {
+    long summary = summarize();
+    return rate(failures(summary), successes(summary) + failures(summary));
+  }
+
+  @Override
+  public int getSuccessCount() {
+    return successes(summarize());
+  }
+
+  @Override
+  public int getSuccessRate() {
+    long summary = summarize();
+    return rate(successes(summary), successes(summary) + failures(summary));
+  }
+
+  @Override
+  public void reset() {
+    startTimeMillis = clock.currentTimeMillis();
+    for (int i = 0; i < buckets.length(); i++)
+      buckets.set(i, null);
+  }
+
+  /**
+   * Returns the epoch for the current time.
+   */
+  long currentEpoch() {
+    return Math.max(0, clock.currentTimeMillis() - startTimeMillis) / bucketSizeMillis;
+  }
+
+  /**
+   * Returns the bucket for the {@code epoch}, rolling the slot to a new bucket if it holds one from an earlier epoch.
+   * If the slot has already been rolled past the {@code epoch}, which can happen when a recording thread is delayed by
+   * a full window, the newer bucket is returned.
+   */
+  Bucket bucketFor(long epoch) {
+    int slot = slotFor(epoch);
+    Bucket bucket = buckets.get(slot);
+    while (bucket == null || bucket.epoch < epoch) {
+      Bucket newBucket = new Bucket(epoch);
+      if (buckets.compareAndSet(slot, bucket, newBucket))
+        return newBucket;
+      bucket = buckets.get(slot);
+    }
+    return bucket;
+  }
+
+  /**
+   * Returns the successes and failures for buckets within the window, packed into the high and low halves of a long so
+   * that summarizing doesn't allocate.
+   */
+  private long summarize() {
+    long epoch = currentEpoch();
+    long successes = 0;
+    long failures = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      Bucket bucket = buckets.get(i);
+      if (bucket != null && bucket.epoch <= epoch && epoch - bucket.epoch < buckets.length()) {
+        successes += bucket.successes.sum();
+        failures += bucket.failures.sum();
+      }
+    }
+    return (Math.min(successes, Integer.MAX_VALUE) << 32) | Math.min(failures, Integer.MAX_VALUE);
+  }
+
+  private static int successes(long summary) {
+    return (int) (summary >>> 32);
+  }
+
+  private static int failures(long summary) {
+    return (int) summary;
+  }
+
+  private static int rate(int count, int executions) {
+    return (int) Math.round(executions == 0 ? 0 : (double) count / (double) executions * 100.0);
+  }
+
+  private int slotFor(long epoch) {
+    return (int) (epoch % buckets.length());
+  }
+
+  @Override
+  public String toString() {
+    return "StripedTimedCircuitStats[buckets=" + buckets + ']';
+  }
+}
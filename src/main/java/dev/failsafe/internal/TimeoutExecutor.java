@@ -18,6 +18,7 @@ package dev.failsafe.internal;
 import dev.failsafe.Timeout;
 import dev.failsafe.TimeoutConfig;
 import dev.failsafe.TimeoutExceededException;
+import dev.failsafe.metrics.ExecutionMetrics;
 import dev.failsafe.spi.*;
 
 import java.util.concurrent.CompletableFuture;
@@ -29,20 +30,27 @@ import java.util.function.Function;
 /**
  * A PolicyExecutor that handles failures according to a {@link Timeout}.
  * <p>
- * Timeouts are scheduled to occur in a separate thread. When exceeded, a {@link TimeoutExceededException} is recorded
- * as the execution result. If another result is recorded before the timeout is exceeded, any pending timeouts are
- * cancelled.
+ * Timeouts are scheduled to occur in a separate thread, using the policy's configured scheduler if any, else {@link
+ * Scheduler#DEFAULT}. When exceeded, a {@link TimeoutExceededException} is recorded as the execution result. If
+ * another result is recorded before the timeout is exceeded, any pending timeouts are cancelled.
  *
  * @param <R> result type
  */
 public class TimeoutExecutor<R> extends PolicyExecutor<R> {
   private final Timeout<R> policy;
   private final TimeoutConfig<R> config;
+  private final Scheduler timeoutScheduler;
 
   public TimeoutExecutor(TimeoutImpl<R> timeout, int policyIndex) {
     super(timeout, policyIndex);
     policy = timeout;
     config = timeout.getConfig();
+    timeoutScheduler = config.getScheduler() != null ? config.getScheduler() : Scheduler.DEFAULT;
+  }
+
+  @Override
+  public boolean isShareable() {
+    return true;
   }
 
   @Override
@@ -50,6 +58,13 @@ public class TimeoutExecutor<R> extends PolicyExecutor<R> {
     return !result.isNonResult() && result.getFailure() instanceof TimeoutExceededException;
   }
 
+  /**
+   * Returns the policy's timeout, shortened to the execution's deadline if that's sooner.
+   */
+  private long getTimeoutNanos(ExecutionInternal<R> execution) {
+    return Math.max(0, Math.min(config.getTimeout().toNanos(), execution.getRemainingNanos()));
+  }
+
   /**
    * Schedules a separate timeout call that fails with {@link TimeoutExceededException} if the policy's timeout is
    * exceeded.
@@ -69,10 +84,12 @@ public class TimeoutExecutor<R> extends PolicyExecutor<R> {
 
       try {
         // Schedule timeout check
-        timeoutFuture = Scheduler.DEFAULT.schedule(() -> {
+        timeoutFuture = timeoutScheduler.schedule(() -> {
           // Guard against race with execution completion
           ExecutionResult<R> cancelResult = ExecutionResult.failure(new TimeoutExceededException(policy));
           if (result.compareAndSet(null, cancelResult)) {
+            recordMetric(execution, ExecutionMetrics::recordTimeout);
+
             // Cancel and interrupt
             execution.record(cancelResult);
             execution.cancel(this);
@@ -87,7 +104,7 @@ public class TimeoutExecutor<R> extends PolicyExecutor<R> {
             }
           }
           return null;
-        }, config.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        }, getTimeoutNanos(execution), TimeUnit.NANOSECONDS);
       } catch (Throwable t) {
         // Hard scheduling failure
         return postExecute(execution, ExecutionResult.failure(t));
@@ -119,35 +136,36 @@ public class TimeoutExecutor<R> extends PolicyExecutor<R> {
       AtomicReference<Future<R>> timeoutFutureRef = new AtomicReference<>();
       CompletableFuture<ExecutionResult<R>> promise = new CompletableFuture<>();
 
-      // Guard against race with AsyncExecution.record, AsyncExecution.complete, future.complete or future.cancel
-      synchronized (future) {
-        // Schedule timeout if we are not done and not recording a result
-        if (!future.isDone() && !execution.isRecorded()) {
-          try {
-            Future<R> timeoutFuture = (Future<R>) Scheduler.DEFAULT.schedule(() -> {
-              // Guard against race with execution completion
-              ExecutionResult<R> cancelResult = ExecutionResult.failure(new TimeoutExceededException(policy));
-              if (resultRef.compareAndSet(null, cancelResult)) {
-                // Cancel and interrupt
-                execution.record(cancelResult);
-                execution.cancel(this);
-                future.cancelDependencies(this, config.canInterrupt(), cancelResult);
-              }
+      // Schedule timeout if we are not done and not recording a result. A cancellation that races with this is applied
+      // when the cancel function is set, and a recorded result that races with the timeout is ordered by the resultRef.
+      if (!future.isDone() && !execution.isRecorded()) {
+        try {
+          Future<R> timeoutFuture = (Future<R>) timeoutScheduler.schedule(() -> {
+            // Guard against race with execution completion
+            ExecutionResult<R> cancelResult = ExecutionResult.failure(new TimeoutExceededException(policy));
+            if (resultRef.compareAndSet(null, cancelResult)) {
+              recordMetric(execution, ExecutionMetrics::recordTimeout);
+
+              // Cancel and interrupt. Recording is atomic, so this is ignored if AsyncExecution.record or
+              // AsyncExecution.complete recorded first, and any completion runs without holding a lock.
+              execution.record(cancelResult);
+              execution.cancel(this);
+              future.forAttempt(execution, this).cancelDependencies(this, config.canInterrupt(), cancelResult);
+            }
 
-              return null;
-            }, config.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
-            timeoutFutureRef.set(timeoutFuture);
-
-            // Propagate outer cancellations to the Timeout future and its promise
-            future.setCancelFn(this, (mayInterrupt, cancelResult) -> {
-              timeoutFuture.cancel(mayInterrupt);
-              resultRef.compareAndSet(null, cancelResult);
-            });
-          } catch (Throwable t) {
-            // Hard scheduling failure
-            promise.completeExceptionally(t);
-            return promise;
-          }
+            return null;
+          }, getTimeoutNanos(execution), TimeUnit.NANOSECONDS);
+          timeoutFutureRef.set(timeoutFuture);
+
+          // Propagate outer cancellations to the Timeout future and its promise
+          future.forAttempt(execution, this).setCancelFn(this, (mayInterrupt, cancelResult) -> {
+            timeoutFuture.cancel(mayInterrupt);
+            resultRef.compareAndSet(null, cancelResult);
+          });
+        } catch (Throwable t) {
+          // Hard scheduling failure
+          promise.completeExceptionally(t);
+          return promise;
         }
       }
 
@@ -21,4 +21,13 @@ public final class Maths {
   public static long roundDown(long input, long interval) {
     return (input / interval) * interval;
   }
+
+  /**
+   * Returns the non-negative {@code input} rounded up to the nearest {@code interval}, else {@code Long.MAX_VALUE} if
+   * rounding up would overflow.
+   */
+  public static long roundUp(long input, long interval) {
+    long rounded = roundDown(input, interval);
+    return rounded == input ? input : add(rounded, interval);
+  }
 }
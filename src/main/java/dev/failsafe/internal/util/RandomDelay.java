@@ -37,4 +37,18 @@ public final class RandomDelay {
     double randomFactor = 1 + (1 - random * 2) * jitterFactor;
     return (long) (delay * randomFactor);
   }
+
+  public static long fullJitterDelay(long delay, double random) {
+    return (long) (random * delay);
+  }
+
+  public static long equalJitterDelay(long delay, double random) {
+    long half = delay / 2;
+    return half + (long) (random * (delay - half));
+  }
+
+  public static long decorrelatedJitterDelay(long delay, long previousDelay, long maxDelay, double random) {
+    long upper = previousDelay > maxDelay / 3 ? maxDelay : previousDelay * 3;
+    return randomDelayInRange(delay, Math.max(delay, upper), random);
+  }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Utilities for sleeping with nanosecond precision.
+ *
+ * @author Jonathan Halterman
+ */
+public final class Sleeper {
+  private Sleeper() {
+  }
+
+  /**
+   * Sleeps for the {@code nanos}, parking the current thread until the last {@code spinNanos} of the sleep, which are
+   * spent spinning. Spinning avoids the wakeup latency of parking for very short waits, at the cost of a busy CPU.
+   *
+   * @throws InterruptedException if the current thread is interrupted while sleeping, which clears the interrupt flag
+   */
+  public static void sleep(long nanos, long spinNanos) throws InterruptedException {
+    long deadline = System.nanoTime() + nanos;
+    while (true) {
+      if (Thread.interrupted())
+        throw new InterruptedException();
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0)
+        return;
+      if (remaining > spinNanos)
+        LockSupport.parkNanos(remaining - spinNanos);
+      else
+        Thread.yield();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records counters and latency histograms for executions. Metrics can be enabled for all executions of a {@link
+ * dev.failsafe.FailsafeExecutor FailsafeExecutor} via {@link dev.failsafe.FailsafeExecutor#withMetrics(ExecutionMetrics)
+ * withMetrics}, and for the executions that a particular policy handles via {@link
+ * dev.failsafe.PolicyBuilder#withMetrics(ExecutionMetrics) withMetrics} on the policy's builder. An ExecutionMetrics
+ * should only be enabled in one place, else events will be counted more than once.
+ * <p>
+ * Recording uses striped counters and a lock-free {@link LatencyHistogram}, and {@link #snapshot() snapshots} can be
+ * taken at any time without blocking executions.
+ * </p>
+ * <p>
+ * This class is threadsafe.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ * @see MetricsSnapshot
+ */
+public final class ExecutionMetrics {
+  private final LongAdder attempts = new LongAdder();
+  private final LongAdder successes = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder fallbacks = new LongAdder();
+  private final LatencyHistogram attemptLatency = new LatencyHistogram();
+  private final LatencyHistogram executionLatency = new LatencyHistogram();
+
+  /**
+   * Records an execution attempt that took {@code latencyNanos}.
+   */
+  public void recordAttempt(long latencyNanos) {
+    attempts.increment();
+    attemptLatency.record(latencyNanos);
+  }
+
+  /**
+   * Records a completed execution, including all of its attempts, that took {@code latencyNanos} and was a {@code
+   * success} or failure.
+   */
+  public void recordExecution(long latencyNanos, boolean success) {
+    if (success)
+      successes.increment();
+    else
+      failures.increment();
+    executionLatency.record(latencyNanos);
+  }
+
+  /**
+   * Records a retry being scheduled.
+   */
+  public void recordRetry() {
+    retries.increment();
+  }
+
+  /**
+   * Records an execution being rejected by a {@link dev.failsafe.CircuitBreaker CircuitBreaker}, {@link
+   * dev.failsafe.Bulkhead Bulkhead}, or {@link dev.failsafe.RateLimiter RateLimiter}.
+   */
+  public void recordRejection() {
+    rejections.increment();
+  }
+
+  /**
+   * Records an execution being timed out by a {@link dev.failsafe.Timeout Timeout}.
+   */
+  public void recordTimeout() {
+    timeouts.increment();
+  }
+
+  /**
+   * Records a {@link dev.failsafe.Fallback Fallback} being applied.
+   */
+  public void recordFallback() {
+    fallbacks.increment();
+  }
+
+  /**
+   * Returns a point-in-time snapshot of the metrics. Events that are recorded concurrently with the snapshot may or may
+   * not be included.
+   */
+  public MetricsSnapshot snapshot() {
+    return new MetricsSnapshot(attempts.sum(), successes.sum(), failures.sum(), retries.sum(), rejections.sum(),
+      timeouts.sum(), fallbacks.sum(), attemptLatency.snapshot(), executionLatency.snapshot());
+  }
+}
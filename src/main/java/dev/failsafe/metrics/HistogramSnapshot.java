@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.metrics;
+
+import dev.failsafe.internal.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * A point-in-time snapshot of a {@link LatencyHistogram}.
+ *
+ * @author Jonathan Halterman
+ */
+public final class HistogramSnapshot {
+  private final long[] counts;
+  private final long count;
+  private final long sumNanos;
+  private final long minNanos;
+  private final long maxNanos;
+
+  HistogramSnapshot(long[] counts, long count, long sumNanos, long minNanos, long maxNanos) {
+    this.counts = counts;
+    this.count = count;
+    this.sumNanos = sumNanos;
+    this.minNanos = minNanos;
+    this.maxNanos = maxNanos;
+  }
+
+  /**
+   * Returns the number of recorded latencies.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the smallest recorded latency, else {@link Duration#ZERO} if none were recorded.
+   */
+  public Duration getMin() {
+    return Duration.ofNanos(minNanos);
+  }
+
+  /**
+   * Returns the largest recorded latency, else {@link Duration#ZERO} if none were recorded.
+   */
+  public Duration getMax() {
+    return Duration.ofNanos(maxNanos);
+  }
+
+  /**
+   * Returns the mean of the recorded latencies, else {@link Duration#ZERO} if none were recorded.
+   */
+  public Duration getMean() {
+    return count == 0 ? Duration.ZERO : Duration.ofNanos(sumNanos / count);
+  }
+
+  /**
+   * Returns the latency that the {@code percentile} of recorded latencies are less than or equal to, approximated to
+   * the upper bound of its histogram bucket, else {@link Duration#ZERO} if none were recorded. For example, {@code
+   * getPercentile(99)} returns the 99th percentile latency.
+   *
+   * @throws IllegalArgumentException if {@code percentile} is not between 0 and 100
+   */
+  public Duration getPercentile(double percentile) {
+    Assert.isTrue(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+    if (count == 0)
+      return Duration.ZERO;
+    if (percentile == 0)
+      return getMin();
+
+    long rank = (long) Math.ceil(percentile / 100 * count);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank)
+        return Duration.ofNanos(Math.max(minNanos, Math.min(maxNanos, LatencyHistogram.upperBoundOf(i))));
+    }
+    return getMax();
+  }
+
+  @Override
+  public String toString() {
+    return "HistogramSnapshot[count=" + count + ", min=" + getMin() + ", mean=" + getMean() + ", p50=" + getPercentile(
+      50) + ", p99=" + getPercentile(99) + ", max=" + getMax() + ']';
+  }
+}
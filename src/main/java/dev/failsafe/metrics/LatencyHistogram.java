@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies, in nanoseconds. Latencies are counted in logarithmic buckets, with each power of
+ * two split into 8 linear sub-buckets, so that recorded values are approximated within 12.5%. Recording a latency is a
+ * few atomic increments and never blocks, and {@link #snapshot() snapshots} copy the bucket counts without stopping
+ * concurrent recording.
+ * <p>
+ * This class is threadsafe.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ * @see HistogramSnapshot
+ */
+public final class LatencyHistogram {
+  static final int SUB_BUCKET_BITS = 3;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records the {@code latencyNanos}. Negative latencies are recorded as {@code 0}.
+   */
+  public void record(long latencyNanos) {
+    latencyNanos = Math.max(0, latencyNanos);
+    counts.incrementAndGet(indexOf(latencyNanos));
+    sum.add(latencyNanos);
+    min.accumulate(latencyNanos);
+    max.accumulate(latencyNanos);
+  }
+
+  /**
+   * Returns a point-in-time snapshot of the histogram. Latencies that are recorded concurrently with the snapshot may
+   * or may not be included.
+   */
+  public HistogramSnapshot snapshot() {
+    long[] snapshotCounts = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshotCounts[i] = counts.get(i);
+      count += snapshotCounts[i];
+    }
+    return new HistogramSnapshot(snapshotCounts, count, sum.sum(), count == 0 ? 0 : min.get(), max.get());
+  }
+
+  /**
+   * Returns the index of the bucket for the non-negative {@code value}. Values less than {@code 2 * SUB_BUCKETS} have a
+   * bucket each.
+   */
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS)
+      return (int) value;
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Returns the largest value that is counted in the bucket at the {@code index}.
+   */
+  static long upperBoundOf(int index) {
+    if (index < SUB_BUCKETS)
+      return index;
+    int shift = index / SUB_BUCKETS - 1;
+    long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
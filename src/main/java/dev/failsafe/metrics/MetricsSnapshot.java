@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.metrics;
+
+/**
+ * A point-in-time snapshot of {@link ExecutionMetrics}.
+ *
+ * @author Jonathan Halterman
+ */
+public final class MetricsSnapshot {
+  private final long attempts;
+  private final long successes;
+  private final long failures;
+  private final long retries;
+  private final long rejections;
+  private final long timeouts;
+  private final long fallbacks;
+  private final HistogramSnapshot attemptLatency;
+  private final HistogramSnapshot executionLatency;
+
+  MetricsSnapshot(long attempts, long successes, long failures, long retries, long rejections, long timeouts,
+    long fallbacks, HistogramSnapshot attemptLatency, HistogramSnapshot executionLatency) {
+    this.attempts = attempts;
+    this.successes = successes;
+    this.failures = failures;
+    this.retries = retries;
+    this.rejections = rejections;
+    this.timeouts = timeouts;
+    this.fallbacks = fallbacks;
+    this.attemptLatency = attemptLatency;
+    this.executionLatency = executionLatency;
+  }
+
+  /**
+   * Returns the number of execution attempts.
+   */
+  public long getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Returns the number of completed executions, which is the sum of successes and failures.
+   */
+  public long getExecutions() {
+    return successes + failures;
+  }
+
+  /**
+   * Returns the number of executions that completed successfully.
+   */
+  public long getSuccesses() {
+    return successes;
+  }
+
+  /**
+   * Returns the number of executions that completed with a failure.
+   */
+  public long getFailures() {
+    return failures;
+  }
+
+  /**
+   * Returns the number of retries that were scheduled.
+   */
+  public long getRetries() {
+    return retries;
+  }
+
+  /**
+   * Returns the number of executions that were rejected by a CircuitBreaker, Bulkhead, or RateLimiter.
+   */
+  public long getRejections() {
+    return rejections;
+  }
+
+  /**
+   * Returns the number of executions that were timed out by a Timeout.
+   */
+  public long getTimeouts() {
+    return timeouts;
+  }
+
+  /**
+   * Returns the number of times that a Fallback was applied.
+   */
+  public long getFallbacks() {
+    return fallbacks;
+  }
+
+  /**
+   * Returns the latencies of execution attempts.
+   */
+  public HistogramSnapshot getAttemptLatency() {
+    return attemptLatency;
+  }
+
+  /**
+   * Returns the latencies of completed executions, including all of their attempts.
+   */
+  public HistogramSnapshot getExecutionLatency() {
+    return executionLatency;
+  }
+
+  @Override
+  public String toString() {
+    return "MetricsSnapshot[attempts=" + attempts + ", successes=" + successes + ", failures=" + failures
+      + ", retries=" + retries + ", rejections=" + rejections + ", timeouts=" + timeouts + ", fallbacks=" + fallbacks
+      + ", attemptLatency=" + attemptLatency + ", executionLatency=" + executionLatency + ']';
+  }
+}
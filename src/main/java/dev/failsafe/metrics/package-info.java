@@ -0,0 +1,4 @@
+/**
+ * Execution metrics types.
+ */
+package dev.failsafe.metrics;
@@ -44,6 +44,31 @@ public interface AsyncExecutionInternal<R> extends ExecutionInternal<R>, AsyncEx
    */
   boolean isPostExecuted(int policyIndex);
 
+  /**
+   * Returns the lock that PolicyExecutors hold while post-executing a result for the execution. The lock is shared by
+   * all attempts of the execution, and is separate from the execution itself so that PolicyExecutors can be shared by
+   * many executions without contending. Returns the execution itself by default.
+   */
+  default Object getPostExecuteLock() {
+    return this;
+  }
+
+  /**
+   * Returns the {@link FailsafeFuture#newAttemptFuture(PolicyExecutor) attempt future} that tracks the dependencies of
+   * this execution and its copies, else {@code null} if they're tracked by the execution's FailsafeFuture. Returns
+   * {@code null} by default.
+   */
+  default FailsafeFuture<R> getAttemptFuture() {
+    return null;
+  }
+
+  /**
+   * Sets the {@code attemptFuture} that tracks the dependencies of this execution and its copies. Does nothing by
+   * default, in which case dependencies are tracked by the execution's FailsafeFuture.
+   */
+  default void setAttemptFuture(FailsafeFuture<R> attemptFuture) {
+  }
+
   /**
    * Returns a new copy of the AsyncExecutionInternal.
    */
@@ -16,6 +16,10 @@
 package dev.failsafe.spi;
 
 import dev.failsafe.ExecutionContext;
+import dev.failsafe.metrics.ExecutionMetrics;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
 
 /**
  * Internal execution APIs.
@@ -29,6 +33,49 @@ public interface ExecutionInternal<R> extends ExecutionContext<R> {
    */
   ExecutionResult<R> getResult();
 
+  /**
+   * Returns the nanoseconds remaining before the execution's deadline, which may be negative if the deadline has passed,
+   * else {@link Long#MAX_VALUE} if the execution has no deadline. Derived from {@link #getRemainingTime()} by default.
+   */
+  default long getRemainingNanos() {
+    Duration remainingTime = getRemainingTime();
+    return remainingTime == null ? Long.MAX_VALUE : remainingTime.toNanos();
+  }
+
+  /**
+   * Returns the elapsed time since the initial execution began, in nanoseconds. Derived from {@link #getElapsedTime()}
+   * by default.
+   */
+  default long getElapsedNanos() {
+    return getElapsedTime().toNanos();
+  }
+
+  /**
+   * Returns the elapsed time since the last execution attempt began, in nanoseconds. Derived from {@link
+   * #getElapsedAttemptTime()} by default.
+   */
+  default long getElapsedAttemptNanos() {
+    return getElapsedAttemptTime().toNanos();
+  }
+
+  /**
+   * Returns the metrics of the FailsafeExecutor that is performing the execution, else {@code null} if the executor
+   * has no metrics. Returns {@code null} by default.
+   */
+  default ExecutionMetrics getMetrics() {
+    return null;
+  }
+
+  /**
+   * Publishes the {@code event} and {@code result} to the EventDispatcher of the FailsafeExecutor that is performing
+   * the execution, to be delivered asynchronously along with a context that captures this execution's properties as of
+   * now. Returns {@code false} if the executor has no open EventDispatcher, in which case the caller should handle the
+   * event. Returns {@code false} by default.
+   */
+  default boolean dispatch(BiConsumer<ExecutionResult<R>, ExecutionContext<R>> event, ExecutionResult<R> result) {
+    return false;
+  }
+
   /**
    * Called when execution of the user's supplier is about to begin.
    */
@@ -65,4 +112,25 @@ public interface ExecutionInternal<R> extends ExecutionContext<R> {
    * Returns whether the execution is considered cancelled for the {@code policyExecutor}.
    */
   boolean isCancelled(PolicyExecutor<R> policyExecutor);
+
+  /**
+   * Returns the state that was stored for the policy at the {@code policyIndex} via {@link #setPolicyState(int,
+   * Object)}, else {@code null} if none was stored. Policy state is shared by all attempts of an execution. Returns
+   * {@code null} by default.
+   */
+  default Object getPolicyState(int policyIndex) {
+    return null;
+  }
+
+  /**
+   * Stores {@code state} for the policy at the {@code policyIndex}. Allows a {@link PolicyExecutor} to keep
+   * per-execution state on the execution rather than in itself, so that the PolicyExecutor can be shared by concurrent
+   * executions.
+   *
+   * @throws UnsupportedOperationException by default, since the state could not be retrieved later. Implementations
+   * must override this to be used with policies that store state, such as a RetryPolicy.
+   */
+  default void setPolicyState(int policyIndex, Object state) {
+    throw new UnsupportedOperationException("Policy state is not supported by " + getClass().getName());
+  }
 }
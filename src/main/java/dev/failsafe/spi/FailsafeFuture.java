@@ -16,44 +16,134 @@
 package dev.failsafe.spi;
 
 import dev.failsafe.ExecutionContext;
+import dev.failsafe.internal.util.Assert;
 
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 
 /**
  * A CompletableFuture implementation that propagates cancellations and calls completion handlers.
+ * <p>
+ * Completion is claimed with a CAS on the future's state, so that exactly one complete or cancel call wins, and
+ * completion handlers are called without holding any lock. Cancel functions are stored in a small array indexed by
+ * policy index, and in an overflow map for any policy indexes beyond the array. A cancel function that is set after the
+ * future is cancelled is called immediately.
+ * </p>
+ * <p>
+ * Policies that perform several attempts at once, such as a {@link dev.failsafe.Hedge}, track the dependencies of each
+ * attempt with a separate {@link #newAttemptFuture(PolicyExecutor) attempt future}, so that the cancel functions of one
+ * attempt do not replace another's, and a losing attempt's dependencies can be cancelled on their own.
+ * </p>
+ * <p>
+ * Note: Neither the future nor the executors synchronize on it. Async results that race with timeouts are ordered by
+ * each execution's atomic recording and each timeout's result CAS, so completion handlers are never called while
+ * holding the future's monitor.
+ * </p>
  *
  * @param <R> result type
  * @author Jonathan Halterman
  */
 public class FailsafeFuture<R> extends CompletableFuture<R> {
-  private final BiConsumer<ExecutionResult<R>, ExecutionContext<R>> completionHandler;
+  @SuppressWarnings("rawtypes")
+  private static final AtomicIntegerFieldUpdater<FailsafeFuture> STATE = AtomicIntegerFieldUpdater.newUpdater(
+    FailsafeFuture.class, "state");
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<FailsafeFuture, AtomicReferenceArray> CANCEL_FUNCTIONS =
+    AtomicReferenceFieldUpdater.newUpdater(FailsafeFuture.class, AtomicReferenceArray.class, "cancelFunctions");
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<FailsafeFuture, ConcurrentSkipListMap> OVERFLOW_CANCEL_FUNCTIONS =
+    AtomicReferenceFieldUpdater.newUpdater(FailsafeFuture.class, ConcurrentSkipListMap.class,
+      "overflowCancelFunctions");
+  private static final int PENDING = 0;
+  private static final int COMPLETED = 1;
+  private static final int CANCELLED = 2;
+  private static final int CANCELLED_WITH_INTERRUPT = 3;
+  // The lowest policy index that a cancel function can be set for
+  private static final int MIN_POLICY_INDEX = -2;
+  // The number of policies to allow cancel functions for when the policy count is not known
+  private static final int DEFAULT_POLICY_COUNT = 16;
 
-  // Mutable state guarded by "this"
+  private final BiConsumer<ExecutionResult<R>, ExecutionContext<R>> completionHandler;
+  private final int policyCount;
+  // The future that an attempt future was created from, else null
+  private final FailsafeFuture<R> parent;
 
+  // Mutable state
+  private volatile int state;
   // The most recent execution attempt
-  private ExecutionInternal<R> newestExecution;
-  // Functions to apply when this future is cancelled for each policy index, in descending order
-  private Map<Integer, BiConsumer<Boolean, ExecutionResult<R>>> cancelFunctions;
-  // Whether a cancel with interrupt has already occurred
-  private boolean cancelledWithInterrupt;
+  private volatile ExecutionInternal<R> newestExecution;
+  // Functions to apply when this future is cancelled, indexed by policy index - MIN_POLICY_INDEX. Lazily created.
+  private volatile AtomicReferenceArray<BiConsumer<Boolean, ExecutionResult<R>>> cancelFunctions;
+  // Functions for indexes beyond the cancelFunctions array, keyed by policy index - MIN_POLICY_INDEX. Lazily created.
+  private volatile ConcurrentSkipListMap<Integer, BiConsumer<Boolean, ExecutionResult<R>>> overflowCancelFunctions;
 
   public FailsafeFuture(BiConsumer<ExecutionResult<R>, ExecutionContext<R>> completionHandler) {
+    this(completionHandler, DEFAULT_POLICY_COUNT);
+  }
+
+  /**
+   * Creates a FailsafeFuture for an execution of {@code policyCount} policies, which sizes the array of {@link
+   * #setCancelFn(int, BiConsumer) cancel functions}. Cancel functions for greater policy indexes are still supported,
+   * but are stored in a map.
+   */
+  public FailsafeFuture(BiConsumer<ExecutionResult<R>, ExecutionContext<R>> completionHandler, int policyCount) {
+    this(completionHandler, policyCount, null);
+  }
+
+  private FailsafeFuture(BiConsumer<ExecutionResult<R>, ExecutionContext<R>> completionHandler, int policyCount,
+    FailsafeFuture<R> parent) {
     this.completionHandler = completionHandler;
+    this.policyCount = policyCount;
+    this.parent = parent;
+  }
+
+  /**
+   * Returns a new attempt future that tracks the cancel functions of an attempt by the {@code policyExecutor}. Cancel
+   * functions for the inner policies and supplier of the attempt are set on the attempt future, and are applied when
+   * it's {@link #cancel(boolean) cancelled}, while cancel functions for the {@code policyExecutor} and outer policies
+   * are set on this future. An attempt future is not completed by the execution and does not call any completion
+   * handler.
+   */
+  public FailsafeFuture<R> newAttemptFuture(PolicyExecutor<R> policyExecutor) {
+    return new FailsafeFuture<>((result, context) -> {
+    }, policyExecutor.getPolicyIndex(), this);
+  }
+
+  /**
+   * Returns the future that cancel functions for the dependencies of the {@code execution}'s supplier should be set on,
+   * which is the execution's {@link AsyncExecutionInternal#getAttemptFuture() attempt future} if it has one, else this
+   * future.
+   */
+  public FailsafeFuture<R> forAttempt(AsyncExecutionInternal<R> execution) {
+    FailsafeFuture<R> attemptFuture = execution.getAttemptFuture();
+    return attemptFuture == null ? this : attemptFuture;
   }
 
   /**
-   * If not already completed, completes  the future with the {@code value}, calling the complete and success handlers.
+   * Returns the future that the {@code policyExecutor} should set cancel functions on and cancel dependencies from for
+   * the {@code execution}. This is the execution's innermost {@link AsyncExecutionInternal#getAttemptFuture() attempt
+   * future} that belongs to an outer policy, else this future. Attempt futures that belong to the {@code
+   * policyExecutor} or its inner policies, which an execution may retain from a previous attempt, are skipped.
+   */
+  public FailsafeFuture<R> forAttempt(AsyncExecutionInternal<R> execution, PolicyExecutor<R> policyExecutor) {
+    int policyIndex = policyExecutor.getPolicyIndex();
+    FailsafeFuture<R> future = forAttempt(execution);
+    while (future.parent != null && future.policyCount <= policyIndex)
+      future = future.parent;
+    return future;
+  }
+
+  /**
+   * If not already completed, completes the future with the {@code value}, calling the complete and success handlers.
    */
   @Override
-  public synchronized boolean complete(R value) {
+  public boolean complete(R value) {
     return completeResult(ExecutionResult.success(value));
   }
 
@@ -62,7 +152,7 @@ public class FailsafeFuture<R> extends CompletableFuture<R> {
    * handlers.
    */
   @Override
-  public synchronized boolean completeExceptionally(Throwable failure) {
+  public boolean completeExceptionally(Throwable failure) {
     return completeResult(ExecutionResult.failure(failure));
   }
 
@@ -70,25 +160,30 @@ public class FailsafeFuture<R> extends CompletableFuture<R> {
    * Cancels the future along with any dependencies.
    */
   @Override
-  public synchronized boolean cancel(boolean mayInterruptIfRunning) {
-    if (isDone())
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    if (!STATE.compareAndSet(this, PENDING, mayInterruptIfRunning ? CANCELLED_WITH_INTERRUPT : CANCELLED))
       return false;
 
-    this.cancelledWithInterrupt = mayInterruptIfRunning;
-    newestExecution.cancel();
+    // Attempt futures only track the dependencies of an attempt, which is cancelled by its policy executor
+    if (parent != null) {
+      boolean cancelResult = super.cancel(mayInterruptIfRunning);
+      cancelDependencies(null, mayInterruptIfRunning, null);
+      return cancelResult;
+    }
+
+    ExecutionInternal<R> execution = newestExecution;
+    execution.cancel();
     boolean cancelResult = super.cancel(mayInterruptIfRunning);
     cancelDependencies(null, mayInterruptIfRunning, null);
-    ExecutionResult<R> result = ExecutionResult.failure(new CancellationException());
-    super.completeExceptionally(result.getFailure());
-    completionHandler.accept(result, newestExecution);
+    completionHandler.accept(ExecutionResult.failure(new CancellationException()), execution);
     return cancelResult;
   }
 
   /**
    * Completes the execution with the {@code result} and calls the completion handler.
    */
-  public synchronized boolean completeResult(ExecutionResult<R> result) {
-    if (isDone())
+  public boolean completeResult(ExecutionResult<R> result) {
+    if (!STATE.compareAndSet(this, PENDING, COMPLETED))
       return false;
 
     Throwable failure = result.getFailure();
@@ -108,25 +203,31 @@ public class FailsafeFuture<R> extends CompletableFuture<R> {
    *
    * @param cancellingPolicyExecutor the PolicyExecutor that is requesting the cancellation of inner policy executors
    */
-  public synchronized void cancelDependencies(PolicyExecutor<R> cancellingPolicyExecutor, boolean mayInterrupt,
+  public void cancelDependencies(PolicyExecutor<R> cancellingPolicyExecutor, boolean mayInterrupt,
     ExecutionResult<R> cancelResult) {
-    if (cancelFunctions != null) {
-      int cancellingPolicyIndex =
-        cancellingPolicyExecutor == null ? Integer.MAX_VALUE : cancellingPolicyExecutor.getPolicyIndex();
-      Iterator<Entry<Integer, BiConsumer<Boolean, ExecutionResult<R>>>> it = cancelFunctions.entrySet().iterator();
-
-      /* This iteration occurs in descending order to ensure that the {@code cancelResult} can be supplied to outer
-      cancel functions before the inner supplier is cancelled, which would cause PolicyExecutors to complete with
-      CancellationException rather than the expected {@code cancelResult}. */
-      while (it.hasNext()) {
-        Map.Entry<Integer, BiConsumer<Boolean, ExecutionResult<R>>> entry = it.next();
-        if (cancellingPolicyIndex > entry.getKey()) {
-          try {
-            entry.getValue().accept(mayInterrupt, cancelResult);
-          } catch (Exception ignore) {
-          }
-          it.remove();
-        }
+    int end = cancellingPolicyExecutor == null ?
+      Integer.MAX_VALUE :
+      cancellingPolicyExecutor.getPolicyIndex() - MIN_POLICY_INDEX;
+
+    /* This iteration occurs in descending order to ensure that the {@code cancelResult} can be supplied to outer
+    cancel functions before the inner supplier is cancelled, which would cause PolicyExecutors to complete with
+    CancellationException rather than the expected {@code cancelResult}. Overflow indexes are all greater than array
+    indexes, so they are applied first. */
+    ConcurrentSkipListMap<Integer, BiConsumer<Boolean, ExecutionResult<R>>> overflow = overflowCancelFunctions;
+    if (overflow != null) {
+      for (Integer index : overflow.headMap(end).descendingKeySet()) {
+        BiConsumer<Boolean, ExecutionResult<R>> cancelFn = overflow.remove(index);
+        if (cancelFn != null)
+          apply(cancelFn, mayInterrupt, cancelResult);
+      }
+    }
+
+    AtomicReferenceArray<BiConsumer<Boolean, ExecutionResult<R>>> functions = cancelFunctions;
+    if (functions != null) {
+      for (int i = Math.min(end, functions.length()) - 1; i >= 0; i--) {
+        BiConsumer<Boolean, ExecutionResult<R>> cancelFn = functions.getAndSet(i, null);
+        if (cancelFn != null)
+          apply(cancelFn, mayInterrupt, cancelResult);
       }
     }
   }
@@ -135,28 +236,44 @@ public class FailsafeFuture<R> extends CompletableFuture<R> {
    * Sets the {@code execution} representing the most recent attempt, which will be cancelled if this future is
    * cancelled.
    */
-  public synchronized void setExecution(ExecutionInternal<R> execution) {
+  public void setExecution(ExecutionInternal<R> execution) {
     this.newestExecution = execution;
   }
 
   /**
    * Sets a {@code cancelFn} to be called when a PolicyExecutor {@link #cancelDependencies(PolicyExecutor, boolean,
    * ExecutionResult) cancels dependencies} with a policyIndex > the given {@code policyIndex}, or when this future is
-   * {@link #cancel(boolean) cancelled}.
+   * {@link #cancel(boolean) cancelled}. If this future has already been cancelled, the {@code cancelFn} is called
+   * immediately.
+   *
+   * @throws IllegalArgumentException if the {@code policyIndex} is less than the lowest supported policy index
    */
-  public synchronized void setCancelFn(int policyIndex, BiConsumer<Boolean, ExecutionResult<R>> cancelFn) {
-    if (cancelFunctions == null)
-      cancelFunctions = new TreeMap<>(Collections.reverseOrder());
-    cancelFunctions.put(policyIndex, cancelFn);
+  public void setCancelFn(int policyIndex, BiConsumer<Boolean, ExecutionResult<R>> cancelFn) {
+    int index = policyIndex - MIN_POLICY_INDEX;
+    Assert.isTrue(index >= 0, "Invalid policyIndex %s", policyIndex);
+    AtomicReferenceArray<BiConsumer<Boolean, ExecutionResult<R>>> functions = cancelFunctions();
+    if (index >= functions.length()) {
+      setOverflowCancelFn(index, cancelFn);
+      return;
+    }
+    functions.set(index, cancelFn);
+
+    // Guard against a race with cancel, which may have already applied cancel functions
+    int state = this.state;
+    if (state >= CANCELLED) {
+      cancelFn = functions.getAndSet(index, null);
+      if (cancelFn != null)
+        apply(cancelFn, state == CANCELLED_WITH_INTERRUPT, null);
+    }
   }
 
   /**
    * Sets a {@code cancelFn} to be called when a PolicyExecutor {@link #cancelDependencies(PolicyExecutor, boolean,
    * ExecutionResult) cancels dependencies} with a policyIndex > the policyIndex of the given {@code policyExecutor}, or
-   * when this future is {@link #cancel(boolean) cancelled}.
+   * when this future is {@link #cancel(boolean) cancelled}. If this future has already been cancelled, the {@code
+   * cancelFn} is called immediately.
    */
-  public synchronized void setCancelFn(PolicyExecutor<R> policyExecutor,
-    BiConsumer<Boolean, ExecutionResult<R>> cancelFn) {
+  public void setCancelFn(PolicyExecutor<R> policyExecutor, BiConsumer<Boolean, ExecutionResult<R>> cancelFn) {
     setCancelFn(policyExecutor.getPolicyIndex(), cancelFn);
   }
 
@@ -164,10 +281,45 @@ public class FailsafeFuture<R> extends CompletableFuture<R> {
    * Propogates any previous cancellation to the {@code future}, either by cancelling it immediately or setting a cancel
    * function to cancel it later.
    */
-  public synchronized void propagateCancellation(Future<R> future) {
-    if (isCancelled())
-      future.cancel(cancelledWithInterrupt);
-    else
-      setCancelFn(-2, (mayInterrupt, cancelResult) -> future.cancel(mayInterrupt));
+  public void propagateCancellation(Future<R> future) {
+    setCancelFn(-2, (mayInterrupt, cancelResult) -> future.cancel(mayInterrupt));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void setOverflowCancelFn(int index, BiConsumer<Boolean, ExecutionResult<R>> cancelFn) {
+    ConcurrentSkipListMap<Integer, BiConsumer<Boolean, ExecutionResult<R>>> overflow = overflowCancelFunctions;
+    if (overflow == null) {
+      overflow = new ConcurrentSkipListMap<>();
+      if (!OVERFLOW_CANCEL_FUNCTIONS.compareAndSet(this, null, overflow))
+        overflow = overflowCancelFunctions;
+    }
+    overflow.put(index, cancelFn);
+
+    // Guard against a race with cancel, which may have already applied cancel functions
+    int state = this.state;
+    if (state >= CANCELLED) {
+      cancelFn = overflow.remove(index);
+      if (cancelFn != null)
+        apply(cancelFn, state == CANCELLED_WITH_INTERRUPT, null);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private AtomicReferenceArray<BiConsumer<Boolean, ExecutionResult<R>>> cancelFunctions() {
+    AtomicReferenceArray<BiConsumer<Boolean, ExecutionResult<R>>> functions = cancelFunctions;
+    if (functions == null) {
+      functions = new AtomicReferenceArray<>(policyCount - MIN_POLICY_INDEX);
+      if (!CANCEL_FUNCTIONS.compareAndSet(this, null, functions))
+        functions = cancelFunctions;
+    }
+    return functions;
+  }
+
+  private static <R> void apply(BiConsumer<Boolean, ExecutionResult<R>> cancelFn, boolean mayInterrupt,
+    ExecutionResult<R> cancelResult) {
+    try {
+      cancelFn.accept(mayInterrupt, cancelResult);
+    } catch (Exception ignore) {
+    }
   }
 }
@@ -15,11 +15,18 @@
  */
 package dev.failsafe.spi;
 
-import dev.failsafe.internal.EventHandler;
+import dev.failsafe.BulkheadFullException;
+import dev.failsafe.CircuitBreakerOpenException;
 import dev.failsafe.ExecutionContext;
 import dev.failsafe.Policy;
+import dev.failsafe.PolicyConfig;
+import dev.failsafe.RateLimitExceededException;
+import dev.failsafe.internal.EventHandler;
+import dev.failsafe.metrics.ExecutionMetrics;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -38,12 +45,19 @@ public abstract class PolicyExecutor<R> {
   private final FailurePolicy<R> failurePolicy;
   private final EventHandler<R> successHandler;
   private final EventHandler<R> failureHandler;
+  private final ExecutionMetrics metrics;
 
   protected PolicyExecutor(Policy<R> policy, int policyIndex) {
     this.policyIndex = policyIndex;
     this.failurePolicy = policy instanceof FailurePolicy ? (FailurePolicy<R>) policy : null;
-    this.successHandler = EventHandler.ofExecutionCompleted(policy.getConfig().getSuccessListener());
-    this.failureHandler = EventHandler.ofExecutionCompleted(policy.getConfig().getFailureListener());
+    PolicyConfig<R> config = policy.getConfig();
+    this.successHandler = config.getSuccessCompletionListener() != null ?
+      EventHandler.ofCompletion(config.getSuccessCompletionListener()) :
+      EventHandler.ofExecutionCompleted(config.getSuccessListener());
+    this.failureHandler = config.getFailureCompletionListener() != null ?
+      EventHandler.ofCompletion(config.getFailureCompletionListener()) :
+      EventHandler.ofExecutionCompleted(config.getFailureListener());
+    this.metrics = config.getMetrics();
   }
 
   /**
@@ -54,6 +68,16 @@ public abstract class PolicyExecutor<R> {
     return policyIndex;
   }
 
+  /**
+   * Returns whether this PolicyExecutor can be shared by concurrent executions, allowing it to be created once and
+   * reused rather than created for each execution. Shareable PolicyExecutors must keep any per-execution state via
+   * {@link ExecutionInternal#setPolicyState(int, Object)} rather than in their own fields. Returns {@code false} by
+   * default.
+   */
+  public boolean isShareable() {
+    return false;
+  }
+
   /**
    * Called before execution to return an alternative result or failure such as if execution is not allowed or needed.
    */
@@ -71,6 +95,7 @@ public abstract class PolicyExecutor<R> {
       if (result != null) {
         // Still need to preExecute when returning an alternative result before making it to the terminal Supplier
         execution.preExecute();
+        recordRejection(execution, result);
         return result;
       }
 
@@ -88,7 +113,7 @@ public abstract class PolicyExecutor<R> {
       handleFailure(result, execution);
     } else {
       result = result.withSuccess();
-      onSuccess(result);
+      onSuccess(execution, result);
       handleSuccess(result, execution);
     }
 
@@ -110,41 +135,79 @@ public abstract class PolicyExecutor<R> {
         if (result != null) {
           // Still need to preExecute when returning an alternative result before making it to the terminal Supplier
           execution.preExecute();
+          recordRejection(execution, result);
           return CompletableFuture.completedFuture(result);
         }
       }
 
-      return innerFn.apply(execution).thenCompose(r -> {
-        return r == null ? ExecutionResult.nullFuture() : postExecuteAsync(execution, r, scheduler, future);
-      });
+      return executeAsync(execution, innerFn, scheduler, future);
     };
   }
 
+  /**
+   * Applies the {@code innerFn} for the {@code execution} then post-executes the result, if any. Useful for
+   * implementations of {@link #applyAsync(Function, Scheduler, FailsafeFuture) applyAsync} that perform their own
+   * pre-execution.
+   */
+  protected CompletableFuture<ExecutionResult<R>> executeAsync(AsyncExecutionInternal<R> execution,
+    Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn, Scheduler scheduler,
+    FailsafeFuture<R> future) {
+    return compose(innerFn.apply(execution), r -> {
+      return r == null ? ExecutionResult.nullFuture() : postExecuteAsync(execution, r, scheduler, future);
+    });
+  }
+
+  /**
+   * Returns the result of applying the {@code fn} to the result of the {@code promise}. If the {@code promise} is
+   * already successfully completed, which is common for synchronous suppliers and completed stages, the {@code fn} is
+   * applied directly rather than through a new dependent stage, avoiding an allocation and a trip through the {@code
+   * promise}'s completion stack.
+   */
+  protected static <R> CompletableFuture<ExecutionResult<R>> compose(CompletableFuture<ExecutionResult<R>> promise,
+    Function<ExecutionResult<R>, CompletableFuture<ExecutionResult<R>>> fn) {
+    if (promise.isDone() && !promise.isCompletedExceptionally()) {
+      try {
+        return fn.apply(promise.join());
+      } catch (Throwable t) {
+        // Fail the same as thenCompose would
+        CompletableFuture<ExecutionResult<R>> r = new CompletableFuture<>();
+        r.completeExceptionally(t instanceof CompletionException ? t : new CompletionException(t));
+        return r;
+      }
+    }
+    return promise.thenCompose(fn);
+  }
+
   /**
    * Performs potentially asynchronous post-execution handling for a {@code result}.
    */
-  protected synchronized CompletableFuture<ExecutionResult<R>> postExecuteAsync(AsyncExecutionInternal<R> execution,
+  protected CompletableFuture<ExecutionResult<R>> postExecuteAsync(AsyncExecutionInternal<R> execution,
     ExecutionResult<R> result, Scheduler scheduler, FailsafeFuture<R> future) {
-    CompletableFuture<ExecutionResult<R>> postFuture = null;
-
-    /* Guard against post executing twice for the same execution. This will happen if one async execution result is
-     * recorded by a timeout and another via AsyncExecution.record. */
-    if (!execution.isAsyncExecution() || !execution.isPostExecuted(policyIndex)) {
-      execution.recordAttempt();
-      if (isFailure(result)) {
-        postFuture = onFailureAsync(execution, result.withFailure(), scheduler, future).whenComplete(
-          (postResult, error) -> handleFailure(postResult, execution));
-      } else {
-        result = result.withSuccess();
-        onSuccess(result);
-        handleSuccess(result, execution);
-        postFuture = CompletableFuture.completedFuture(result);
-      }
+    synchronized (execution.getPostExecuteLock()) {
+      CompletableFuture<ExecutionResult<R>> postFuture = null;
 
-      if (execution.isAsyncExecution())
-        execution.setPostExecuted(policyIndex);
+      /* Guard against post executing twice for the same execution. This will happen if one async execution result is
+       * recorded by a timeout and another via AsyncExecution.record. */
+      if (!execution.isAsyncExecution() || !execution.isPostExecuted(policyIndex)) {
+        execution.recordAttempt();
+        if (isFailure(result)) {
+          postFuture = onFailureAsync(execution, result.withFailure(), scheduler, future);
+          if (postFuture.isDone() && !postFuture.isCompletedExceptionally())
+            handleFailure(postFuture.join(), execution);
+          else
+            postFuture = postFuture.whenComplete((postResult, error) -> handleFailure(postResult, execution));
+        } else {
+          result = result.withSuccess();
+          onSuccess(execution, result);
+          handleSuccess(result, execution);
+          postFuture = CompletableFuture.completedFuture(result);
+        }
+
+        if (execution.isAsyncExecution())
+          execution.setPostExecuted(policyIndex);
+      }
+      return postFuture;
     }
-    return postFuture;
   }
 
   /**
@@ -167,6 +230,15 @@ public abstract class PolicyExecutor<R> {
   protected void onSuccess(ExecutionResult<R> result) {
   }
 
+  /**
+   * Performs post-execution handling for a {@code result} that is considered a success according to {@link
+   * #isFailure(ExecutionResult)}, for the {@code context} of the execution. Calls {@link #onSuccess(ExecutionResult)} by
+   * default.
+   */
+  protected void onSuccess(ExecutionContext<R> context, ExecutionResult<R> result) {
+    onSuccess(result);
+  }
+
   /**
    * Performs post-execution handling for a {@code result} that is considered a failure according to {@link
    * #isFailure(ExecutionResult)}, possibly creating a new result, else returning the original {@code result}.
@@ -191,13 +263,47 @@ public abstract class PolicyExecutor<R> {
     }
   }
 
-  private void handleSuccess(ExecutionResult<R> result, ExecutionContext<R> context) {
+  /**
+   * Records an event via the {@code recorder} to the metrics of the policy and of the {@code execution}, if any.
+   */
+  protected void recordMetric(ExecutionInternal<R> execution, Consumer<ExecutionMetrics> recorder) {
+    if (metrics != null)
+      recorder.accept(metrics);
+    ExecutionMetrics executionMetrics = execution.getMetrics();
+    if (executionMetrics != null && executionMetrics != metrics)
+      recorder.accept(executionMetrics);
+  }
+
+  /**
+   * Records a rejection if the {@code result} of pre-execution failed with an exception that indicates the execution
+   * was rejected by a policy.
+   */
+  protected void recordRejection(ExecutionInternal<R> execution, ExecutionResult<R> result) {
+    Throwable failure = result.getFailure();
+    if (failure instanceof CircuitBreakerOpenException || failure instanceof BulkheadFullException
+      || failure instanceof RateLimitExceededException)
+      recordMetric(execution, ExecutionMetrics::recordRejection);
+  }
+
+  private void handleSuccess(ExecutionResult<R> result, ExecutionInternal<R> context) {
+    recordResult(result, context, true);
     if (successHandler != null && result.isComplete())
       successHandler.handle(result, context);
   }
 
-  private void handleFailure(ExecutionResult<R> result, ExecutionContext<R> context) {
+  private void handleFailure(ExecutionResult<R> result, ExecutionInternal<R> context) {
+    if (result == null)
+      return;
+    recordResult(result, context, false);
     if (failureHandler != null && result.isComplete())
       failureHandler.handle(result, context);
   }
+
+  private void recordResult(ExecutionResult<R> result, ExecutionInternal<R> context, boolean success) {
+    if (metrics != null) {
+      metrics.recordAttempt(context.getElapsedAttemptNanos());
+      if (result.isComplete())
+        metrics.recordExecution(context.getElapsedNanos(), success);
+    }
+  }
 }
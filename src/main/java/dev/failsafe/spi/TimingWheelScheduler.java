@@ -0,0 +1,362 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.spi;
+
+import dev.failsafe.internal.util.Assert;
+import dev.failsafe.internal.util.Maths;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link Scheduler} implementation that tracks delays with a hashed timing wheel, and executes tasks on either a
+ * provided ExecutorService or an internal pool of worker threads. Scheduling and cancelling a task are O(1), which
+ * makes this scheduler a good fit for large numbers of delays that are usually cancelled before they fire, such as
+ * {@link dev.failsafe.Timeout Timeouts}.
+ * <p>
+ * The wheel is a ring of buckets, each covering one tick. A task is placed in the bucket for its deadline along with
+ * the number of full rotations that must pass before it fires. A single ticker thread advances the wheel once per tick,
+ * moves newly scheduled tasks into their buckets, unlinks cancelled tasks, and hands expired tasks to the executor.
+ * Schedule and cancel only enqueue onto lock-free queues, so callers never contend on a lock. Tasks fire within one
+ * tick after their delay elapses, so the tick duration bounds the scheduler's precision.
+ * </p>
+ * <p>
+ * Tasks with a delay of {@code 0} are submitted to the executor directly. Call {@link #shutdown()} to stop the ticker
+ * thread, cancel any pending tasks, and shut down the internal worker pool.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ */
+public final class TimingWheelScheduler implements Scheduler {
+  private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final ExecutorService executorService;
+  private final boolean ownsExecutorService;
+  private final Queue<TimerTask<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+  private final Queue<TimerTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+  private final long startTime = System.nanoTime();
+  private final Thread ticker;
+  private volatile boolean shutdown;
+
+  /**
+   * Creates a new TimingWheelScheduler with a 1 millisecond tick, 512 buckets, and a worker thread per available
+   * processor.
+   */
+  public TimingWheelScheduler() {
+    this(Duration.ofMillis(1), 512, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a new TimingWheelScheduler that runs tasks on an internal pool of {@code workerThreads}.
+   *
+   * @param tickDuration the duration of each tick, which bounds the precision of scheduled delays
+   * @param wheelSize the number of buckets in the wheel, which is rounded up to a power of 2
+   * @param workerThreads the number of threads to run tasks on
+   * @throws NullPointerException if {@code tickDuration} is null
+   * @throws IllegalArgumentException if {@code tickDuration}, {@code wheelSize} or {@code workerThreads} are not &gt;
+   * 0
+   */
+  public TimingWheelScheduler(Duration tickDuration, int wheelSize, int workerThreads) {
+    this(tickDuration, wheelSize, workerPool(workerThreads), true);
+  }
+
+  /**
+   * Creates a new TimingWheelScheduler that runs tasks on the {@code executorService}, which is not shut down by
+   * {@link #shutdown()}.
+   *
+   * @param tickDuration the duration of each tick, which bounds the precision of scheduled delays
+   * @param wheelSize the number of buckets in the wheel, which is rounded up to a power of 2
+   * @param executorService the executor to run tasks on
+   * @throws NullPointerException if {@code tickDuration} or {@code executorService} are null
+   * @throws IllegalArgumentException if {@code tickDuration} or {@code wheelSize} are not &gt; 0
+   */
+  public TimingWheelScheduler(Duration tickDuration, int wheelSize, ExecutorService executorService) {
+    this(tickDuration, wheelSize, Assert.notNull(executorService, "executorService"), false);
+  }
+
+  private TimingWheelScheduler(Duration tickDuration, int wheelSize, ExecutorService executorService,
+    boolean ownsExecutorService) {
+    Assert.notNull(tickDuration, "tickDuration");
+    Assert.isTrue(tickDuration.toNanos() > 0, "tickDuration must be greater than 0");
+    Assert.isTrue(wheelSize > 0 && wheelSize <= 1 << 30, "wheelSize must be between 1 and 2^30");
+
+    this.tickNanos = tickDuration.toNanos();
+    this.wheel = new Bucket[wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1];
+    for (int i = 0; i < wheel.length; i++)
+      wheel[i] = new Bucket();
+    this.mask = wheel.length - 1;
+    this.executorService = executorService;
+    this.ownsExecutorService = ownsExecutorService;
+
+    ticker = new Thread(this::tick, "FailsafeTimingWheel-" + INSTANCE_COUNT.incrementAndGet());
+    ticker.setDaemon(true);
+    ticker.start();
+  }
+
+  private static ExecutorService workerPool(int workerThreads) {
+    Assert.isTrue(workerThreads > 0, "workerThreads must be greater than 0");
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(workerThreads, r -> {
+      Thread t = new Thread(r, "FailsafeTimingWheelWorker-" + threadCount.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  /**
+   * A doubly linked list of tasks, which is only accessed by the ticker thread.
+   */
+  private static final class Bucket {
+    TimerTask<?> head;
+    TimerTask<?> tail;
+
+    void add(TimerTask<?> task) {
+      task.bucket = this;
+      if (head == null)
+        head = tail = task;
+      else {
+        tail.next = task;
+        task.prev = tail;
+        tail = task;
+      }
+    }
+
+    TimerTask<?> remove(TimerTask<?> task) {
+      TimerTask<?> next = task.next;
+      if (task.prev != null)
+        task.prev.next = next;
+      if (next != null)
+        next.prev = task.prev;
+      if (task == head)
+        head = next;
+      if (task == tail)
+        tail = task.prev;
+      task.prev = task.next = null;
+      task.bucket = null;
+      return next;
+    }
+  }
+
+  static final class TimerTask<V> extends CompletableFuture<V> implements ScheduledFuture<V>, Runnable {
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<TimerTask> STATE = AtomicIntegerFieldUpdater.newUpdater(
+      TimerTask.class, "state");
+
+    private final TimingWheelScheduler scheduler;
+    private final Callable<V> callable;
+    /* The deadline relative to the scheduler's start time */
+    final long deadlineNanos;
+    private volatile int state;
+
+    // Guarded by this
+    private Thread runner;
+
+    // Accessed by the ticker thread only
+    long remainingRounds;
+    Bucket bucket;
+    TimerTask<?> prev;
+    TimerTask<?> next;
+
+    TimerTask(TimingWheelScheduler scheduler, Callable<V> callable, long deadlineNanos) {
+      this.scheduler = scheduler;
+      this.callable = callable;
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+      if (isDone())
+        return;
+
+      synchronized (this) {
+        runner = Thread.currentThread();
+      }
+      try {
+        complete(callable.call());
+      } catch (Throwable t) {
+        completeExceptionally(t);
+      } finally {
+        synchronized (this) {
+          runner = null;
+        }
+      }
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(scheduler.startTime + deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      if (other == this)
+        return 0;
+      else if (other instanceof TimerTask)
+        return Long.compare(deadlineNanos, ((TimerTask<?>) other).deadlineNanos);
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean result = super.cancel(mayInterruptIfRunning);
+      if (STATE.compareAndSet(this, PENDING, CANCELLED))
+        scheduler.cancelledTasks.add(this);
+      synchronized (this) {
+        if (runner != null && mayInterruptIfRunning)
+          runner.interrupt();
+      }
+      return result;
+    }
+
+    boolean expire() {
+      return STATE.compareAndSet(this, PENDING, EXPIRED);
+    }
+
+    boolean isPending() {
+      return state == PENDING;
+    }
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Callable<?> callable, long delay, TimeUnit unit) {
+    if (shutdown)
+      throw new RejectedExecutionException("TimingWheelScheduler has been shut down");
+
+    long delayNanos = Math.max(unit.toNanos(delay), 0);
+    TimerTask<?> task = new TimerTask<>(this, callable, Maths.add(System.nanoTime() - startTime, delayNanos));
+    if (delayNanos == 0) {
+      task.expire();
+      executorService.execute(task);
+    } else {
+      pendingTasks.add(task);
+
+      // Guard against a race with shutdown, after which pending tasks are no longer transferred
+      if (shutdown && pendingTasks.remove(task))
+        task.cancel(false);
+    }
+    return task;
+  }
+
+  /**
+   * Stops the ticker thread, cancels any tasks that have not yet fired, and shuts down the internal worker pool if one
+   * was created.
+   */
+  public void shutdown() {
+    shutdown = true;
+    ticker.interrupt();
+    if (ownsExecutorService)
+      executorService.shutdown();
+  }
+
+  /**
+   * Returns whether the scheduler has been shut down.
+   */
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  /**
+   * Advances the wheel once per tick until shut down.
+   */
+  private void tick() {
+    long tick = 0;
+    while (!shutdown) {
+      long tickDeadline = Maths.add(tick * tickNanos, tickNanos);
+      if (!awaitTick(tickDeadline))
+        break;
+
+      removeCancelledTasks();
+      transferPendingTasks(tick);
+      expireTasks(wheel[(int) (tick & mask)], tickDeadline);
+      tick++;
+    }
+
+    // Cancel any remaining tasks
+    for (Bucket bucket : wheel)
+      for (TimerTask<?> task = bucket.head; task != null; task = bucket.remove(task))
+        task.cancel(false);
+    for (TimerTask<?> task; (task = pendingTasks.poll()) != null; )
+      task.cancel(false);
+  }
+
+  /**
+   * Parks until the {@code tickDeadline}, returning false if the scheduler was shut down while waiting.
+   */
+  private boolean awaitTick(long tickDeadline) {
+    while (true) {
+      long sleepNanos = tickDeadline - (System.nanoTime() - startTime);
+      if (sleepNanos <= 0)
+        return true;
+      LockSupport.parkNanos(this, sleepNanos);
+      if (shutdown)
+        return false;
+    }
+  }
+
+  private void removeCancelledTasks() {
+    for (TimerTask<?> task; (task = cancelledTasks.poll()) != null; )
+      if (task.bucket != null)
+        task.bucket.remove(task);
+  }
+
+  /**
+   * Moves pending tasks into the buckets for their deadlines. Tasks whose deadlines have already passed are placed in
+   * the current bucket.
+   */
+  private void transferPendingTasks(long tick) {
+    for (TimerTask<?> task; (task = pendingTasks.poll()) != null; ) {
+      if (!task.isPending())
+        continue;
+
+      long deadlineTick = task.deadlineNanos / tickNanos;
+      task.remainingRounds = Math.max(deadlineTick - tick, 0) / wheel.length;
+      wheel[(int) (Math.max(deadlineTick, tick) & mask)].add(task);
+    }
+  }
+
+  /**
+   * Expires tasks in the {@code bucket} whose rounds have elapsed, handing them to the executor.
+   */
+  private void expireTasks(Bucket bucket, long tickDeadline) {
+    TimerTask<?> task = bucket.head;
+    while (task != null) {
+      if (task.remainingRounds <= 0 && task.deadlineNanos <= tickDeadline) {
+        TimerTask<?> expired = task;
+        task = bucket.remove(task);
+        if (expired.expire()) {
+          try {
+            executorService.execute(expired);
+          } catch (RejectedExecutionException e) {
+            expired.completeExceptionally(e);
+          }
+        }
+      } else {
+        task.remainingRounds--;
+        task = task.next;
+      }
+    }
+  }
+}
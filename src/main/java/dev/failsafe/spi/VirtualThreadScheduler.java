@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.spi;
+
+import dev.failsafe.internal.util.DelegatingScheduler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Scheduler} implementation that runs each task on a new virtual thread, which is supported on JDK 21 and
+ * later. Delays are tracked on the same internal delay scheduler as {@link Scheduler#DEFAULT}, after which tasks are
+ * started on a virtual thread. Since virtual threads are cheap to block, this allows blocking suppliers to be executed
+ * asynchronously without starving a shared pool such as the {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+ * <p>
+ * The virtual thread executor is looked up reflectively, so that Failsafe can continue to run on Java 8. Use {@link
+ * #isSupported()} to check whether virtual threads are available on the current JVM.
+ * </p>
+ *
+ * @author Jonathan Halterman
+ */
+public final class VirtualThreadScheduler implements Scheduler {
+  private static final ExecutorService VIRTUAL_THREAD_EXECUTOR = newVirtualThreadPerTaskExecutor();
+  private static final VirtualThreadScheduler INSTANCE =
+    VIRTUAL_THREAD_EXECUTOR == null ? null : new VirtualThreadScheduler();
+
+  private final Scheduler delegate = new DelegatingScheduler(VIRTUAL_THREAD_EXECUTOR);
+
+  private VirtualThreadScheduler() {
+  }
+
+  /**
+   * Returns whether virtual threads are supported by the current JVM.
+   */
+  public static boolean isSupported() {
+    return INSTANCE != null;
+  }
+
+  /**
+   * Returns the shared VirtualThreadScheduler instance.
+   *
+   * @throws UnsupportedOperationException if virtual threads are not supported by the current JVM
+   */
+  public static VirtualThreadScheduler instance() {
+    if (INSTANCE == null)
+      throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+    return INSTANCE;
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Callable<?> callable, long delay, TimeUnit unit) {
+    return delegate.schedule(callable, delay, unit);
+  }
+
+  /**
+   * Returns a new virtual thread per task executor, else {@code null} if virtual threads are not supported, including
+   * when they're only available as a preview feature that has not been enabled.
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (Throwable ignore) {
+      return null;
+    }
+  }
+}
@@ -19,6 +19,7 @@ import org.testng.annotations.Test;
 
 import java.time.Duration;
 
+import static dev.failsafe.testing.Asserts.assertThrows;
 import static org.testng.Assert.*;
 
 @Test
@@ -27,12 +28,26 @@ public class BulkheadBuilderTest {
     BulkheadConfig<Object> initialConfig = Bulkhead.builder(5)
       .withMaxWaitTime(Duration.ofSeconds(10))
       .withFairness()
+      .withAdaptiveLimit(Bulkhead.LimitAlgorithm.VEGAS, 2, 20)
       .onSuccess(e -> {
       }).config;
     BulkheadConfig<Object> newConfig = Bulkhead.builder(initialConfig).config;
     assertEquals(newConfig.maxConcurrency, 5);
     assertEquals(newConfig.maxWaitTime, Duration.ofSeconds(10));
     assertTrue(newConfig.fair);
+    assertEquals(newConfig.limitAlgorithm, Bulkhead.LimitAlgorithm.VEGAS);
+    assertEquals(newConfig.minLimit, 2);
+    assertEquals(newConfig.maxLimit, 20);
     assertNotNull(newConfig.successListener);
   }
+
+  public void shouldRequireValidAdaptiveLimits() {
+    assertThrows(() -> Bulkhead.builder(5).withAdaptiveLimit(null, 1, 10), NullPointerException.class);
+    assertThrows(() -> Bulkhead.builder(5).withAdaptiveLimit(Bulkhead.LimitAlgorithm.AIMD, 0, 10),
+      IllegalArgumentException.class);
+    assertThrows(() -> Bulkhead.builder(5).withAdaptiveLimit(Bulkhead.LimitAlgorithm.AIMD, 6, 10),
+      IllegalArgumentException.class);
+    assertThrows(() -> Bulkhead.builder(5).withAdaptiveLimit(Bulkhead.LimitAlgorithm.AIMD, 1, 4),
+      IllegalArgumentException.class);
+  }
 }
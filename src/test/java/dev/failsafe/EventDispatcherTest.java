@@ -0,0 +1,196 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe;
+
+import dev.failsafe.EventDispatcher.OverflowPolicy;
+import dev.failsafe.internal.EventHandler;
+import dev.failsafe.spi.ExecutionInternal;
+import dev.failsafe.spi.ExecutionResult;
+import dev.failsafe.testing.Asserts;
+import net.jodah.concurrentunit.Waiter;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+@Test
+public class EventDispatcherTest {
+  /**
+   * Returns a handler that counts deliveries, and that signals {@code started} then waits for {@code release} on its
+   * first delivery.
+   */
+  private static EventHandler<Object> blockingHandler(AtomicInteger delivered, CountDownLatch started,
+    CountDownLatch release) {
+    return (result, context) -> {
+      if (delivered.getAndIncrement() == 0) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException ignore) {
+        }
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ExecutionInternal<Object> execution() {
+    return (ExecutionInternal<Object>) Execution.of(RetryPolicy.ofDefaults());
+  }
+
+  public void shouldRoundCapacityToPowerOfTwo() {
+    assertEquals(EventDispatcher.of(1, OverflowPolicy.DROP).getCapacity(), 1);
+    assertEquals(EventDispatcher.of(5, OverflowPolicy.DROP).getCapacity(), 8);
+    assertEquals(EventDispatcher.of(64, OverflowPolicy.DROP).getCapacity(), 64);
+    Asserts.assertThrows(() -> EventDispatcher.of(0, OverflowPolicy.DROP), IllegalArgumentException.class);
+    Asserts.assertThrows(() -> EventDispatcher.of(1, null), NullPointerException.class);
+  }
+
+  /**
+   * Asserts that executor and policy listeners are called on the dispatcher's thread.
+   */
+  public void shouldDeliverListenersOnDispatcherThread() throws Throwable {
+    EventDispatcher dispatcher = EventDispatcher.of(16, OverflowPolicy.BLOCK);
+    Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    Waiter waiter = new Waiter();
+    RetryPolicy<Object> retryPolicy = RetryPolicy.builder()
+      .withMaxRetries(2)
+      .onRetry(e -> threadNames.add(Thread.currentThread().getName()))
+      .build();
+    AtomicInteger attempts = new AtomicInteger();
+    FailsafeExecutor<Object> failsafe = Failsafe.with(retryPolicy)
+      .withEventDispatcher(dispatcher)
+      .onComplete(e -> {
+        threadNames.add(Thread.currentThread().getName());
+        waiter.resume();
+      });
+
+    // Sync
+    failsafe.get(() -> attempts.incrementAndGet() < 2 ? null : "test");
+    // Async
+    failsafe.getAsync(() -> "test");
+    waiter.await(1000, 2);
+    dispatcher.close();
+
+    assertEquals(threadNames.size(), 1);
+    assertEquals(threadNames.iterator().next(), "failsafe-event-dispatcher");
+  }
+
+  public void shouldDropEventsWhenFull() throws Throwable {
+    EventDispatcher dispatcher = EventDispatcher.of(2, OverflowPolicy.DROP);
+    AtomicInteger delivered = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    EventHandler<Object> handler = blockingHandler(delivered, started, release);
+
+    // Block the consumer, then fill the buffer
+    assertTrue(dispatcher.publish(handler, ExecutionResult.none(), execution()));
+    started.await();
+    for (int i = 0; i < 7; i++)
+      assertTrue(dispatcher.publish(handler, ExecutionResult.none(), execution()));
+
+    release.countDown();
+    dispatcher.close();
+    assertEquals(dispatcher.getDroppedCount(), 5);
+    assertEquals(delivered.get(), 3);
+  }
+
+  public void shouldSampleEventsWhenBacklogged() throws Throwable {
+    EventDispatcher dispatcher = EventDispatcher.of(16, OverflowPolicy.SAMPLE);
+    AtomicInteger delivered = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    EventHandler<Object> handler = blockingHandler(delivered, started, release);
+
+    assertTrue(dispatcher.publish(handler, ExecutionResult.none(), execution()));
+    started.await();
+    for (int i = 0; i < 1000; i++)
+      assertTrue(dispatcher.publish(handler, ExecutionResult.none(), execution()));
+
+    release.countDown();
+    dispatcher.close();
+    assertEquals(delivered.get() + dispatcher.getDroppedCount(), 1001);
+    assertTrue(delivered.get() > 9 && delivered.get() <= 17);
+  }
+
+  public void shouldBlockPublishersWhenFull() throws Throwable {
+    EventDispatcher dispatcher = EventDispatcher.of(2, OverflowPolicy.BLOCK);
+    AtomicInteger delivered = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    EventHandler<Object> handler = blockingHandler(delivered, started, release);
+
+    assertTrue(dispatcher.publish(handler, ExecutionResult.none(), execution()));
+    started.await();
+    Thread publisher = new Thread(() -> {
+      for (int i = 0; i < 4; i++)
+        dispatcher.publish(handler, ExecutionResult.none(), execution());
+    });
+    publisher.start();
+    publisher.join(200);
+    assertTrue(publisher.isAlive());
+
+    release.countDown();
+    publisher.join(1000);
+    assertFalse(publisher.isAlive());
+    dispatcher.close();
+    assertEquals(dispatcher.getDroppedCount(), 0);
+    assertEquals(delivered.get(), 5);
+  }
+
+  /**
+   * Asserts that execution properties are captured when an event is published rather than when it's delivered.
+   */
+  public void shouldCaptureExecutionWhenPublished() throws Throwable {
+    EventDispatcher dispatcher = EventDispatcher.of(4, OverflowPolicy.BLOCK);
+    AtomicInteger delivered = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<ExecutionContext<Object>> published = new AtomicReference<>();
+    Execution<Object> execution = Execution.of(RetryPolicy.ofDefaults());
+    execution.recordFailure(new IllegalStateException());
+
+    assertTrue(dispatcher.publish(blockingHandler(delivered, started, release), ExecutionResult.none(), execution()));
+    started.await();
+    assertTrue(dispatcher.publish((result, context) -> published.set(context), ExecutionResult.none(),
+      (ExecutionInternal<Object>) execution));
+    Duration elapsedWhenPublished = execution.getElapsedTime();
+    execution.recordFailure(new IllegalArgumentException());
+    Thread.sleep(100);
+
+    release.countDown();
+    dispatcher.close();
+    ExecutionContext<Object> context = published.get();
+    assertEquals(context.getAttemptCount(), 1);
+    assertTrue(context.getLastFailure() instanceof IllegalStateException);
+    assertTrue(context.getElapsedTime().toNanos() <= elapsedWhenPublished.toNanos());
+    assertEquals(execution.getAttemptCount(), 2);
+  }
+
+  public void shouldNotPublishAfterClose() {
+    EventDispatcher dispatcher = EventDispatcher.of(4, OverflowPolicy.DROP);
+    dispatcher.close();
+
+    assertTrue(dispatcher.isClosed());
+    assertFalse(dispatcher.publish((result, context) -> {
+    }, ExecutionResult.none(), execution()));
+  }
+}
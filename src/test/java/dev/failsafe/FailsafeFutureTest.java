@@ -16,14 +16,20 @@
 package dev.failsafe;
 
 import net.jodah.concurrentunit.Waiter;
+import dev.failsafe.spi.ExecutionResult;
+import dev.failsafe.spi.FailsafeFuture;
 import dev.failsafe.testing.Asserts;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.testng.Assert.*;
 
@@ -96,4 +102,58 @@ public class FailsafeFutureTest {
     future.complete("unexpected");
     Asserts.assertThrows(future::get, CancellationException.class);
   }
+
+  /**
+   * Asserts that a cancel function set after the future is cancelled is applied immediately.
+   */
+  public void shouldApplyCancelFnSetAfterCancel() {
+    FailsafeFuture<String> future = (FailsafeFuture<String>) Failsafe.none().with(executor).getAsync(() -> {
+      Thread.sleep(1000);
+      return "test";
+    });
+    future.cancel(true);
+
+    AtomicReference<Boolean> mayInterruptRef = new AtomicReference<>();
+    future.setCancelFn(-1, (mayInterrupt, cancelResult) -> mayInterruptRef.set(mayInterrupt));
+    assertEquals(mayInterruptRef.get(), Boolean.TRUE);
+  }
+
+  /**
+   * Asserts that cancel functions can be set for policy indexes beyond the future's policy count, and that they're
+   * applied in descending order along with the others.
+   */
+  public void shouldApplyCancelFnsBeyondPolicyCount() {
+    FailsafeFuture<String> future = new FailsafeFuture<>((result, context) -> {
+    }, 1);
+    List<Integer> applied = new ArrayList<>();
+    for (int policyIndex : new int[] { 20, -1, 0, 5 })
+      future.setCancelFn(policyIndex, (mayInterrupt, cancelResult) -> applied.add(policyIndex));
+
+    future.cancelDependencies(null, false, null);
+    assertEquals(applied, Arrays.asList(20, 5, 0, -1));
+    Asserts.assertThrows(() -> future.setCancelFn(-3, (mayInterrupt, cancelResult) -> {
+    }), IllegalArgumentException.class);
+  }
+
+  /**
+   * Asserts that completion handlers are called without blocking a concurrent cancel.
+   */
+  public void shouldNotBlockCancelWhileCompleting() throws Throwable {
+    Waiter waiter = new Waiter();
+    FailsafeFuture<String> future = new FailsafeFuture<>((result, context) -> {
+      waiter.resume();
+      try {
+        Thread.sleep(1000);
+      } catch (InterruptedException ignore) {
+      }
+    });
+    executor.execute(() -> future.completeResult(ExecutionResult.success("test")));
+    waiter.await(1000);
+
+    long startTime = System.nanoTime();
+    assertFalse(future.cancel(true));
+    future.cancelDependencies(null, true, null);
+    assertTrue(System.nanoTime() - startTime < 500_000_000L);
+    assertEquals(future.get(), "test");
+  }
 }
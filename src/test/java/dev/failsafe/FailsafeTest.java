@@ -18,7 +18,11 @@ package dev.failsafe;
 import dev.failsafe.testing.Testing;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.testng.Assert.assertEquals;
 
@@ -52,4 +56,85 @@ public class FailsafeTest extends Testing {
       throw new TimeoutException();
     }), FailsafeException.class, TimeoutException.class);
   }
+
+  /**
+   * Asserts that a FailsafeExecutor can be reused for many executions without sharing per-execution policy state, such
+   * as retry counts, between them.
+   */
+  public void shouldReuseExecutorAcrossExecutions() {
+    // Given
+    RetryPolicy<Integer> retryPolicy = RetryPolicy.<Integer>builder().withMaxRetries(2).build();
+    FailsafeExecutor<Integer> failsafe = Failsafe.with(retryPolicy);
+    AtomicInteger attempts = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      // When
+      attempts.set(0);
+      int result = failsafe.get(ctx -> {
+        if (attempts.incrementAndGet() < 3)
+          throw new IllegalStateException();
+        return ctx.getAttemptCount();
+      });
+
+      // Then
+      assertEquals(result, 2);
+      assertEquals(attempts.get(), 3);
+    }
+  }
+
+  /**
+   * Asserts that a FailsafeExecutor can be reused for concurrent async executions without sharing per-execution policy
+   * state between them.
+   */
+  public void shouldReuseExecutorAcrossAsyncExecutions() throws Throwable {
+    // Given
+    RetryPolicy<Integer> retryPolicy = RetryPolicy.<Integer>builder().withMaxRetries(2).build();
+    FailsafeExecutor<Integer> failsafe = Failsafe.with(retryPolicy);
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      AtomicInteger attempts = new AtomicInteger();
+      futures.add(failsafe.getAsync(ctx -> {
+        if (attempts.incrementAndGet() < 3)
+          throw new IllegalStateException();
+        return ctx.getAttemptCount();
+      }));
+    }
+
+    // Then
+    for (CompletableFuture<Integer> future : futures)
+      assertEquals(future.get(), Integer.valueOf(2));
+  }
+
+  /**
+   * Asserts that already completed stages are handled by stage async executions, including failed and cancelled stages.
+   */
+  public void shouldHandleCompletedStages() throws Throwable {
+    // Given
+    RetryPolicy<Integer> retryPolicy = RetryPolicy.<Integer>builder().withMaxRetries(2).build();
+    Fallback<Integer> fallback = Fallback.of(-1);
+    AtomicInteger attempts = new AtomicInteger();
+
+    // When / Then
+    assertEquals(Failsafe.with(fallback, retryPolicy).getStageAsync(ctx -> {
+      attempts.incrementAndGet();
+      if (ctx.getAttemptCount() < 2) {
+        CompletableFuture<Integer> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+        return failed;
+      }
+      return CompletableFuture.completedFuture(ctx.getAttemptCount());
+    }).get(), Integer.valueOf(2));
+    assertEquals(attempts.get(), 3);
+
+    attempts.set(0);
+    assertEquals(Failsafe.with(fallback, retryPolicy).getStageAsync(() -> {
+      attempts.incrementAndGet();
+      CompletableFuture<Integer> cancelled = new CompletableFuture<>();
+      cancelled.cancel(false);
+      return cancelled;
+    }).get(), Integer.valueOf(-1));
+    assertEquals(attempts.get(), 3);
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static dev.failsafe.testing.Asserts.assertThrows;
+import static org.testng.Assert.*;
+
+@Test
+public class PolicySnapshotsTest {
+  public void shouldRestoreOpenCircuitBreaker() {
+    CircuitBreaker<Object> breaker = CircuitBreaker.builder().withDelay(Duration.ofMinutes(1)).build();
+    breaker.recordFailure();
+    assertTrue(breaker.isOpen());
+
+    CircuitBreaker<Object> restored = CircuitBreaker.builder().withDelay(Duration.ofMinutes(1)).build();
+    PolicySnapshots.restore(restored, PolicySnapshots.snapshot(breaker));
+
+    assertTrue(restored.isOpen());
+    assertFalse(restored.tryAcquirePermit());
+    long remainingDelayMillis = restored.getRemainingDelay().toMillis();
+    assertTrue(remainingDelayMillis > 0 && remainingDelayMillis <= 60000);
+    assertEquals(restored.getFailureCount(), 1);
+  }
+
+  public void shouldRestoreCountingStats() {
+    CircuitBreakerBuilder<Object> builder = CircuitBreaker.builder().withFailureThreshold(3, 5);
+    CircuitBreaker<Object> breaker = builder.build();
+    breaker.recordSuccess();
+    breaker.recordFailure();
+    breaker.recordFailure();
+
+    CircuitBreaker<Object> restored = builder.build();
+    PolicySnapshots.restore(restored, PolicySnapshots.snapshot(breaker));
+
+    assertTrue(restored.isClosed());
+    assertEquals(restored.getSuccessCount(), 1);
+    assertEquals(restored.getFailureCount(), 2);
+    restored.recordFailure();
+    assertTrue(restored.isOpen());
+  }
+
+  public void shouldRestoreTimedStats() {
+    CircuitBreakerBuilder<Object> builder = CircuitBreaker.builder().withFailureThreshold(3, Duration.ofMinutes(1));
+    CircuitBreaker<Object> breaker = builder.build();
+    breaker.recordFailure();
+    breaker.recordFailure();
+    breaker.recordSuccess();
+
+    CircuitBreaker<Object> restored = builder.build();
+    PolicySnapshots.restore(restored, PolicySnapshots.snapshot(breaker));
+
+    assertEquals(restored.getFailureCount(), 2);
+    assertEquals(restored.getSuccessCount(), 1);
+    restored.recordFailure();
+    assertTrue(restored.isOpen());
+  }
+
+  public void shouldRestoreBurstyRateLimiter() {
+    RateLimiter<Object> limiter = RateLimiter.burstyBuilder(10, Duration.ofMinutes(1)).build();
+    assertTrue(limiter.tryAcquirePermits(8));
+
+    RateLimiter<Object> restored = RateLimiter.burstyBuilder(10, Duration.ofMinutes(1)).build();
+    PolicySnapshots.restore(restored, PolicySnapshots.snapshot(limiter));
+
+    assertTrue(restored.tryAcquirePermits(2));
+    assertFalse(restored.tryAcquirePermit());
+  }
+
+  public void shouldRestoreSmoothRateLimiter() {
+    RateLimiter<Object> limiter = RateLimiter.smoothBuilder(Duration.ofMinutes(1)).build();
+    assertTrue(limiter.tryAcquirePermit());
+
+    RateLimiter<Object> restored = RateLimiter.smoothBuilder(Duration.ofMinutes(1)).build();
+    PolicySnapshots.restore(restored, PolicySnapshots.snapshot(limiter));
+
+    assertFalse(restored.tryAcquirePermit());
+  }
+
+  public void shouldWriteAndRestoreFile() throws IOException {
+    Path path = Files.createTempFile("failsafe", ".snapshot");
+    path.toFile().deleteOnExit();
+    CircuitBreaker<Object> breaker = CircuitBreaker.builder().build();
+    breaker.open();
+    RateLimiter<Object> limiter = RateLimiter.burstyBuilder(1, Duration.ofMinutes(1)).build();
+    limiter.tryAcquirePermit();
+    Map<String, Policy<?>> policies = new HashMap<>();
+    policies.put("breaker", breaker);
+    policies.put("limiter", limiter);
+    PolicySnapshots.write(path, policies);
+
+    CircuitBreaker<Object> restoredBreaker = CircuitBreaker.builder().build();
+    RateLimiter<Object> restoredLimiter = RateLimiter.burstyBuilder(1, Duration.ofMinutes(1)).build();
+    CircuitBreaker<Object> unknownBreaker = CircuitBreaker.builder().build();
+    Map<String, Policy<?>> restoredPolicies = new HashMap<>();
+    restoredPolicies.put("breaker", restoredBreaker);
+    restoredPolicies.put("limiter", restoredLimiter);
+    restoredPolicies.put("unknown", unknownBreaker);
+
+    assertEquals(PolicySnapshots.restore(path, restoredPolicies), 2);
+    assertTrue(restoredBreaker.isOpen());
+    assertFalse(restoredLimiter.tryAcquirePermit());
+    assertTrue(unknownBreaker.isClosed());
+  }
+
+  public void shouldNotRestoreMissingFile() throws IOException {
+    Path path = Files.createTempFile("failsafe", ".snapshot");
+    Files.delete(path);
+
+    assertEquals(PolicySnapshots.restore(path, new HashMap<>()), 0);
+  }
+
+  public void shouldRejectInvalidSnapshots() {
+    byte[] snapshot = PolicySnapshots.snapshot(CircuitBreaker.builder().build());
+
+    assertThrows(() -> PolicySnapshots.snapshot(Timeout.of(Duration.ofSeconds(1))), IllegalArgumentException.class);
+    assertThrows(() -> PolicySnapshots.restore(RateLimiter.burstyBuilder(1, Duration.ofSeconds(1)).build(), snapshot),
+      IllegalArgumentException.class);
+    assertThrows(() -> PolicySnapshots.restore(CircuitBreaker.builder().build(), new byte[] { 1 }),
+      IllegalArgumentException.class);
+  }
+}
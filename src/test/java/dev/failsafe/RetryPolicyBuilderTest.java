@@ -64,6 +64,16 @@ public class RetryPolicyBuilderTest extends Asserts {
     assertThrows(() -> RetryPolicy.builder().withMaxRetries(-4), IllegalArgumentException.class);
   }
 
+  public void shouldRequireValidSpinThreshold() {
+    assertThrows(() -> RetryPolicy.builder().withSpinThreshold(null), NullPointerException.class);
+    assertThrows(() -> RetryPolicy.builder().withSpinThreshold(Duration.ofNanos(-1)), IllegalArgumentException.class);
+  }
+
+  public void shouldRequireValidRetryBudget() {
+    assertThrows(() -> RetryPolicy.builder().withRetryBudget(0, 10), IllegalArgumentException.class);
+    assertThrows(() -> RetryPolicy.builder().withRetryBudget(.1, -1), IllegalArgumentException.class);
+  }
+
   public void shouldRequireValidMaxDuration() {
     assertThrows(() -> RetryPolicy.builder().withDelay(Duration.ofMillis(10)).withMaxDuration(Duration.ofMillis(5)),
       IllegalStateException.class);
@@ -140,6 +150,21 @@ public class RetryPolicyBuilderTest extends Asserts {
     RetryPolicyBuilder<Object> rpb = RetryPolicy.builder().withJitter(Duration.ofMillis(10)).withJitter(.2);
     assertNull(rpb.config.jitter);
     assertEquals(rpb.config.jitterFactor, .2);
+
+    rpb = RetryPolicy.builder().withJitter(RetryPolicy.JitterStrategy.FULL).withJitter(.2);
+    assertNull(rpb.config.jitterStrategy);
+  }
+
+  public void shouldReplaceWithJitterStrategy() {
+    RetryPolicyBuilder<Object> rpb = RetryPolicy.builder()
+      .withJitter(Duration.ofMillis(10))
+      .withJitter(RetryPolicy.JitterStrategy.EQUAL);
+    assertNull(rpb.config.jitter);
+    assertEquals(rpb.config.jitterStrategy, RetryPolicy.JitterStrategy.EQUAL);
+
+    rpb = RetryPolicy.builder().withJitter(.2).withJitter(RetryPolicy.JitterStrategy.DECORRELATED);
+    assertEquals(rpb.config.jitterFactor, 0.0);
+    assertEquals(rpb.config.jitterStrategy, RetryPolicy.JitterStrategy.DECORRELATED);
   }
 
   public void shouldCreateBuilderFromExistingConfig() {
@@ -148,11 +173,14 @@ public class RetryPolicyBuilderTest extends Asserts {
       .withMaxRetries(5)
       .onFailedAttempt(e -> {
       })
-      .withJitter(Duration.ofMillis(5)).config;
+      .withJitter(Duration.ofMillis(5))
+      .withRetryBudget(.1, 10).config;
     RetryPolicyConfig<Object> newConfig = RetryPolicy.builder(initialConfig).config;
     assertEquals(newConfig.delay, Duration.ofMillis(10));
     assertEquals(newConfig.maxDelay, Duration.ofMillis(100));
     assertNotNull(newConfig.failedAttemptListener);
     assertEquals(newConfig.jitter, Duration.ofMillis(5));
+    assertEquals(newConfig.retryBudgetRatio, .1);
+    assertEquals(newConfig.retryBudgetMinRetriesPerSecond, 10);
   }
 }
@@ -15,6 +15,7 @@
  */
 package dev.failsafe;
 
+import dev.failsafe.spi.Scheduler;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
@@ -24,11 +25,17 @@ import static org.testng.Assert.*;
 @Test
 public class TimeoutBuilderTest {
   public void shouldCreateBuilderFromExistingConfig() {
-    TimeoutConfig<Object> initialConfig = Timeout.builder(Duration.ofMillis(50)).withInterrupt().onFailure(e -> {
-    }).config;
+    Scheduler scheduler = Scheduler.DEFAULT;
+    TimeoutConfig<Object> initialConfig = Timeout.builder(Duration.ofMillis(50))
+      .withInterrupt()
+      .withScheduler(scheduler)
+      .onFailure(e -> {
+      })
+      .config;
     TimeoutConfig<Object> newConfig = Timeout.builder(initialConfig).config;
     assertEquals(newConfig.timeout, Duration.ofMillis(50));
     assertTrue(newConfig.canInterrupt);
+    assertSame(newConfig.scheduler, scheduler);
     assertNotNull(newConfig.failureListener);
   }
 }
@@ -20,10 +20,16 @@ import dev.failsafe.testing.Testing;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static dev.failsafe.internal.InternalTesting.resetBulkhead;
 import static dev.failsafe.internal.InternalTesting.resetLimiter;
-import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.*;
 
 /**
  * Tests various Bulkhead scenarios.
@@ -82,21 +88,92 @@ public class BulkheadTest extends Testing {
   }
 
   /**
-   * Asserts that a bulkhead propagates an InterruptedException.
+   * Asserts that a bulkhead propagates an InterruptedException for sync executions. Async executions don't block a
+   * thread while waiting for a permit, so there is nothing to interrupt.
    */
   public void testAcquirePermitWithInterrupt() {
     Bulkhead<Object> bulkhead = Bulkhead.builder(1).withMaxWaitTime(Duration.ofSeconds(5)).build();
     bulkhead.tryAcquirePermit(); // Bulkhead should be full
+    Thread thread = Thread.currentThread();
+    runInThread(() -> {
+      Thread.sleep(100);
+      thread.interrupt();
+    });
 
-    testRunFailure(() -> {
-      Thread thread = Thread.currentThread();
-      runInThread(() -> {
-        Thread.sleep(100);
-        thread.interrupt();
-      });
-    }, Failsafe.with(bulkhead), ctx -> {
+    assertThrows(() -> Failsafe.with(bulkhead).run(ctx -> {
       System.out.println("Executing");
       throw new Exception();
-    }, InterruptedException.class);
+    }), FailsafeException.class, InterruptedException.class);
+    Thread.interrupted();
+  }
+
+  /**
+   * Asserts that async executions waiting for a permit do not block the executor's threads, and are resumed as permits
+   * are released.
+   */
+  public void shouldNotBlockThreadsWhileWaitingForPermitsAsync() throws Throwable {
+    // Given
+    Bulkhead<Object> bulkhead = Bulkhead.builder(1).withMaxWaitTime(Duration.ofSeconds(10)).build();
+    bulkhead.tryAcquirePermit(); // bulkhead should be full
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      // When
+      CompletableFuture<Object> future1 = Failsafe.with(bulkhead).with(executor).getAsync(() -> "test1");
+      CompletableFuture<Object> future2 = Failsafe.with(bulkhead).with(executor).getAsync(() -> "test2");
+
+      // Then
+      assertEquals(executor.submit(() -> "free").get(1, TimeUnit.SECONDS), "free");
+      bulkhead.releasePermit();
+      assertEquals(future1.get(1, TimeUnit.SECONDS), "test1");
+      assertEquals(future2.get(1, TimeUnit.SECONDS), "test2");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Asserts that an exceeded maxWaitTime causes BulkheadFullException for async executions, and that the abandoned wait
+   * does not consume a permit.
+   */
+  public void testMaxWaitTimeExceededAsync() {
+    // Given
+    Bulkhead<Object> bulkhead = Bulkhead.builder(1).withMaxWaitTime(Duration.ofMillis(50)).build();
+    bulkhead.tryAcquirePermit(); // bulkhead should be full
+
+    // When / Then
+    assertThrows(() -> Failsafe.with(bulkhead).getAsync(() -> "test").get(), ExecutionException.class,
+      BulkheadFullException.class);
+    bulkhead.releasePermit();
+    assertTrue(bulkhead.tryAcquirePermit());
+  }
+
+  /**
+   * Asserts that dropped executions reduce the limit of an adaptive bulkhead and release their permits, while other
+   * failures do not.
+   */
+  public void shouldReduceAdaptiveLimitOnDrops() {
+    Bulkhead<Object> bulkhead = Bulkhead.builder(10).withAdaptiveLimit(Bulkhead.LimitAlgorithm.AIMD, 2, 20).build();
+
+    for (int i = 0; i < 5; i++) {
+      assertThrows(() -> Failsafe.with(bulkhead).run(() -> {
+        throw new IllegalStateException();
+      }), IllegalStateException.class);
+    }
+    assertEquals(bulkhead.getConcurrencyLimit(), 10);
+
+    for (int i = 0; i < 5; i++) {
+      assertThrows(() -> Failsafe.with(bulkhead).run(() -> {
+        throw new TimeoutException();
+      }), FailsafeException.class, TimeoutException.class);
+    }
+    assertThrows(() -> Failsafe.with(bulkhead).runAsync(() -> {
+      throw new TimeoutException();
+    }).get(), ExecutionException.class, TimeoutException.class);
+
+    assertTrue(bulkhead.getConcurrencyLimit() < 10);
+    for (int i = 0; i < bulkhead.getConcurrencyLimit(); i++)
+      assertTrue(bulkhead.tryAcquirePermit());
+    assertFalse(bulkhead.tryAcquirePermit());
   }
 }
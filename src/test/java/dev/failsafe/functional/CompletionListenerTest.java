@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.functional;
+
+import dev.failsafe.Failsafe;
+import dev.failsafe.FailsafeExecutor;
+import dev.failsafe.Fallback;
+import dev.failsafe.RetryPolicy;
+import dev.failsafe.testing.Testing;
+import net.jodah.concurrentunit.Waiter;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests {@link dev.failsafe.event.CompletionListener CompletionListeners}, {@link dev.failsafe.event.AttemptListener
+ * AttemptListeners} and {@link dev.failsafe.event.DelayListener DelayListeners}.
+ */
+@Test
+public class CompletionListenerTest extends Testing {
+  public void shouldCallExecutorCompletionListeners() throws Throwable {
+    RetryPolicy<String> retryPolicy = RetryPolicy.<String>builder().withMaxRetries(2).build();
+    AtomicInteger successes = new AtomicInteger();
+    AtomicReference<Throwable> failureRef = new AtomicReference<>();
+    AtomicInteger attemptsRef = new AtomicInteger();
+    AtomicInteger completions = new AtomicInteger();
+    Waiter waiter = new Waiter();
+    FailsafeExecutor<String> failsafe = Failsafe.with(retryPolicy)
+      .onSuccess((result, failure, attempts, elapsedNanos) -> {
+        successes.incrementAndGet();
+        waiter.resume();
+      })
+      .onFailure((result, failure, attempts, elapsedNanos) -> {
+        failureRef.set(failure);
+        attemptsRef.set(attempts);
+        assertTrue(elapsedNanos > 0);
+      })
+      .onComplete((result, failure, attempts, elapsedNanos) -> {
+        if (completions.incrementAndGet() == 2)
+          waiter.resume();
+      });
+
+    // Sync
+    assertThrows(() -> failsafe.get(() -> {
+      throw new IllegalStateException();
+    }), IllegalStateException.class);
+    assertTrue(failureRef.get() instanceof IllegalStateException);
+    assertEquals(attemptsRef.get(), 3);
+
+    // Async
+    assertEquals(failsafe.getAsync(() -> "test").get(), "test");
+    // Listeners are called after the future is completed
+    waiter.await(10000, 2);
+    assertEquals(successes.get(), 1);
+    assertEquals(completions.get(), 2);
+  }
+
+  public void shouldCallPolicyCompletionListeners() {
+    AtomicReference<String> resultRef = new AtomicReference<>();
+    AtomicInteger attemptsRef = new AtomicInteger();
+    AtomicInteger eventListenerCalls = new AtomicInteger();
+    RetryPolicy<String> retryPolicy = RetryPolicy.<String>builder()
+      .handleResult(null)
+      .onSuccess(e -> eventListenerCalls.incrementAndGet())
+      .onSuccess((result, failure, attempts, elapsedNanos) -> {
+        resultRef.set(result);
+        attemptsRef.set(attempts);
+      })
+      .build();
+    AtomicInteger counter = new AtomicInteger();
+
+    assertEquals(Failsafe.with(retryPolicy).get(() -> counter.incrementAndGet() < 2 ? null : "test"), "test");
+    assertEquals(resultRef.get(), "test");
+    assertEquals(attemptsRef.get(), 2);
+
+    // The completion listener replaces the event listener
+    assertEquals(eventListenerCalls.get(), 0);
+  }
+
+  public void shouldCallAttemptAndDelayListeners() throws Throwable {
+    AtomicInteger failedAttempts = new AtomicInteger();
+    AtomicInteger retries = new AtomicInteger();
+    AtomicInteger eventListenerCalls = new AtomicInteger();
+    AtomicReference<Long> delayRef = new AtomicReference<>();
+    RetryPolicy<String> retryPolicy = RetryPolicy.<String>builder()
+      .withDelay(Duration.ofMillis(10))
+      .withMaxRetries(2)
+      .onRetry(e -> eventListenerCalls.incrementAndGet())
+      .onFailedAttempt((result, failure, attempts, elapsedAttemptNanos) -> {
+        assertTrue(failure instanceof IllegalStateException);
+        assertEquals(attempts, failedAttempts.incrementAndGet());
+        assertTrue(elapsedAttemptNanos >= 0);
+      })
+      .onRetry((result, failure, attempts, elapsedAttemptNanos) -> retries.incrementAndGet())
+      .onRetryScheduled((result, failure, attempts, delayNanos) -> delayRef.set(delayNanos))
+      .build();
+    AtomicInteger counter = new AtomicInteger();
+
+    assertEquals(Failsafe.with(retryPolicy).getAsync(() -> {
+      if (counter.incrementAndGet() < 3)
+        throw new IllegalStateException();
+      return "test";
+    }).get(), "test");
+    assertEquals(failedAttempts.get(), 2);
+    assertEquals(retries.get(), 2);
+    assertEquals(delayRef.get().longValue(), Duration.ofMillis(10).toNanos());
+
+    // The attempt listener replaces the event listener
+    assertEquals(eventListenerCalls.get(), 0);
+  }
+
+  public void shouldCallFallbackAttemptListener() {
+    AtomicReference<Throwable> failureRef = new AtomicReference<>();
+    Fallback<String> fallback = Fallback.builder("fallback")
+      .onFailedAttempt((result, failure, attempts, elapsedAttemptNanos) -> failureRef.set(failure))
+      .build();
+
+    assertEquals(Failsafe.with(fallback).get(() -> {
+      throw new IllegalStateException();
+    }), "fallback");
+    assertTrue(failureRef.get() instanceof IllegalStateException);
+  }
+}
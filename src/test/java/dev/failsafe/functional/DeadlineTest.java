@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.functional;
+
+import dev.failsafe.*;
+import dev.failsafe.testing.Testing;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests execution deadlines.
+ */
+@Test
+public class DeadlineTest extends Testing {
+  /**
+   * Asserts that retries whose delay would exceed the deadline are not performed.
+   */
+  public void shouldNotRetryPastDeadline() {
+    Stats rpStats = new Stats();
+    RetryPolicy<Object> rp = withStats(
+      RetryPolicy.builder().withDelay(Duration.ofMillis(100)).withMaxRetries(10), rpStats).build();
+
+    testRunFailure(rpStats::reset, Failsafe.with(rp).withDeadline(Duration.ofMillis(250)), ctx -> {
+      throw new IllegalStateException();
+    }, (f, e) -> {
+      assertEquals(e.getAttemptCount(), 3);
+      assertEquals(rpStats.retriesExceededCount, 1);
+    }, IllegalStateException.class);
+  }
+
+  /**
+   * Asserts that a Timeout is shortened to end at the deadline.
+   */
+  public void shouldShortenTimeoutToDeadline() {
+    Timeout<Object> timeout = Timeout.builder(Duration.ofSeconds(5)).withInterrupt().build();
+    FailsafeExecutor<Object> failsafe = Failsafe.with(timeout).withDeadline(Duration.ofMillis(50));
+
+    // Sync
+    long startTime = System.nanoTime();
+    assertThrows(() -> failsafe.run(() -> Thread.sleep(1000)), TimeoutExceededException.class);
+    assertTrue(Duration.ofNanos(System.nanoTime() - startTime).toMillis() < 1000);
+
+    // Async
+    startTime = System.nanoTime();
+    assertThrows(() -> failsafe.runAsync(() -> Thread.sleep(1000)).get(), ExecutionException.class,
+      TimeoutExceededException.class);
+    assertTrue(Duration.ofNanos(System.nanoTime() - startTime).toMillis() < 1000);
+  }
+
+  public void shouldProvideRemainingTime() {
+    assertNull(Failsafe.none().get(ExecutionContext::getRemainingTime));
+
+    Duration remaining = Failsafe.none().withDeadline(Duration.ofSeconds(10)).get(ExecutionContext::getRemainingTime);
+    assertTrue(remaining.toMillis() > 0 && remaining.toMillis() <= 10000);
+
+    remaining = Failsafe.none().withDeadline(Duration.ZERO).get(ExecutionContext::getRemainingTime);
+    assertEquals(remaining, Duration.ZERO);
+  }
+
+  /**
+   * Asserts that configuring a deadline returns a copy, leaving the original executor without a deadline.
+   */
+  public void shouldNotConfigureDeadlineOnSharedExecutor() {
+    FailsafeExecutor<Object> failsafe = Failsafe.none();
+    FailsafeExecutor<Object> withDeadline = failsafe.withDeadline(Duration.ZERO);
+    Failsafe.none().withDeadline(Duration.ofMillis(1)).run(ctx -> failsafe.withDeadline(ctx));
+
+    assertEquals(withDeadline.get(ExecutionContext::getRemainingTime), Duration.ZERO);
+    assertNull(failsafe.get(ExecutionContext::getRemainingTime));
+  }
+
+  /**
+   * Asserts that a nested execution inherits the earlier deadline of its outer execution.
+   */
+  public void shouldInheritDeadline() {
+    Duration remaining = Failsafe.none().withDeadline(Duration.ofMillis(500)).get(ctx -> {
+      return Failsafe.none()
+        .withDeadline(Duration.ofSeconds(10))
+        .withDeadline(ctx)
+        .get(ExecutionContext::getRemainingTime);
+    });
+    assertTrue(remaining.toMillis() <= 500);
+
+    // Outer executions without a deadline are not inherited
+    assertNull(Failsafe.none().get(ctx -> Failsafe.none().withDeadline(ctx).get(ExecutionContext::getRemainingTime)));
+  }
+}
@@ -21,6 +21,9 @@ import dev.failsafe.Failsafe;
 import dev.failsafe.RetryPolicy;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 import static org.testng.Assert.assertEquals;
 
 /**
@@ -90,4 +93,29 @@ public class FallbackTest extends Testing {
       throw new IllegalArgumentException();
     }, IllegalStateException.class);
   }
+
+  /**
+   * Tests stage based fallbacks whose stages are pending or already failed when the fallback is applied.
+   */
+  public void shouldFallbackOfStage() throws Throwable {
+    // Given
+    Fallback<Object> pendingFallback = Fallback.ofStage(() -> CompletableFuture.supplyAsync(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException ignore) {
+      }
+      return "fallback";
+    }));
+    CompletableFuture<Object> failedStage = new CompletableFuture<>();
+    failedStage.completeExceptionally(new IllegalStateException());
+    Fallback<Object> failedFallback = Fallback.ofStage(() -> failedStage);
+
+    // When / Then
+    assertEquals(Failsafe.with(pendingFallback).getAsync(() -> {
+      throw new IllegalArgumentException();
+    }).get(), "fallback");
+    assertThrows(() -> Failsafe.with(failedFallback).getAsync(() -> {
+      throw new IllegalArgumentException();
+    }).get(), ExecutionException.class, IllegalStateException.class);
+  }
 }
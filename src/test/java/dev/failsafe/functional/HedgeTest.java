@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.functional;
+
+import dev.failsafe.*;
+import dev.failsafe.testing.Testing;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests various Hedge scenarios.
+ */
+@Test
+public class HedgeTest extends Testing {
+  /**
+   * Asserts that a hedged attempt's result is used when the initial attempt is slow, and that the initial attempt is
+   * cancelled.
+   */
+  public void shouldUseHedgedResultWhenAttemptIsSlow() throws Throwable {
+    // Given
+    Hedge<Object> hedge = Hedge.of(Duration.ofMillis(50));
+    AtomicInteger attempts = new AtomicInteger();
+    AtomicBoolean slowAttemptCancelled = new AtomicBoolean();
+    CountDownLatch slowAttemptDone = new CountDownLatch(1);
+
+    // When
+    CompletableFuture<Object> future = Failsafe.with(hedge).getAsync(ctx -> {
+      if (attempts.incrementAndGet() == 1) {
+        Thread.sleep(500);
+        slowAttemptCancelled.set(ctx.isCancelled());
+        slowAttemptDone.countDown();
+        return "slow";
+      }
+      return "fast";
+    });
+
+    // Then
+    assertEquals(future.get(400, TimeUnit.MILLISECONDS), "fast");
+    assertEquals(attempts.get(), 2);
+    assertTrue(slowAttemptDone.await(1, TimeUnit.SECONDS));
+    assertTrue(slowAttemptCancelled.get());
+  }
+
+  /**
+   * Asserts that a hedged attempt that loses to the initial attempt is interrupted.
+   */
+  public void shouldInterruptLosingHedgedAttempt() throws Throwable {
+    // Given
+    Hedge<Object> hedge = Hedge.builder(Duration.ofMillis(50)).withInterrupt().build();
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch hedgeInterrupted = new CountDownLatch(1);
+
+    // When
+    CompletableFuture<Object> future = Failsafe.with(hedge).getAsync(() -> {
+      if (attempts.incrementAndGet() == 1) {
+        Thread.sleep(200);
+        return "initial";
+      }
+      try {
+        Thread.sleep(5000);
+      } catch (InterruptedException e) {
+        hedgeInterrupted.countDown();
+        throw e;
+      }
+      return "hedged";
+    });
+
+    // Then
+    assertEquals(future.get(1, TimeUnit.SECONDS), "initial");
+    assertEquals(attempts.get(), 2);
+    assertTrue(hedgeInterrupted.await(1, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Asserts that the initial stage is cancelled when it loses to a hedged stage, even though the hedged attempt also
+   * propagates cancellations to its own stage.
+   */
+  public void shouldCancelLosingStage() throws Throwable {
+    // Given
+    Hedge<Object> hedge = Hedge.of(Duration.ofMillis(50));
+    CompletableFuture<Object> initialStage = new CompletableFuture<>();
+    CompletableFuture<Object> hedgedStage = new CompletableFuture<>();
+    AtomicInteger attempts = new AtomicInteger();
+
+    // When
+    CompletableFuture<Object> future = Failsafe.with(hedge).getStageAsync(() -> {
+      if (attempts.incrementAndGet() == 1)
+        return initialStage;
+      runAsync(() -> {
+        sleep(50);
+        hedgedStage.complete("hedged");
+      });
+      return hedgedStage;
+    });
+
+    // Then
+    assertEquals(future.get(1, TimeUnit.SECONDS), "hedged");
+    assertEquals(attempts.get(), 2);
+    assertTrue(initialStage.isCancelled());
+    assertFalse(hedgedStage.isCancelled());
+  }
+
+  /**
+   * Asserts that fast executions are not hedged, and that sync executions pass through.
+   */
+  public void shouldNotHedgeFastAttempts() throws Throwable {
+    // Given
+    Hedge<Object> hedge = Hedge.of(Duration.ofSeconds(1));
+    AtomicInteger attempts = new AtomicInteger();
+
+    // When / Then
+    testGetSuccess(() -> {
+      attempts.set(0);
+    }, Failsafe.with(hedge), ctx -> {
+      attempts.incrementAndGet();
+      return "success";
+    }, (f, e) -> {
+      assertEquals(attempts.get(), 1);
+    }, "success");
+  }
+
+  /**
+   * Asserts that the next hedge is launched immediately when all pending attempts fail.
+   */
+  public void shouldLaunchNextHedgeWhenAttemptsFail() throws Throwable {
+    // Given
+    Hedge<Object> hedge = Hedge.builder(Duration.ofSeconds(10)).withMaxHedges(2).build();
+    AtomicInteger attempts = new AtomicInteger();
+
+    // When
+    CompletableFuture<Object> future = Failsafe.with(hedge).getAsync(() -> {
+      if (attempts.incrementAndGet() < 3)
+        throw new IllegalStateException();
+      return "success";
+    });
+
+    // Then
+    assertEquals(future.get(1, TimeUnit.SECONDS), "success");
+    assertEquals(attempts.get(), 3);
+  }
+
+  /**
+   * Asserts that the last failure is the result when all attempts fail.
+   */
+  public void shouldFailWhenAllAttemptsFail() {
+    // Given
+    AtomicInteger failures = new AtomicInteger();
+    Hedge<Object> hedge = Hedge.builder(Duration.ofMillis(10))
+      .withMaxHedges(2)
+      .onFailure(e -> failures.incrementAndGet())
+      .build();
+    AtomicInteger attempts = new AtomicInteger();
+
+    // When / Then
+    assertThrows(() -> Failsafe.with(hedge).getAsync(() -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException();
+    }).get(), ExecutionException.class, IllegalStateException.class);
+    assertEquals(attempts.get(), 3);
+    assertEquals(failures.get(), 1);
+  }
+
+  /**
+   * Asserts that a Hedge composes with an outer RetryPolicy.
+   */
+  public void shouldRetryHedgedExecutions() throws Throwable {
+    // Given
+    RetryPolicy<Object> retryPolicy = RetryPolicy.builder().withMaxRetries(2).build();
+    Hedge<Object> hedge = Hedge.of(Duration.ofSeconds(10));
+    AtomicInteger attempts = new AtomicInteger();
+
+    // When
+    CompletableFuture<Object> future = Failsafe.with(retryPolicy, hedge).getAsync(() -> {
+      if (attempts.incrementAndGet() < 4)
+        throw new IllegalStateException();
+      return "success";
+    });
+
+    // Then
+    assertEquals(future.get(1, TimeUnit.SECONDS), "success");
+    assertEquals(attempts.get(), 4);
+  }
+}
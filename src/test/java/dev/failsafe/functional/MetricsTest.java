@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.functional;
+
+import dev.failsafe.*;
+import dev.failsafe.metrics.ExecutionMetrics;
+import dev.failsafe.metrics.MetricsSnapshot;
+import dev.failsafe.testing.Testing;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests execution metrics.
+ */
+@Test
+public class MetricsTest extends Testing {
+  /**
+   * Asserts that executor metrics record attempts, executions, retries, and fallbacks, for sync and async executions.
+   */
+  public void shouldRecordExecutorMetrics() throws Throwable {
+    Fallback<Object> fallback = Fallback.of("fallback");
+    RetryPolicy<Object> retryPolicy = RetryPolicy.builder().withMaxRetries(2).build();
+    ExecutionMetrics metrics = new ExecutionMetrics();
+    FailsafeExecutor<Object> failsafe = Failsafe.with(fallback, retryPolicy).withMetrics(metrics);
+
+    assertEquals(failsafe.get(() -> {
+      throw new IllegalStateException();
+    }), "fallback");
+    assertEquals(failsafe.getAsync(() -> {
+      throw new IllegalStateException();
+    }).get(), "fallback");
+    assertEquals(failsafe.get(() -> "success"), "success");
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(snapshot.getAttempts(), 7);
+    assertEquals(snapshot.getRetries(), 4);
+    assertEquals(snapshot.getFallbacks(), 2);
+    // Successes and failures are consistent with the executor's onSuccess and onFailure listeners
+    assertEquals(snapshot.getSuccesses(), 1);
+    assertEquals(snapshot.getFailures(), 2);
+    assertEquals(snapshot.getAttemptLatency().getCount(), 7);
+    assertEquals(snapshot.getExecutionLatency().getCount(), 3);
+  }
+
+  /**
+   * Asserts that rejections by a CircuitBreaker are recorded to executor and policy metrics.
+   */
+  public void shouldRecordRejections() {
+    ExecutionMetrics executorMetrics = new ExecutionMetrics();
+    ExecutionMetrics policyMetrics = new ExecutionMetrics();
+    CircuitBreaker<Object> breaker = CircuitBreaker.builder().withMetrics(policyMetrics).build();
+    breaker.open();
+    FailsafeExecutor<Object> failsafe = Failsafe.with(breaker).withMetrics(executorMetrics);
+
+    assertThrows(() -> failsafe.run(() -> {
+    }), CircuitBreakerOpenException.class);
+    assertThrows(() -> failsafe.runAsync(() -> {
+    }).get(), ExecutionException.class, CircuitBreakerOpenException.class);
+
+    assertEquals(executorMetrics.snapshot().getRejections(), 2);
+    assertEquals(executorMetrics.snapshot().getFailures(), 2);
+    assertEquals(executorMetrics.snapshot().getAttempts(), 0);
+    assertEquals(policyMetrics.snapshot().getRejections(), 2);
+  }
+
+  /**
+   * Asserts that timeouts are recorded.
+   */
+  public void shouldRecordTimeouts() {
+    ExecutionMetrics metrics = new ExecutionMetrics();
+    Timeout<Object> timeout = Timeout.builder(Duration.ofMillis(10)).withInterrupt().build();
+    FailsafeExecutor<Object> failsafe = Failsafe.with(timeout).withMetrics(metrics);
+
+    assertThrows(() -> failsafe.run(() -> Thread.sleep(1000)), TimeoutExceededException.class);
+    assertThrows(() -> failsafe.runAsync(() -> Thread.sleep(1000)).get(), ExecutionException.class,
+      TimeoutExceededException.class);
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(snapshot.getTimeouts(), 2);
+    assertEquals(snapshot.getFailures(), 2);
+  }
+
+  /**
+   * Asserts that policy metrics only record the executions that the policy handles.
+   */
+  public void shouldRecordPolicyMetrics() {
+    ExecutionMetrics metrics = new ExecutionMetrics();
+    RetryPolicy<Object> retryPolicy = RetryPolicy.builder().withMaxRetries(2).withMetrics(metrics).build();
+
+    assertThrows(() -> Failsafe.with(retryPolicy).run(() -> {
+      throw new IllegalStateException();
+    }), IllegalStateException.class);
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(snapshot.getAttempts(), 3);
+    assertEquals(snapshot.getRetries(), 2);
+    assertEquals(snapshot.getFailures(), 1);
+    assertEquals(snapshot.getExecutionLatency().getCount(), 1);
+  }
+}
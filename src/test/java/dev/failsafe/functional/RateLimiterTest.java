@@ -16,6 +16,7 @@
 package dev.failsafe.functional;
 
 import dev.failsafe.Failsafe;
+import dev.failsafe.FailsafeException;
 import dev.failsafe.RateLimitExceededException;
 import dev.failsafe.RateLimiter;
 import dev.failsafe.RetryPolicy;
@@ -23,9 +24,14 @@ import dev.failsafe.testing.Testing;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static dev.failsafe.internal.InternalTesting.resetLimiter;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests various RateLimiter scenarios.
@@ -90,24 +96,50 @@ public class RateLimiterTest extends Testing {
   }
 
   /**
-   * Asserts that a rate limiter propagates an InterruptedException.
+   * Asserts that a rate limiter propagates an InterruptedException for sync executions. Async executions don't sleep a
+   * thread while waiting for a permit, so there is nothing to interrupt.
    */
   public void testAcquirePermitWithInterrupt() {
     RateLimiter<Object> limiter = RateLimiter.smoothBuilder(Duration.ofSeconds(1))
       .withMaxWaitTime(Duration.ofSeconds(5))
       .build();
+    limiter.tryAcquirePermit();
+    Thread thread = Thread.currentThread();
+    runInThread(() -> {
+      Thread.sleep(100);
+      thread.interrupt();
+    });
 
-    testRunFailure(() -> {
-      resetLimiter(limiter);
-      limiter.tryAcquirePermit();
-      Thread thread = Thread.currentThread();
-      runInThread(() -> {
-        Thread.sleep(100);
-        thread.interrupt();
-      });
-    }, Failsafe.with(limiter), ctx -> {
+    assertThrows(() -> Failsafe.with(limiter).run(ctx -> {
       System.out.println("Executing");
       throw new Exception();
-    }, InterruptedException.class);
+    }), FailsafeException.class, InterruptedException.class);
+    Thread.interrupted();
+  }
+
+  /**
+   * Asserts that async executions waiting for a permit do not occupy the executor's threads, and are run once the wait
+   * has elapsed.
+   */
+  public void shouldNotBlockThreadsWhileWaitingForPermitsAsync() throws Throwable {
+    // Given
+    RateLimiter<Object> limiter = RateLimiter.smoothBuilder(Duration.ofMillis(200))
+      .withMaxWaitTime(Duration.ofSeconds(1))
+      .build();
+    limiter.tryAcquirePermit(); // limiter should now be out of permits
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      // When
+      long startTime = System.nanoTime();
+      CompletableFuture<Object> future = Failsafe.with(limiter).with(executor).getAsync(() -> "test");
+
+      // Then
+      assertEquals(executor.submit(() -> "free").get(100, TimeUnit.MILLISECONDS), "free");
+      assertEquals(future.get(1, TimeUnit.SECONDS), "test");
+      assertTrue(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(150));
+    } finally {
+      executor.shutdownNow();
+    }
   }
 }
@@ -22,8 +22,11 @@ import dev.failsafe.RetryPolicy;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 @Test
 public class RetryPolicyTest extends Testing {
@@ -101,4 +104,60 @@ public class RetryPolicyTest extends Testing {
     });
     waiter.await(1000);
   }
+
+  /**
+   * Asserts that decorrelated jitter delays are between the delay and the max delay.
+   */
+  public void shouldScheduleDecorrelatedJitterDelays() {
+    List<Duration> delays = new ArrayList<>();
+    RetryPolicy<Object> rp = RetryPolicy.builder()
+      .withBackoff(Duration.ofMillis(1), Duration.ofMillis(5))
+      .withJitter(RetryPolicy.JitterStrategy.DECORRELATED)
+      .withMaxRetries(10)
+      .onRetryScheduled(e -> delays.add(e.getDelay()))
+      .build();
+
+    ignoreExceptions(() -> Failsafe.with(rp).run(() -> {
+      throw new IllegalStateException();
+    }));
+
+    assertEquals(delays.size(), 10);
+    for (Duration delay : delays)
+      assertTrue(delay.toNanos() >= Duration.ofMillis(1).toNanos() && delay.toNanos() <= Duration.ofMillis(5).toNanos(),
+        delay.toString());
+  }
+
+  /**
+   * Asserts that retries across executions are limited by a retry budget.
+   */
+  public void shouldLimitRetriesWithRetryBudget() {
+    Stats stats = new Stats();
+    RetryPolicy<Object> rp = withStats(RetryPolicy.builder().withMaxRetries(2).withRetryBudget(.5, 0), stats).build();
+
+    for (int i = 0; i < 10; i++)
+      ignoreExceptions(() -> Failsafe.with(rp).run(() -> {
+        throw new IllegalStateException();
+      }));
+
+    assertEquals(stats.retryCount, 5);
+    assertEquals(stats.retriesExceededCount, 10);
+  }
+
+  /**
+   * Asserts that sub-millisecond sync retry delays are not truncated to zero.
+   */
+  public void shouldWaitForSubMillisecondDelays() {
+    Duration delay = Duration.ofNanos(300_000);
+    RetryPolicy<Object> rp = RetryPolicy.builder()
+      .withDelay(delay)
+      .withSpinThreshold(Duration.ofNanos(100_000))
+      .withMaxRetries(3)
+      .build();
+
+    long startTime = System.nanoTime();
+    ignoreExceptions(() -> Failsafe.with(rp).run(() -> {
+      throw new IllegalStateException();
+    }));
+    assertTrue(System.nanoTime() - startTime >= delay.toNanos() * 3);
+  }
 }
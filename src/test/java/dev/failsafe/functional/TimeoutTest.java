@@ -16,6 +16,7 @@
 package dev.failsafe.functional;
 
 import dev.failsafe.*;
+import dev.failsafe.spi.Scheduler;
 import dev.failsafe.testing.Testing;
 import org.testng.annotations.Test;
 
@@ -325,4 +326,26 @@ public class TimeoutTest extends Testing {
     timeout = withStatsAndLogs(Timeout.builder(Duration.ofMillis(100)).withInterrupt(), timeoutStats).build();
     test.accept(timeout);
   }
+
+  /**
+   * Tests that timeouts are scheduled on the Timeout's configured scheduler.
+   */
+  public void shouldTimeoutWithConfiguredScheduler() {
+    // Given
+    AtomicInteger scheduled = new AtomicInteger();
+    Scheduler scheduler = (callable, delay, unit) -> {
+      scheduled.incrementAndGet();
+      return Scheduler.DEFAULT.schedule(callable, delay, unit);
+    };
+    Timeout<Object> timeout = Timeout.builder(Duration.ofMillis(50)).withScheduler(scheduler).build();
+
+    // When / Then
+    testRunFailure(() -> {
+      scheduled.set(0);
+    }, Failsafe.with(timeout), ctx -> {
+      Thread.sleep(200);
+    }, (f, e) -> {
+      assertEquals(scheduled.get(), 1);
+    }, TimeoutExceededException.class);
+  }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.Bulkhead;
+import dev.failsafe.Bulkhead.LimitAlgorithm;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.*;
+
+@Test
+public class AdaptiveLimitTest {
+  static final long RTT = Duration.ofMillis(10).toNanos();
+
+  private static BulkheadImpl<Object> bulkhead(LimitAlgorithm algorithm, int initialLimit, int minLimit, int maxLimit) {
+    return (BulkheadImpl<Object>) Bulkhead.builder(initialLimit)
+      .withAdaptiveLimit(algorithm, minLimit, maxLimit)
+      .build();
+  }
+
+  /**
+   * Acquires all permits and records a result for each, releasing permits as results are recorded.
+   */
+  private static void recordSaturated(BulkheadImpl<Object> bulkhead, long rttNanos, boolean dropped) {
+    int acquired = 0;
+    while (bulkhead.tryAcquirePermit())
+      acquired++;
+    for (int i = 0; i < acquired; i++) {
+      bulkhead.recordResult(rttNanos, dropped);
+      bulkhead.releasePermit();
+    }
+  }
+
+  public void shouldNotAdaptFixedLimit() {
+    BulkheadImpl<Object> bulkhead = (BulkheadImpl<Object>) Bulkhead.builder(5).build();
+
+    bulkhead.recordResult(RTT, true);
+
+    assertFalse(bulkhead.isAdaptive());
+    assertEquals(bulkhead.getConcurrencyLimit(), 5);
+  }
+
+  public void testAimdLimit() {
+    BulkheadImpl<Object> bulkhead = bulkhead(LimitAlgorithm.AIMD, 10, 2, 20);
+
+    // Increase when saturated
+    assertTrue(bulkhead.tryAcquirePermit());
+    for (int i = 0; i < 9; i++)
+      assertTrue(bulkhead.tryAcquirePermit());
+    bulkhead.recordResult(RTT, false);
+    assertEquals(bulkhead.getConcurrencyLimit(), 11);
+    assertTrue(bulkhead.tryAcquirePermit());
+    assertFalse(bulkhead.tryAcquirePermit());
+
+    // Decrease on failure
+    bulkhead.recordResult(RTT, true);
+    assertEquals(bulkhead.getConcurrencyLimit(), 9);
+
+    // Bounded by the min limit
+    for (int i = 0; i < 20; i++)
+      bulkhead.recordResult(RTT, true);
+    assertEquals(bulkhead.getConcurrencyLimit(), 2);
+  }
+
+  public void testAimdLimitDoesNotIncreaseWhenUnderutilized() {
+    BulkheadImpl<Object> bulkhead = bulkhead(LimitAlgorithm.AIMD, 10, 2, 20);
+
+    assertTrue(bulkhead.tryAcquirePermit());
+    bulkhead.recordResult(RTT, false);
+
+    assertEquals(bulkhead.getConcurrencyLimit(), 10);
+  }
+
+  public void testVegasLimit() {
+    BulkheadImpl<Object> bulkhead = bulkhead(LimitAlgorithm.VEGAS, 10, 2, 100);
+
+    // Increase while latency is at its minimum
+    for (int i = 0; i < 3; i++)
+      recordSaturated(bulkhead, RTT, false);
+    int limit = bulkhead.getConcurrencyLimit();
+    assertTrue(limit > 10);
+
+    // Decrease as latency rises
+    for (int i = 0; i < 3; i++)
+      recordSaturated(bulkhead, RTT * 4, false);
+    assertTrue(bulkhead.getConcurrencyLimit() < limit);
+  }
+
+  public void testGradientLimit() {
+    BulkheadImpl<Object> bulkhead = bulkhead(LimitAlgorithm.GRADIENT, 10, 2, 100);
+
+    // Increase while latency is at its baseline
+    for (int i = 0; i < 3; i++)
+      recordSaturated(bulkhead, RTT, false);
+    int limit = bulkhead.getConcurrencyLimit();
+    assertTrue(limit > 10);
+
+    // Decrease as latency rises
+    for (int i = 0; i < 3; i++)
+      recordSaturated(bulkhead, RTT * 4, false);
+    assertTrue(bulkhead.getConcurrencyLimit() < limit);
+  }
+
+  public void shouldBoundLimitByMaxLimit() {
+    for (LimitAlgorithm algorithm : LimitAlgorithm.values()) {
+      BulkheadImpl<Object> bulkhead = bulkhead(algorithm, 5, 1, 8);
+
+      for (int i = 0; i < 50; i++)
+        recordSaturated(bulkhead, RTT, false);
+
+      assertEquals(bulkhead.getConcurrencyLimit(), 8, algorithm.name());
+      for (int i = 0; i < 8; i++)
+        assertTrue(bulkhead.tryAcquirePermit());
+      assertFalse(bulkhead.tryAcquirePermit());
+    }
+  }
+}
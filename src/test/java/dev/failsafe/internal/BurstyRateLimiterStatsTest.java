@@ -87,6 +87,54 @@ public class BurstyRateLimiterStatsTest extends RateLimiterStatsTest<BurstyRateL
     assertEquals(stats.getCurrentPeriod(), 2);
   }
 
+  /**
+   * Asserts that a deficit of permits carries into later periods, delaying callers until it's repaid, and that
+   * requests which would exceed the max wait time leave the deficit unchanged.
+   */
+  public void testDeficit() {
+    // Given 2 max permits per second
+    BurstyRateLimiterStats stats = createStats(2, Duration.ofSeconds(1));
+    assertEquals(acquire(stats, 7), 3000);
+    assertEquals(stats.getAvailablePermits(), -5);
+
+    stopwatch.set(1000);
+    assertEquals(stats.getCurrentPeriod(), 1);
+    assertEquals(stats.getAvailablePermits(), -3);
+    assertEquals(stats.acquirePermits(2, Duration.ofMillis(2000)), -1);
+    assertEquals(stats.getAvailablePermits(), -3);
+    assertEquals(acquire(stats, 1), 2000);
+    assertEquals(stats.getAvailablePermits(), -4);
+
+    // When the deficit has been repaid
+    stopwatch.set(4100);
+    assertEquals(stats.getAvailablePermits(), 2);
+    assertEquals(acquire(stats, 1), 0);
+    assertEquals(stats.getAvailablePermits(), 1);
+  }
+
+  /**
+   * Asserts that periods which elapse without permits being acquired are skipped rather than accumulating permits.
+   */
+  public void testPeriodRollover() {
+    // Given 2 max permits per second
+    BurstyRateLimiterStats stats = createStats(2, Duration.ofSeconds(1));
+    assertEquals(acquire(stats, 1), 0);
+    assertEquals(stats.getAvailablePermits(), 1);
+
+    // When several periods elapse
+    stopwatch.set(5500);
+    assertEquals(stats.getCurrentPeriod(), 5);
+    assertEquals(stats.getAvailablePermits(), 2);
+    assertEquals(acquire(stats, 3), 500);
+    assertEquals(stats.getAvailablePermits(), -1);
+
+    // When rolling into the period of the last acquired permit
+    stopwatch.set(6000);
+    assertEquals(stats.getAvailablePermits(), 1);
+    assertEquals(acquire(stats, 1), 0);
+    assertEquals(stats.getAvailablePermits(), 0);
+  }
+
   @Override
   void printInfo(BurstyRateLimiterStats stats, long waitMillis) {
     System.out.printf("[%s] elapsedMillis: %5s, availablePermits: %2s, currentPeriod: %s, waitMillis: %s%n",
@@ -1,10 +1,15 @@
 package dev.failsafe.internal;
 
-import dev.failsafe.internal.TimedCircuitStatsTest.TestClock;
+import dev.failsafe.internal.StripedTimedCircuitStatsTest.TestClock;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -102,7 +107,7 @@ public class CountingCircuitStatsTest extends CircuitStatsTest {
 
   public void testCopyFromTimedStats() {
     TestClock clock = new TestClock();
-    TimedCircuitStats timedStats = new TimedCircuitStats(4, Duration.ofSeconds(4), clock, null);
+    StripedTimedCircuitStats timedStats = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, null);
     recordSuccesses(timedStats, 3);
     clock.set(1200);
     recordFailures(timedStats, 5);
@@ -111,10 +116,37 @@ public class CountingCircuitStatsTest extends CircuitStatsTest {
     assertValues(stats, true, true, true, false, false, false, false, false);
   }
 
+  /**
+   * Asserts that the counts agree with the recorded entries after concurrent recording wraps the ring many times.
+   */
+  public void testConcurrentRecording() throws Throwable {
+    stats = new CountingCircuitStats(100, null);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      boolean success = t % 2 == 0;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 10000; i++)
+          stats.setNext(success);
+      }));
+    }
+    for (Future<?> future : futures)
+      future.get();
+    executor.shutdownNow();
+
+    int successes = 0;
+    for (boolean value : valuesFor(stats))
+      if (value)
+        successes++;
+    assertEquals(stats.getExecutionCount(), 100);
+    assertEquals(stats.getSuccessCount(), successes);
+    assertEquals(stats.getFailureCount(), 100 - successes);
+  }
+
   private static boolean[] valuesFor(CountingCircuitStats stats) {
     boolean[] values = new boolean[stats.getExecutionCount()];
     for (int i = 0; i < values.length; i++)
-      values[i] = stats.bitSet.get(i);
+      values[i] = stats.get(i);
     return values;
   }
 
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.Hedge;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.assertEquals;
+
+@Test
+public class HedgeImplTest {
+  public void shouldUseConfiguredDelayUntilEnoughSamples() {
+    HedgeImpl<Object> hedge = (HedgeImpl<Object>) Hedge.builder(Duration.ofMillis(100)).withDelayPercentile(50).build();
+
+    for (int i = 1; i < HedgeImpl.MIN_SAMPLES; i++)
+      hedge.recordLatency(Duration.ofMillis(i).toNanos());
+
+    assertEquals(hedge.getDelay(), Duration.ofMillis(100));
+  }
+
+  public void shouldUseObservedPercentileDelay() {
+    HedgeImpl<Object> hedge = (HedgeImpl<Object>) Hedge.builder(Duration.ofMillis(100)).withDelayPercentile(50).build();
+
+    for (int i = 1; i <= HedgeImpl.MIN_SAMPLES; i++)
+      hedge.recordLatency(Duration.ofMillis(i).toNanos());
+
+    assertEquals(hedge.getDelay(), Duration.ofMillis(8));
+  }
+
+  public void shouldIgnoreLatenciesForFixedDelay() {
+    HedgeImpl<Object> hedge = (HedgeImpl<Object>) Hedge.builder(Duration.ofMillis(100)).build();
+
+    for (int i = 1; i <= HedgeImpl.WINDOW_SIZE; i++)
+      hedge.recordLatency(Duration.ofMillis(i).toNanos());
+
+    assertEquals(hedge.getDelay(), Duration.ofMillis(100));
+  }
+}
@@ -20,6 +20,11 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.assertEquals;
@@ -89,6 +94,32 @@ public abstract class RateLimiterStatsTest<T extends RateLimiterStats> {
     assertEquals(acquire(createStats(), 1), 0);
   }
 
+  /**
+   * Asserts that permits acquired concurrently are all accounted for, by comparing the next wait time against stats
+   * whose permits were acquired sequentially.
+   */
+  public void shouldAcquirePermitsConcurrently() throws Throwable {
+    // Given
+    T stats1 = createStats();
+    T stats2 = createStats();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+
+    // When
+    for (int t = 0; t < 8; t++)
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 1000; i++)
+          stats1.acquirePermits(1, null);
+      }));
+    for (Future<?> future : futures)
+      future.get();
+    executor.shutdownNow();
+    stats2.acquirePermits(8000, null);
+
+    // Then
+    assertEquals(stats1.acquirePermits(1, null), stats2.acquirePermits(1, null));
+  }
+
   /**
    * Acquires {@code permits}, prints out info, and returns the wait time converted to millis.
    */
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.RetryPolicy;
+import dev.failsafe.internal.RateLimiterStatsTest.TestStopwatch;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test
+public class RetryBudgetTest {
+  TestStopwatch stopwatch;
+
+  @BeforeMethod
+  protected void beforeMethod() {
+    stopwatch = new TestStopwatch();
+  }
+
+  private RetryBudget budget(double ratio, int minRetriesPerSecond) {
+    return new RetryBudget(RetryPolicy.builder().withRetryBudget(ratio, minRetriesPerSecond).build().getConfig(),
+      stopwatch);
+  }
+
+  public void shouldAllowRetriesWithinRatio() {
+    RetryBudget budget = budget(.2, 0);
+
+    for (int i = 0; i < 10; i++)
+      budget.recordAttempt();
+
+    assertTrue(budget.tryRetry());
+    assertTrue(budget.tryRetry());
+    assertFalse(budget.tryRetry());
+
+    // More attempts allow more retries
+    for (int i = 0; i < 5; i++)
+      budget.recordAttempt();
+    assertTrue(budget.tryRetry());
+    assertFalse(budget.tryRetry());
+  }
+
+  public void shouldAllowMinRetriesPerSecond() {
+    RetryBudget budget = budget(.1, 1);
+
+    for (int i = 0; i < RetryBudget.WINDOW_SECONDS; i++)
+      assertTrue(budget.tryRetry());
+    assertFalse(budget.tryRetry());
+  }
+
+  public void shouldExpireCountsOutsideWindow() {
+    RetryBudget budget = budget(.5, 0);
+
+    for (int i = 0; i < 4; i++)
+      budget.recordAttempt();
+    assertTrue(budget.tryRetry());
+    assertTrue(budget.tryRetry());
+    assertFalse(budget.tryRetry());
+
+    // Attempts and retries expire together
+    stopwatch.set(RetryBudget.WINDOW_SECONDS * 1000);
+    assertFalse(budget.tryRetry());
+    budget.recordAttempt();
+    budget.recordAttempt();
+    assertTrue(budget.tryRetry());
+    assertFalse(budget.tryRetry());
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.CircuitBreaker.State;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.failsafe.testing.Asserts.assertThrows;
+import static org.testng.Assert.*;
+
+@Test
+public class SharedCircuitStateTest {
+  Path path;
+
+  @BeforeMethod
+  protected void beforeMethod() throws IOException {
+    path = Files.createTempFile("failsafe", ".cb");
+    path.toFile().deleteOnExit();
+  }
+
+  private CircuitBreaker<Object> breaker() {
+    return CircuitBreaker.builder().withFailureThreshold(2, 4).withSharedState(path).build();
+  }
+
+  public void shouldShareResultsAndState() {
+    CircuitBreaker<Object> breaker1 = breaker();
+    AtomicInteger openCount = new AtomicInteger();
+    CircuitBreaker<Object> breaker2 = CircuitBreaker.builder()
+      .withFailureThreshold(2, 4)
+      .withSharedState(path)
+      .onOpen(e -> openCount.incrementAndGet())
+      .build();
+
+    breaker1.recordFailure();
+    assertEquals(breaker2.getFailureCount(), 1);
+    breaker2.recordSuccess();
+    assertEquals(breaker1.getExecutionCount(), 2);
+
+    // A failure in either breaker reaches the threshold
+    breaker2.recordFailure();
+    assertTrue(breaker1.isOpen());
+    assertTrue(breaker2.isOpen());
+    assertFalse(breaker1.tryAcquirePermit());
+    assertEquals(openCount.get(), 1);
+
+    breaker1.close();
+    assertTrue(breaker2.isClosed());
+    assertEquals(breaker2.getExecutionCount(), 0);
+  }
+
+  /**
+   * Asserts that listeners for states that are synced from the shared state are called after it's unlocked, so that
+   * other breakers can still record results.
+   */
+  public void shouldCallListenersAfterUnlocking() {
+    CircuitBreaker<Object> breaker1 = breaker();
+    AtomicInteger unlockedCount = new AtomicInteger();
+    CircuitBreaker<Object> breaker2 = CircuitBreaker.builder()
+      .withFailureThreshold(2, 4)
+      .withSharedState(path)
+      .onOpen(e -> {
+        Thread thread = new Thread(breaker1::recordSuccess);
+        thread.start();
+        thread.join(1000);
+        if (!thread.isAlive())
+          unlockedCount.incrementAndGet();
+      })
+      .build();
+
+    // Sync when reading the state
+    breaker1.open();
+    assertTrue(breaker2.isOpen());
+    assertEquals(unlockedCount.get(), 1);
+
+    // Sync when transitioning
+    breaker1.close();
+    assertTrue(breaker2.isClosed());
+    breaker1.open();
+    breaker2.halfOpen();
+    assertEquals(unlockedCount.get(), 2);
+    assertTrue(breaker1.isHalfOpen());
+  }
+
+  /**
+   * Asserts that a state written by another process, simulated with a separate mapping of the file, is adopted.
+   */
+  public void shouldAdoptStateFromOtherProcess() {
+    CircuitBreaker<Object> breaker = breaker();
+    SharedCircuitState otherProcess = new SharedCircuitState(path, 4);
+
+    otherProcess.lock();
+    try {
+      otherProcess.transitionTo(State.OPEN, Duration.ofMinutes(1));
+    } finally {
+      otherProcess.unlock();
+    }
+
+    assertTrue(breaker.isOpen());
+    assertTrue(breaker.getRemainingDelay().toMillis() > 0);
+    assertFalse(breaker.tryAcquirePermit());
+
+    otherProcess.lock();
+    try {
+      otherProcess.transitionTo(State.OPEN, Duration.ZERO);
+    } finally {
+      otherProcess.unlock();
+    }
+
+    // The elapsed delay allows the breaker to half-open
+    assertTrue(breaker.tryAcquirePermit());
+    assertTrue(breaker.isHalfOpen());
+    assertEquals(otherProcess.getState(), State.HALF_OPEN);
+  }
+
+  public void shouldRejectIncompatibleFile() throws IOException {
+    Files.write(path, new byte[64]);
+
+    assertThrows(() -> new SharedCircuitState(path, 4), IllegalStateException.class);
+  }
+}
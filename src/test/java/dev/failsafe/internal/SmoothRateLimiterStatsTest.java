@@ -19,7 +19,12 @@ import dev.failsafe.RateLimiter;
 import dev.failsafe.RateLimiterConfig;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.assertEquals;
 
@@ -102,6 +107,29 @@ public class SmoothRateLimiterStatsTest extends RateLimiterStatsTest<SmoothRateL
     assertEquals(toMillis(stats.acquirePermits(2, null)), 50);
   }
 
+  /**
+   * Asserts that a restored next free permit is aligned to the interval.
+   */
+  public void testRestoreSnapshot() throws Throwable {
+    // Given 1 permit every 100 millis
+    SmoothRateLimiterStats stats = createStats(Duration.ofMillis(100));
+    acquire(stats, 5);
+    stopwatch.set(130);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    stats.writeSnapshot(new DataOutputStream(bytes));
+
+    // When restoring 20 millis later into stats whose stopwatch is at 10 millis
+    stopwatch = new TestStopwatch();
+    stopwatch.set(10);
+    SmoothRateLimiterStats restored = createStats(Duration.ofMillis(100));
+    restored.restoreSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+      TimeUnit.MILLISECONDS.toNanos(20));
+
+    // Then 350 millis remain, which is rounded up from 360 to 400
+    assertEquals(toMillis(restored.getNextFreePermitNanos()), 400);
+    assertEquals(restored.getNextFreePermitNanos() % restored.intervalNanos, 0);
+  }
+
   private static void assertResults(SmoothRateLimiterStats stats, long waitMillis, long expectedWaitMillis,
     long expectedNextFreePermitMillis) {
     assertEquals(waitMillis, expectedWaitMillis);
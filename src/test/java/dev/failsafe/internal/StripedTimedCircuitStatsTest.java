@@ -0,0 +1,249 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal;
+
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.internal.StripedTimedCircuitStats.Clock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test
+public class StripedTimedCircuitStatsTest extends CircuitStatsTest {
+  StripedTimedCircuitStats stats;
+  private TestClock clock;
+
+  static class TestClock extends Clock {
+    long currentTimeMillis;
+
+    void set(long currentTimeMillis) {
+      this.currentTimeMillis = currentTimeMillis;
+    }
+
+    @Override
+    long currentTimeMillis() {
+      return currentTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+      return "TestClock[currentTimeMillis=" + currentTimeMillis + ']';
+    }
+  }
+
+  @BeforeMethod
+  protected void beforeMethod() {
+    clock = new TestClock();
+  }
+
+  public void testMetrics() {
+    // Given 4 buckets representing 1 second each
+    stats = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, null);
+    assertEquals(stats.getSuccessRate(), 0);
+    assertEquals(stats.getFailureRate(), 0);
+    assertEquals(stats.getExecutionCount(), 0);
+
+    // Record into bucket 1
+    recordExecutions(stats, 50, i -> i % 5 == 0);
+    assertEquals(stats.currentEpoch(), 0);
+    assertCounts(stats, 10, 40);
+    assertEquals(stats.getSuccessRate(), 20);
+    assertEquals(stats.getFailureRate(), 80);
+
+    // Record into bucket 2
+    clock.set(1000);
+    recordSuccesses(stats, 10);
+    assertEquals(stats.currentEpoch(), 1);
+    assertCounts(stats, 20, 40);
+    assertEquals(stats.getSuccessRate(), 33);
+    assertEquals(stats.getFailureRate(), 67);
+
+    // Record into bucket 3
+    clock.set(2500);
+    recordFailures(stats, 20);
+    assertCounts(stats, 20, 60);
+    assertEquals(stats.getFailureRate(), 75);
+
+    // Record into bucket 4
+    clock.set(3100);
+    recordExecutions(stats, 25, i -> i % 5 == 0);
+    assertCounts(stats, 25, 80);
+    assertEquals(stats.getSuccessRate(), 24);
+    assertEquals(stats.getFailureRate(), 76);
+
+    // Record into bucket 2, skipping bucket 1
+    clock.set(5400);
+    recordSuccesses(stats, 8);
+    assertEquals(stats.currentEpoch(), 5);
+    assertCounts(stats, 13, 40);
+    assertEquals(stats.getSuccessRate(), 25);
+    assertEquals(stats.getFailureRate(), 75);
+
+    // Record into bucket 4, skipping bucket 3
+    clock.set(7300);
+    recordFailures(stats, 5);
+    assertCounts(stats, 8, 5);
+    assertEquals(stats.getSuccessRate(), 62);
+    assertEquals(stats.getFailureRate(), 38);
+
+    // Skip all buckets
+    clock.set(22500);
+    assertCounts(stats, 0, 0);
+    assertEquals(stats.getSuccessRate(), 0);
+    assertEquals(stats.getFailureRate(), 0);
+  }
+
+  public void testReset() {
+    stats = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, null);
+    recordSuccesses(stats, 3);
+    clock.set(1500);
+    recordFailures(stats, 2);
+
+    stats.reset();
+    assertCounts(stats, 0, 0);
+    assertEquals(stats.currentEpoch(), 0);
+    recordFailures(stats, 1);
+    assertCounts(stats, 0, 1);
+  }
+
+  public void testCopyToEqualSizedStats() {
+    stats = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, null);
+    recordSuccesses(stats, 2);
+    clock.set(1100);
+    recordFailures(stats, 3);
+
+    StripedTimedCircuitStats right = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, stats);
+    assertCounts(right, 2, 3);
+    clock.set(2500);
+    recordSuccesses(right, 5);
+    assertCounts(right, 7, 3);
+
+    // Buckets older than the window are dropped
+    clock.set(4400);
+    assertCounts(right, 5, 3);
+
+    // Copies of copied stats retain the window
+    StripedTimedCircuitStats right2 = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, right);
+    assertCounts(right2, 5, 3);
+    clock.set(7500);
+    recordExecutions(right2, 4, i -> i % 2 == 0);
+    assertCounts(right2, 2, 2);
+  }
+
+  public void testFailureThresholdExceeded() {
+    stats = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, null);
+    CircuitBreaker<Object> rateBreaker = CircuitBreaker.builder()
+      .withFailureRateThreshold(50, 4, Duration.ofSeconds(4))
+      .build();
+    CircuitBreaker<Object> countBreaker = CircuitBreaker.builder()
+      .withFailureThreshold(3, 4, Duration.ofSeconds(4))
+      .build();
+
+    // Below the execution threshold
+    recordFailures(stats, 3);
+    assertFalse(stats.isFailureThresholdExceeded(rateBreaker.getConfig()));
+    assertFalse(stats.isFailureThresholdExceeded(countBreaker.getConfig()));
+
+    recordSuccesses(stats, 3);
+    assertTrue(stats.isFailureThresholdExceeded(rateBreaker.getConfig()));
+    assertTrue(stats.isFailureThresholdExceeded(countBreaker.getConfig()));
+
+    recordSuccesses(stats, 1);
+    assertFalse(stats.isFailureThresholdExceeded(rateBreaker.getConfig()));
+    assertTrue(stats.isFailureThresholdExceeded(countBreaker.getConfig()));
+  }
+
+  public void testCopyToSmallerStats() {
+    stats = new StripedTimedCircuitStats(5, Duration.ofSeconds(5), clock, null);
+    recordSuccesses(stats, 2);
+    clock.set(1100);
+    recordFailures(stats, 3);
+    clock.set(2200);
+    recordSuccesses(stats, 4);
+    clock.set(3300);
+    recordFailures(stats, 5);
+    clock.set(4400);
+    recordFailures(stats, 6);
+
+    StripedTimedCircuitStats right = new StripedTimedCircuitStats(3, Duration.ofSeconds(3), clock, stats);
+    assertCounts(right, 4, 11);
+    clock.set(6500);
+    recordSuccesses(right, 33);
+    assertCounts(right, 33, 6);
+  }
+
+  public void testCopyToLargerStats() {
+    stats = new StripedTimedCircuitStats(3, Duration.ofSeconds(3), clock, null);
+    recordSuccesses(stats, 2);
+    clock.set(1100);
+    recordFailures(stats, 3);
+    clock.set(2200);
+    recordSuccesses(stats, 4);
+
+    StripedTimedCircuitStats right = new StripedTimedCircuitStats(5, Duration.ofSeconds(5), clock, stats);
+    assertCounts(right, 6, 3);
+    clock.set(3300);
+    recordSuccesses(right, 22);
+    assertCounts(right, 28, 3);
+  }
+
+  public void testCopyFromCountingStats() {
+    CountingCircuitStats countingStats = new CountingCircuitStats(10, null);
+    recordSuccesses(countingStats, 3);
+    recordFailures(countingStats, 5);
+
+    stats = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, countingStats);
+    assertCounts(stats, 3, 5);
+  }
+
+  public void testConcurrentRecording() throws Throwable {
+    stats = new StripedTimedCircuitStats(4, Duration.ofSeconds(4), clock, null);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      boolean success = t % 2 == 0;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 10000; i++) {
+          if (success)
+            stats.recordSuccess();
+          else
+            stats.recordFailure();
+        }
+      }));
+    }
+    for (Future<?> future : futures)
+      future.get();
+    executor.shutdownNow();
+
+    assertCounts(stats, 40000, 40000);
+  }
+
+  private static void assertCounts(StripedTimedCircuitStats stats, int successes, int failures) {
+    assertEquals(stats.getSuccessCount(), successes);
+    assertEquals(stats.getFailureCount(), failures);
+    assertEquals(stats.getExecutionCount(), successes + failures);
+  }
+}
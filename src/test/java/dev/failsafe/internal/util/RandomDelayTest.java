@@ -54,4 +54,29 @@ public class RandomDelayTest {
     assertEquals(RandomDelay.randomDelay(500, 50, .25), 525);
     assertEquals(RandomDelay.randomDelay(50000, 5000, .25), 52500);
   }
+
+  public void testFullJitterDelay() {
+    assertEquals(RandomDelay.fullJitterDelay(100, 0), 0);
+    assertEquals(RandomDelay.fullJitterDelay(100, .25), 25);
+    assertEquals(RandomDelay.fullJitterDelay(100, .9999), 99);
+  }
+
+  public void testEqualJitterDelay() {
+    assertEquals(RandomDelay.equalJitterDelay(100, 0), 50);
+    assertEquals(RandomDelay.equalJitterDelay(100, .5), 75);
+    assertEquals(RandomDelay.equalJitterDelay(101, .9999), 100);
+  }
+
+  public void testDecorrelatedJitterDelay() {
+    assertEquals(RandomDelay.decorrelatedJitterDelay(10, 10, 1000, 0), 10);
+    assertEquals(RandomDelay.decorrelatedJitterDelay(10, 10, 1000, 1), 30);
+    assertEquals(RandomDelay.decorrelatedJitterDelay(10, 100, 1000, .5), 155);
+
+    // Bounded by the max delay
+    assertEquals(RandomDelay.decorrelatedJitterDelay(10, 500, 1000, 1), 1000);
+    assertEquals(RandomDelay.decorrelatedJitterDelay(10, Long.MAX_VALUE, 1000, 1), 1000);
+
+    // Never less than the delay
+    assertEquals(RandomDelay.decorrelatedJitterDelay(10, 1, 5, 1), 10);
+  }
 }
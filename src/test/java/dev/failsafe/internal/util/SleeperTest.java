@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.internal.util;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static dev.failsafe.testing.Asserts.assertThrows;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test
+public class SleeperTest {
+  public void shouldSleepForSubMillisecondDelays() throws Throwable {
+    long delayNanos = TimeUnit.MICROSECONDS.toNanos(300);
+    for (long spinNanos : new long[] { 0, delayNanos }) {
+      long startTime = System.nanoTime();
+      Sleeper.sleep(delayNanos, spinNanos);
+      assertTrue(System.nanoTime() - startTime >= delayNanos);
+    }
+  }
+
+  public void shouldThrowWhenInterrupted() {
+    Thread.currentThread().interrupt();
+    assertThrows(() -> Sleeper.sleep(0, 0), InterruptedException.class);
+    assertFalse(Thread.currentThread().isInterrupted());
+
+    Thread thread = Thread.currentThread();
+    new Thread(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException ignore) {
+      }
+      thread.interrupt();
+    }).start();
+    assertThrows(() -> Sleeper.sleep(TimeUnit.SECONDS.toNanos(10), 0), InterruptedException.class);
+  }
+}
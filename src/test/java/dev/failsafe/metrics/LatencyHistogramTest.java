@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.metrics;
+
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.*;
+
+@Test
+public class LatencyHistogramTest {
+  public void testIndexOf() {
+    for (long value = 0; value < 16; value++)
+      assertEquals(LatencyHistogram.indexOf(value), (int) value);
+    assertEquals(LatencyHistogram.indexOf(Long.MAX_VALUE), LatencyHistogram.BUCKETS - 1);
+
+    // Each value is within the bounds of its bucket
+    for (long value : new long[] { 16, 17, 100, 1_000, 12_345, 1_000_000, 987_654_321, Long.MAX_VALUE / 3 }) {
+      int index = LatencyHistogram.indexOf(value);
+      assertTrue(value <= LatencyHistogram.upperBoundOf(index));
+      assertTrue(value > LatencyHistogram.upperBoundOf(index - 1));
+      assertTrue(LatencyHistogram.upperBoundOf(index) - value <= value / LatencyHistogram.SUB_BUCKETS);
+    }
+    assertEquals(LatencyHistogram.upperBoundOf(LatencyHistogram.BUCKETS - 1), Long.MAX_VALUE);
+  }
+
+  public void testSnapshot() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++)
+      histogram.record(Duration.ofMillis(i).toNanos());
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(snapshot.getCount(), 100);
+    assertEquals(snapshot.getMin(), Duration.ofMillis(1));
+    assertEquals(snapshot.getMax(), Duration.ofMillis(100));
+    assertEquals(snapshot.getMean(), Duration.ofNanos(Duration.ofMillis(5050).toNanos() / 100));
+    assertEquals(snapshot.getPercentile(0), Duration.ofMillis(1));
+    assertEquals(snapshot.getPercentile(100), Duration.ofMillis(100));
+    assertWithin(snapshot.getPercentile(50), Duration.ofMillis(50));
+    assertWithin(snapshot.getPercentile(99), Duration.ofMillis(99));
+
+    // Snapshots are not affected by later recordings
+    histogram.record(Duration.ofSeconds(1).toNanos());
+    assertEquals(snapshot.getCount(), 100);
+    assertEquals(histogram.snapshot().getMax(), Duration.ofSeconds(1));
+  }
+
+  public void testEmptySnapshot() {
+    HistogramSnapshot snapshot = new LatencyHistogram().snapshot();
+    assertEquals(snapshot.getCount(), 0);
+    assertEquals(snapshot.getMin(), Duration.ZERO);
+    assertEquals(snapshot.getMax(), Duration.ZERO);
+    assertEquals(snapshot.getMean(), Duration.ZERO);
+    assertEquals(snapshot.getPercentile(99), Duration.ZERO);
+  }
+
+  public void shouldRecordNegativeLatenciesAsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    assertEquals(histogram.snapshot().getMax(), Duration.ZERO);
+  }
+
+  private static void assertWithin(Duration actual, Duration expected) {
+    long expectedNanos = expected.toNanos();
+    assertTrue(actual.toNanos() >= expectedNanos && actual.toNanos() <= expectedNanos + expectedNanos / 8,
+      actual + " is not within 12.5% of " + expected);
+  }
+}
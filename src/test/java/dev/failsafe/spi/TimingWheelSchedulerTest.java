@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.spi;
+
+import dev.failsafe.testing.Asserts;
+import net.jodah.concurrentunit.Waiter;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+@Test
+public class TimingWheelSchedulerTest {
+  TimingWheelScheduler scheduler;
+
+  @BeforeMethod
+  protected void beforeMethod() {
+    // Use a small wheel so that delays span multiple rounds
+    scheduler = new TimingWheelScheduler(Duration.ofMillis(10), 8, 2);
+  }
+
+  @AfterMethod
+  protected void afterMethod() {
+    scheduler.shutdown();
+  }
+
+  public void shouldSchedule() throws Throwable {
+    // Given
+    Duration delay = Duration.ofMillis(200);
+    Waiter waiter = new Waiter();
+    long startTime = System.nanoTime();
+
+    // When
+    scheduler.schedule(() -> {
+      waiter.resume();
+      return null;
+    }, delay.toMillis(), TimeUnit.MILLISECONDS);
+
+    // Then
+    waiter.await(1000);
+    assertTrue(System.nanoTime() - startTime >= delay.toNanos());
+  }
+
+  public void shouldScheduleWithZeroDelay() throws Throwable {
+    assertEquals(scheduler.schedule(() -> "test", 0, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS), "test");
+  }
+
+  public void shouldRunTasksInDeadlineOrder() throws Throwable {
+    // Given
+    List<Integer> results = new CopyOnWriteArrayList<>();
+    List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+    // When
+    for (int i = 5; i > 0; i--) {
+      int value = i;
+      futures.add(scheduler.schedule(() -> results.add(value), i * 50, TimeUnit.MILLISECONDS));
+    }
+    for (ScheduledFuture<?> future : futures)
+      future.get(1, TimeUnit.SECONDS);
+
+    // Then
+    assertEquals(results.toString(), "[1, 2, 3, 4, 5]");
+  }
+
+  public void shouldNotRunCancelledTasks() throws Throwable {
+    // Given
+    AtomicInteger runs = new AtomicInteger();
+    List<ScheduledFuture<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 1000; i++)
+      futures.add(scheduler.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS));
+
+    // When
+    for (ScheduledFuture<?> future : futures)
+      assertTrue(future.cancel(false));
+    Thread.sleep(300);
+
+    // Then
+    assertEquals(runs.get(), 0);
+    for (ScheduledFuture<?> future : futures)
+      assertTrue(future.isCancelled());
+  }
+
+  public void shouldInterruptRunningTask() throws Throwable {
+    // Given
+    Waiter waiter = new Waiter();
+    ScheduledFuture<?> future = scheduler.schedule(() -> {
+      waiter.resume();
+      try {
+        Thread.sleep(10000);
+      } catch (InterruptedException e) {
+        waiter.resume();
+      }
+      return null;
+    }, 0, TimeUnit.MILLISECONDS);
+    waiter.await(1000);
+
+    // When / Then
+    future.cancel(true);
+    waiter.await(1000);
+  }
+
+  public void shouldWrapCheckedExceptions() {
+    Asserts.assertThrows(() -> scheduler.schedule(() -> {
+      throw new IOException();
+    }, 1, TimeUnit.MILLISECONDS).get(), ExecutionException.class, IOException.class);
+  }
+
+  public void shouldCancelPendingTasksOnShutdown() throws Throwable {
+    // Given
+    ScheduledFuture<?> future = scheduler.schedule(() -> null, 10, TimeUnit.SECONDS);
+    Thread.sleep(50);
+
+    // When
+    scheduler.shutdown();
+    Thread.sleep(50);
+
+    // Then
+    assertTrue(future.isCancelled());
+    Asserts.assertThrows(() -> scheduler.schedule(() -> null, 1, TimeUnit.SECONDS), RejectedExecutionException.class);
+  }
+
+  public void shouldReturnDelay() {
+    ScheduledFuture<?> future = scheduler.schedule(() -> null, 10, TimeUnit.SECONDS);
+    long delay = future.getDelay(TimeUnit.MILLISECONDS);
+    assertTrue(delay > 9000 && delay <= 10000);
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+package dev.failsafe.spi;
+
+import dev.failsafe.Failsafe;
+import dev.failsafe.RetryPolicy;
+import dev.failsafe.testing.Asserts;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Test
+public class VirtualThreadSchedulerTest {
+  public void shouldRunOnVirtualThreadsWhenSupported() throws Throwable {
+    if (!VirtualThreadScheduler.isSupported()) {
+      Asserts.assertThrows(VirtualThreadScheduler::instance, UnsupportedOperationException.class);
+      Asserts.assertThrows(() -> Failsafe.none().withVirtualThreads(), UnsupportedOperationException.class);
+      return;
+    }
+
+    Method isVirtual = Thread.class.getMethod("isVirtual");
+    assertTrue((Boolean) VirtualThreadScheduler.instance()
+      .schedule(() -> isVirtual.invoke(Thread.currentThread()), 10, TimeUnit.MILLISECONDS)
+      .get());
+
+    RetryPolicy<Object> retryPolicy = RetryPolicy.builder().withMaxRetries(2).build();
+    Object result = Failsafe.with(retryPolicy).withVirtualThreads().getAsync(ctx -> {
+      if (ctx.getAttemptCount() < 2)
+        throw new IllegalStateException();
+      return isVirtual.invoke(Thread.currentThread());
+    }).get();
+    assertEquals(result, true);
+  }
+}